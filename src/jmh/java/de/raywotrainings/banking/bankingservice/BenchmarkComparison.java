@@ -0,0 +1,121 @@
+package de.raywotrainings.banking.bankingservice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH result file with a stored baseline and fails if a benchmark
+ * got slower by more than the allowed percentage, or if there is no
+ * baseline to compare with.
+ * <p>
+ * Usage: {@code BenchmarkComparison <result.json> <baseline.json> <max regression in %> [<record>]}
+ * <p>
+ * With {@code record} set to {@code true}, the result file is copied over the
+ * baseline instead of being compared with it.
+ */
+public final class BenchmarkComparison {
+
+  private BenchmarkComparison() {
+  }
+
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 3 && args.length != 4) {
+      System.err.println("Usage: BenchmarkComparison <result.json> <baseline.json> <max regression in %> [<record>]");
+      System.exit(2);
+    }
+
+    Path resultFile = Path.of(args[0]);
+    Path baselineFile = Path.of(args[1]);
+    double maxRegression = Double.parseDouble(args[2]);
+
+    if (args.length == 4 && Boolean.parseBoolean(args[3])) {
+      Files.copy(resultFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+      System.out.println("Recorded " + resultFile + " as baseline " + baselineFile + ".");
+      return;
+    }
+
+    if (!Files.exists(baselineFile)) {
+      System.out.println("No baseline at " + baselineFile + ". To record one, run with "
+          + "-Dbenchmark.record-baseline=true.");
+      System.exit(1);
+    }
+
+    Map<String, Score> results = read(resultFile);
+    Map<String, Score> baseline = read(baselineFile);
+    int regressions = 0;
+
+    for (Map.Entry<String, Score> result : results.entrySet()) {
+      Score before = baseline.get(result.getKey());
+
+      if (before == null) {
+        System.out.printf("NEW        %s: %.3f %s%n", result.getKey(), result.getValue().value(),
+            result.getValue().unit());
+        continue;
+      }
+
+      double change = result.getValue().regressionAgainst(before);
+      boolean regressed = change > maxRegression;
+
+      if (regressed) {
+        regressions++;
+      }
+
+      System.out.printf("%-10s %s: %.3f -> %.3f %s (%+.1f%%)%n",
+          regressed ? "REGRESSION" : "OK",
+          result.getKey(),
+          before.value(),
+          result.getValue().value(),
+          result.getValue().unit(),
+          change);
+    }
+
+    if (regressions > 0) {
+      System.out.println(regressions + " benchmark(s) regressed by more than " + maxRegression + "%.");
+      System.exit(1);
+    }
+  }
+
+
+  private static Map<String, Score> read(Path file) throws IOException {
+    Map<String, Score> scores = new LinkedHashMap<>();
+
+    for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+      StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+      run.path("params").fields().forEachRemaining(param ->
+          key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+
+      JsonNode metric = run.path("primaryMetric");
+      scores.put(key.toString(), new Score(
+          run.path("mode").asText(),
+          metric.path("score").asDouble(),
+          metric.path("scoreUnit").asText()
+      ));
+    }
+
+    return scores;
+  }
+
+
+  private record Score(String mode, double value, String unit) {
+
+    /**
+     * How much worse this score is than the other one, in percent. Negative
+     * values are improvements. For throughput higher is better, for all other
+     * modes lower is better.
+     */
+    double regressionAgainst(Score before) {
+      double change = (value - before.value) / before.value * 100;
+
+      return "thrpt".equals(mode) ? -change : change;
+    }
+  }
+
+}
@@ -0,0 +1,204 @@
+package de.raywotrainings.banking.bankingservice;
+
+import de.raywotrainings.banking.bankingservice.control.account.AccountsService;
+import de.raywotrainings.banking.bankingservice.control.account.CurrentAccount;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs the same closed-model load against the application once with requests
+ * served on platform threads and once on virtual threads, and prints
+ * throughput, error count and latency percentiles for each number of
+ * concurrent clients.
+ * <p>
+ * Every client alternately reads an account and deposits on it, without
+ * think time. The database is an in-memory H2.
+ * <p>
+ * Usage: {@code ThreadingLoadComparison [clients,clients,...] [seconds per run]},
+ * by default 1000 and 10000 clients for 30 seconds each.
+ */
+public final class ThreadingLoadComparison {
+
+  private static final int ACCOUNTS = 200;
+
+  private ThreadingLoadComparison() {
+  }
+
+
+  public static void main(String[] args) throws Exception {
+    int[] clientCounts = args.length > 0
+        ? Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).toArray()
+        : new int[]{1_000, 10_000};
+    Duration runTime = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+
+    System.out.printf("%-9s %8s %10s %8s %9s %9s %9s%n",
+        "threads", "clients", "req/s", "errors", "p50 ms", "p99 ms", "max ms");
+
+    for (boolean virtual : new boolean[]{false, true}) {
+      try (ConfigurableApplicationContext context = start(virtual)) {
+        int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+        List<String> ibans = seed(context);
+
+        for (int clients : clientCounts) {
+          Result result = run(port, ibans, clients, runTime);
+          System.out.printf("%-9s %8d %10.0f %8d %9.1f %9.1f %9.1f%n",
+              virtual ? "virtual" : "platform", clients,
+              result.requests() / (double) runTime.toSeconds(), result.errors(),
+              result.percentile(0.50), result.percentile(0.99), result.percentile(1.0));
+        }
+      }
+    }
+  }
+
+
+  private static ConfigurableApplicationContext start(boolean virtual) {
+    return new SpringApplicationBuilder(Application.class)
+        .properties(
+            "server.port=0",
+            "server.tomcat.max-connections=20000",
+            "server.tomcat.accept-count=10000",
+            "spring.threads.virtual.enabled=" + virtual,
+            "spring.datasource.url=jdbc:h2:mem:load-" + virtual + ";DB_CLOSE_DELAY=-1",
+            "logging.level.root=warn",
+            "logging.level.web=warn"
+        )
+        .run();
+  }
+
+
+  private static List<String> seed(ConfigurableApplicationContext context) {
+    ClientsService clientsService = context.getBean(ClientsService.class);
+    AccountsService accountsService = context.getBean(AccountsService.class);
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    List<String> ibans = new ArrayList<>();
+
+    for (int i = 0; i < ACCOUNTS; i++) {
+      ibans.add(accountsService.addCurrentAccount(
+          new CurrentAccount(null, null, Money.ZERO, Money.ZERO, BigDecimal.ZERO),
+          owner.getId()).getIban());
+    }
+
+    return ibans;
+  }
+
+
+  private static Result run(int port, List<String> ibans, int clients, Duration runTime)
+      throws Exception {
+    long deadline = System.nanoTime() + runTime.toNanos();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+         HttpClient http = HttpClient.newBuilder().executor(executor).build()) {
+      List<Future<Result>> results = new ArrayList<>();
+
+      for (int i = 0; i < clients; i++) {
+        results.add(executor.submit(() -> client(http, port, ibans, deadline)));
+      }
+
+      List<Result> parts = new ArrayList<>();
+
+      for (Future<Result> result : results) {
+        parts.add(result.get());
+      }
+
+      return Result.merge(parts);
+    }
+  }
+
+
+  private static Result client(HttpClient http, int port, List<String> ibans, long deadline) {
+    long[] latencies = new long[1024];
+    int requests = 0;
+    long errors = 0;
+
+    while (System.nanoTime() < deadline) {
+      String iban = ibans.get(ThreadLocalRandom.current().nextInt(ibans.size()));
+      String base = "http://localhost:" + port + "/api/v2/accounts/" + iban;
+      HttpRequest request = requests % 2 == 0
+          ? HttpRequest.newBuilder(URI.create(base)).GET().build()
+          : HttpRequest.newBuilder(URI.create(base + "/deposits"))
+              .header("Content-Type", "application/json")
+              .POST(HttpRequest.BodyPublishers.ofString("""
+                  {"amount": 1, "description": "Last", "entryType": "deposit", "entryDate": "%s"}"""
+                  .formatted(ZonedDateTime.now())))
+              .build();
+
+      long start = System.nanoTime();
+
+      try {
+        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+
+        if (response.statusCode() >= 400) {
+          errors++;
+        }
+      } catch (IOException e) {
+        errors++;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+
+      if (requests == latencies.length) {
+        latencies = Arrays.copyOf(latencies, latencies.length * 2);
+      }
+
+      latencies[requests++] = System.nanoTime() - start;
+    }
+
+    return new Result(Arrays.copyOf(latencies, requests), requests, errors);
+  }
+
+
+  private record Result(long[] latencies, long requests, long errors) {
+
+    /**
+     * Combines the results of all clients, with the latencies sorted.
+     */
+    static Result merge(List<Result> parts) {
+      long[] latencies = new long[parts.stream().mapToInt(part -> part.latencies.length).sum()];
+      long requests = 0;
+      long errors = 0;
+      int offset = 0;
+
+      for (Result part : parts) {
+        System.arraycopy(part.latencies, 0, latencies, offset, part.latencies.length);
+        offset += part.latencies.length;
+        requests += part.requests;
+        errors += part.errors;
+      }
+
+      Arrays.sort(latencies);
+
+      return new Result(latencies, requests, errors);
+    }
+
+
+    double percentile(double quantile) {
+      if (latencies.length == 0) return 0;
+
+      int index = (int) Math.min(latencies.length - 1, Math.ceil(quantile * latencies.length) - 1);
+
+      return latencies[Math.max(0, index)] / 1_000_000.0;
+    }
+
+  }
+
+}
@@ -0,0 +1,60 @@
+package de.raywotrainings.banking.bankingservice.boundary.account;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import de.raywotrainings.banking.bankingservice.boundary.shared.MoneyJsonComponent;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a page of entries the way the entries endpoint does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntryJsonBenchmark {
+
+  @Param({"100", "1000"})
+  private int entries;
+
+  private ObjectMapper objectMapper;
+  private List<EntryDTO> page;
+
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToEnable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .modulesToInstall(new SimpleModule().addSerializer(Money.class, new MoneyJsonComponent.Serializer()))
+        .build();
+
+    ZonedDateTime start = ZonedDateTime.now().minusDays(entries);
+    page = new ArrayList<>(entries);
+
+    for (int i = 0; i < entries; i++) {
+      page.add(new EntryDTO(UUID.randomUUID().toString(), "DE94860301200000000001", "Buchung " + i,
+          start.plusDays(i), Money.ofCents(i * 137L), i % 2 == 0 ? "deposit" : "withdraw"));
+    }
+  }
+
+
+  @Benchmark
+  public byte[] serializePage() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(page);
+  }
+
+}
@@ -0,0 +1,74 @@
+package de.raywotrainings.banking.bankingservice.boundary.mapper;
+
+import de.raywotrainings.banking.bankingservice.boundary.account.AccountDTO;
+import de.raywotrainings.banking.bankingservice.boundary.account.EntryDTO;
+import de.raywotrainings.banking.bankingservice.control.mapper.*;
+import de.raywotrainings.banking.bankingservice.entity.account.AccountEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.CurrentAccountEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryEntity;
+import de.raywotrainings.banking.bankingservice.entity.client.ClientEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The mapping chains every response goes through: entity to domain object
+ * to DTO.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+  private EntryMapper entryMapper;
+  private EntryDTOMapper entryDTOMapper;
+  private AccountMapper accountMapper;
+  private AccountDTOMapper accountDTOMapper;
+
+  private EntryEntity entryEntity;
+  private AccountEntity accountEntity;
+
+
+  @Setup
+  public void setUp() {
+    // entities are only mapped to the domain, which needs no repository
+    ClientMapper clientMapper = new ClientMapper(null);
+    ClientDTOMapper clientDTOMapper = new ClientDTOMapper();
+
+    entryMapper = new EntryMapper();
+    entryDTOMapper = new EntryDTOMapper();
+    accountMapper = new AccountMapper(new CurrentAccountMapper(clientMapper), new SavingsAccountMapper(clientMapper));
+    accountDTOMapper = new AccountDTOMapper(new CurrentAccountDTOMapper(clientDTOMapper),
+        new SavingsAccountDTOMapper(clientDTOMapper));
+
+    ClientEntity owner = new ClientEntity();
+    owner.setId(1);
+    owner.setFirstname("Erika");
+    owner.setLastname("Mustermann");
+
+    entryEntity = new EntryEntity(UUID.randomUUID(), "DE94860301200000000001", "Gehalt",
+        ZonedDateTime.now(), new BigDecimal("2500.00"), EntryEntity.Type.DEPOSIT);
+    accountEntity = new CurrentAccountEntity("DE94860301200000000001", new BigDecimal("1000.00"), owner,
+        new BigDecimal("500.00"), new BigDecimal("9.5"));
+    accountEntity.setVersion(0L);
+  }
+
+
+  @Benchmark
+  public EntryDTO entryEntityToDTO() {
+    return entryDTOMapper.map(entryMapper.map(entryEntity));
+  }
+
+
+  @Benchmark
+  public AccountDTO accountEntityToDTO() {
+    return accountDTOMapper.map(accountMapper.map(accountEntity));
+  }
+
+}
@@ -0,0 +1,47 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountBenchmark {
+
+  private static final Money AMOUNT = Money.of("12.34");
+
+  private CurrentAccount account;
+
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    account = new CurrentAccount("DE94860301200000000001", null, Money.of("1000.00"),
+        Money.of("500.00"), new BigDecimal("9.5"));
+  }
+
+
+  /**
+   * A deposit followed by a withdrawal of the same amount, so the balance
+   * stays the same over all invocations.
+   */
+  @Benchmark
+  public Money depositAndWithdraw() {
+    account.deposit(AMOUNT);
+    account.withdraw(AMOUNT);
+
+    return account.getBalance();
+  }
+
+
+  @Benchmark
+  public boolean isAmountAvailable() {
+    return account.isAmountAvailable(AMOUNT);
+  }
+
+}
@@ -0,0 +1,69 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.Application;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assigns IBANs for new accounts with 10k, 100k and 1M existing accounts,
+ * seeded in bulk. Every {@code bank.account-number-block-size} calls
+ * include leasing a new block from the counter row, so the throughput
+ * should not depend on the number of accounts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountNumberAllocatorBenchmark {
+
+  @Param({"10000", "100000", "1000000"})
+  public int accounts;
+
+  private ConfigurableApplicationContext context;
+  private IbanGenerator ibanGenerator;
+
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(Application.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:account-number-allocator-" + accounts + ";DB_CLOSE_DELAY=-1",
+            "bank.seed.mode=BULK",
+            "bank.seed.clients=1000",
+            "bank.seed.accounts=" + accounts,
+            "bank.seed.entries=0",
+            "logging.level.root=warn",
+            "logging.level.web=warn"
+        )
+        .run();
+
+    ibanGenerator = context.getBean(IbanGenerator.class);
+  }
+
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+
+  @Benchmark
+  public String getNextIban() {
+    return ibanGenerator.getNextIban();
+  }
+
+
+  @Benchmark
+  @Threads(8)
+  public String getNextIbanConcurrently() {
+    return ibanGenerator.getNextIban();
+  }
+
+}
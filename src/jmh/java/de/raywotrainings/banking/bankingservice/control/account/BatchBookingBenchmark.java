@@ -0,0 +1,100 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.Application;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Books the same postings as one batch and one by one. One operation books
+ * {@link #POSTINGS} deposits spread over {@link #ACCOUNTS} accounts, so
+ * both scores are batches per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBookingBenchmark {
+
+  private static final int ACCOUNTS = 100;
+  private static final int POSTINGS = 1000;
+  private static final Money AMOUNT = Money.of("10.00");
+
+  private ConfigurableApplicationContext context;
+  private EntriesService entriesService;
+  private final List<String> ibans = new ArrayList<>();
+
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(Application.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:batch-booking-benchmark;DB_CLOSE_DELAY=-1",
+            "logging.level.root=warn",
+            "logging.level.web=warn"
+        )
+        .run();
+
+    ClientsService clientsService = context.getBean(ClientsService.class);
+    AccountsService accountsService = context.getBean(AccountsService.class);
+    entriesService = context.getBean(EntriesService.class);
+
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+
+    for (int i = 0; i < ACCOUNTS; i++) {
+      ibans.add(accountsService.addCurrentAccount(
+          new CurrentAccount(null, null, Money.ZERO, Money.ZERO, BigDecimal.ZERO),
+          owner.getId()).getIban());
+    }
+  }
+
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+
+  @Benchmark
+  public List<BookingResult> batch() {
+    return entriesService.makeEntries(postings());
+  }
+
+
+  @Benchmark
+  public List<Entry> oneByOne() {
+    List<Entry> booked = new ArrayList<>(POSTINGS);
+
+    for (Entry posting : postings()) {
+      booked.add(entriesService.makeEntry(posting.getIban(), posting));
+    }
+
+    return booked;
+  }
+
+
+  private List<Entry> postings() {
+    List<Entry> postings = new ArrayList<>(POSTINGS);
+
+    for (int i = 0; i < POSTINGS; i++) {
+      String iban = ibans.get(i % ACCOUNTS);
+      postings.add(new Entry(iban, "Benchmark", ZonedDateTime.now(), AMOUNT, Entry.Type.DEPOSIT));
+    }
+
+    return postings;
+  }
+
+}
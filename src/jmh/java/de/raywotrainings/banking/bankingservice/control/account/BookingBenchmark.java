@@ -0,0 +1,122 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.Application;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Books entries through the service layer against an in-memory database,
+ * covering locking, transaction, balance update and entry insert.
+ * <p>
+ * {@link #depositLatency} samples single bookings for percentiles such as
+ * p99. {@link #deposit} also reports the JDBC statements Hibernate
+ * prepared ("statements") and the bookings made ("bookings"). Both are
+ * totals per iteration, so their ratio is the number of statements per
+ * booking. Hibernate statistics are on for this benchmark.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingBenchmark {
+
+  private static final Money AMOUNT = Money.of("10.00");
+
+  private ConfigurableApplicationContext context;
+  private BookingService bookingService;
+  private Statistics statistics;
+  private String iban;
+
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(Application.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:booking-benchmark;DB_CLOSE_DELAY=-1",
+            "spring.jpa.properties.hibernate.generate_statistics=true",
+            "logging.level.root=warn",
+            "logging.level.web=warn"
+        )
+        .run();
+
+    ClientsService clientsService = context.getBean(ClientsService.class);
+    AccountsService accountsService = context.getBean(AccountsService.class);
+    bookingService = context.getBean(BookingService.class);
+    statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    iban = accountsService.addCurrentAccount(
+        new CurrentAccount(null, null, Money.ZERO, Money.ZERO, BigDecimal.ZERO),
+        owner.getId()).getIban();
+  }
+
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+
+  @Benchmark
+  public Entry deposit(Statements statements) {
+    final long before = statistics.getPrepareStatementCount();
+    Entry entry = book();
+    statements.statements += statistics.getPrepareStatementCount() - before;
+    statements.bookings++;
+
+    return entry;
+  }
+
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Entry depositLatency() {
+    return book();
+  }
+
+
+  @Benchmark
+  @Threads(8)
+  public Entry depositConcurrently() {
+    return book();
+  }
+
+
+  private Entry book() {
+    return bookingService.book(iban, new Entry(iban, "Benchmark", ZonedDateTime.now(), AMOUNT,
+        Entry.Type.DEPOSIT));
+  }
+
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Statements {
+
+    public long statements;
+    public long bookings;
+
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      statements = 0;
+      bookings = 0;
+    }
+  }
+
+}
@@ -0,0 +1,75 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.Application;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Books entries through {@link EntriesService} with and without the booking
+ * observation and the repository timers. The throughput with
+ * {@code instrumented=true} should stay within 1% of the one without.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingInstrumentationBenchmark {
+
+  private static final Money AMOUNT = Money.of("10.00");
+
+  @Param({"true", "false"})
+  public boolean instrumented;
+
+  private ConfigurableApplicationContext context;
+  private EntriesService entriesService;
+  private String iban;
+
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(Application.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:booking-instrumentation-" + instrumented + ";DB_CLOSE_DELAY=-1",
+            "management.observations.enable.bank=" + instrumented,
+            "management.metrics.data.repository.autotime.enabled=" + instrumented,
+            "logging.level.root=warn",
+            "logging.level.web=warn"
+        )
+        .run();
+
+    ClientsService clientsService = context.getBean(ClientsService.class);
+    AccountsService accountsService = context.getBean(AccountsService.class);
+    entriesService = context.getBean(EntriesService.class);
+
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    iban = accountsService.addCurrentAccount(
+        new CurrentAccount(null, null, Money.ZERO, Money.ZERO, BigDecimal.ZERO),
+        owner.getId()).getIban();
+  }
+
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+
+  @Benchmark
+  public Entry deposit() {
+    return entriesService.makeEntry(iban, new Entry(iban, "Benchmark", ZonedDateTime.now(), AMOUNT,
+        Entry.Type.DEPOSIT));
+  }
+
+}
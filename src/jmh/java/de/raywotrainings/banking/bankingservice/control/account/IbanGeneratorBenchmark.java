@@ -0,0 +1,75 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.configuration.BankConfigurationData;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IbanGeneratorBenchmark {
+
+  private static final String BBAN = "860301200012345678";
+  private static final String IBAN = "DE40860301200012345678";
+
+  private IbanGenerator ibanGenerator;
+  private long accountNumber;
+
+
+  @Setup
+  public void setUp() {
+    BankConfigurationData bankConfig = new BankConfigurationData();
+    bankConfig.setCountryCode("DE");
+    bankConfig.setBic("86030120");
+
+    ibanGenerator = new IbanGenerator(null, bankConfig, new AccountObservations(ObservationRegistry.NOOP));
+  }
+
+
+  @Benchmark
+  public int checkDigits() {
+    return IbanCodec.checkDigits("DE", BBAN);
+  }
+
+
+  /**
+   * The check digit calculation used before {@link IbanCodec}, kept as the
+   * reference to compare against.
+   */
+  @Benchmark
+  public String checkDigitsWithBigInteger() {
+    String tmp = BBAN + "DE00";
+    StringBuilder digits = new StringBuilder();
+
+    for (char ch : tmp.toCharArray()) {
+      if (Character.isLetter(ch)) {
+        digits.append((ch - 'A') + 10);
+      } else {
+        digits.append(ch);
+      }
+    }
+
+    int remainder = new BigInteger(digits.toString()).mod(BigInteger.valueOf(97)).intValue();
+
+    return String.format("%02d", 98 - remainder);
+  }
+
+
+  @Benchmark
+  public boolean validate() {
+    return IbanCodec.isValid(IBAN);
+  }
+
+
+  @Benchmark
+  public String generateIban() {
+    return ibanGenerator.generateIban("86030120", ++accountNumber);
+  }
+
+}
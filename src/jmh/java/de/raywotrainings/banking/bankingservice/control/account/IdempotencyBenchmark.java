@@ -0,0 +1,105 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.Application;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Books deposits from many threads with and without an idempotency key. A
+ * new key costs one insert in the booking transaction; {@code deposit} with
+ * {@code keyed=true} should stay close to {@code keyed=false}.
+ * {@code repeatedDeposit} answers a known key from memory and does not touch
+ * the database at all.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class IdempotencyBenchmark {
+
+  private static final int ACCOUNTS = 256;
+  private static final Money AMOUNT = Money.of("10.00");
+  private static final String REPEATED_KEY = "benchmark-repeated";
+
+  @Param({"true", "false"})
+  public boolean keyed;
+
+  private final AtomicLong keys = new AtomicLong();
+  private final List<String> ibans = new ArrayList<>();
+
+  private ConfigurableApplicationContext context;
+  private EntriesService entriesService;
+
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(Application.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:idempotency-" + keyed + ";DB_CLOSE_DELAY=-1",
+            "logging.level.root=warn",
+            "logging.level.web=warn"
+        )
+        .run();
+
+    ClientsService clientsService = context.getBean(ClientsService.class);
+    AccountsService accountsService = context.getBean(AccountsService.class);
+    entriesService = context.getBean(EntriesService.class);
+
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+
+    for (int i = 0; i < ACCOUNTS; i++) {
+      ibans.add(accountsService.addCurrentAccount(
+          new CurrentAccount(null, null, Money.ZERO, Money.ZERO, BigDecimal.ZERO),
+          owner.getId()).getIban());
+    }
+
+    String first = ibans.getFirst();
+    entriesService.makeEntry(first, entry(first), REPEATED_KEY);
+  }
+
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+
+  @Benchmark
+  public Entry deposit() {
+    String iban = ibans.get(ThreadLocalRandom.current().nextInt(ACCOUNTS));
+    String key = keyed ? "benchmark-" + keys.incrementAndGet() : null;
+
+    return entriesService.makeEntry(iban, entry(iban), key);
+  }
+
+
+  @Benchmark
+  public Entry repeatedDeposit() {
+    String iban = ibans.getFirst();
+
+    return entriesService.makeEntry(iban, entry(iban), keyed ? REPEATED_KEY : null);
+  }
+
+
+  private static Entry entry(String iban) {
+    return new Entry(iban, "Benchmark", ZonedDateTime.now(), AMOUNT, Entry.Type.DEPOSIT);
+  }
+
+}
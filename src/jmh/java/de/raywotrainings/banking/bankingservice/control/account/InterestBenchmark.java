@@ -0,0 +1,73 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.Application;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Credits the interest of the previous month to all savings accounts of
+ * 100k and 1M accounts, seeded in bulk. Every run starts with no interest
+ * paid, so each invocation is a complete monthly run.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterestBenchmark {
+
+  @Param({"100000", "1000000"})
+  public int accounts;
+
+  private ConfigurableApplicationContext context;
+  private InterestService interestService;
+  private JdbcTemplate jdbc;
+  private YearMonth period;
+
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(Application.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:interest-" + accounts + ";DB_CLOSE_DELAY=-1",
+            "bank.seed.mode=BULK",
+            "bank.seed.clients=1000",
+            "bank.seed.accounts=" + accounts,
+            "bank.seed.entries=" + accounts * 10L,
+            "logging.level.root=warn",
+            "logging.level.web=warn"
+        )
+        .run();
+
+    interestService = context.getBean(InterestService.class);
+    jdbc = context.getBean(JdbcTemplate.class);
+    period = YearMonth.now().minusMonths(1);
+  }
+
+
+  @Setup(Level.Invocation)
+  public void resetInterestPaid() {
+    jdbc.update("UPDATE ACCOUNT_ENTITY SET INTEREST_PAID_UNTIL = NULL");
+  }
+
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+
+  @Benchmark
+  public InterestRunReport creditInterest() {
+    return interestService.creditInterest(period);
+  }
+
+}
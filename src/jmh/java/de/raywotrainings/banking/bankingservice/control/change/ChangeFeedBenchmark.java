@@ -0,0 +1,78 @@
+package de.raywotrainings.banking.bankingservice.control.change;
+
+import de.raywotrainings.banking.bankingservice.Application;
+import de.raywotrainings.banking.bankingservice.control.account.AccountsService;
+import de.raywotrainings.banking.bankingservice.control.account.CurrentAccount;
+import de.raywotrainings.banking.bankingservice.control.account.EntriesService;
+import de.raywotrainings.banking.bankingservice.control.account.Entry;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Books entries through {@link EntriesService} with and without recording
+ * them in the change feed. The difference is the cost of one sequence value
+ * and one insert per posting.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChangeFeedBenchmark {
+
+  private static final Money AMOUNT = Money.of("10.00");
+
+  @Param({"true", "false"})
+  public boolean recorded;
+
+  private ConfigurableApplicationContext context;
+  private EntriesService entriesService;
+  private String iban;
+
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(Application.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:change-feed-" + recorded + ";DB_CLOSE_DELAY=-1",
+            "bank.changes.enabled=" + recorded,
+            "logging.level.root=warn",
+            "logging.level.web=warn"
+        )
+        .run();
+
+    ClientsService clientsService = context.getBean(ClientsService.class);
+    AccountsService accountsService = context.getBean(AccountsService.class);
+    entriesService = context.getBean(EntriesService.class);
+
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    iban = accountsService.addCurrentAccount(
+        new CurrentAccount(null, null, Money.ZERO, Money.ZERO, BigDecimal.ZERO),
+        owner.getId()).getIban();
+  }
+
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+
+  @Benchmark
+  public Entry deposit() {
+    return entriesService.makeEntry(iban, new Entry(iban, "Benchmark", ZonedDateTime.now(), AMOUNT,
+        Entry.Type.DEPOSIT));
+  }
+
+}
@@ -0,0 +1,111 @@
+package de.raywotrainings.banking.bankingservice.entity.account;
+
+import de.raywotrainings.banking.bankingservice.Application;
+import de.raywotrainings.banking.bankingservice.control.account.*;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares account lookups and bookings with all accounts in one table and
+ * with one table per account type.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountStorageBenchmark {
+
+  private static final int ACCOUNTS = 2000;
+  private static final Money AMOUNT = Money.of("10.00");
+
+  @Param({"single-table", "table-per-class"})
+  public String layout;
+
+  private ConfigurableApplicationContext context;
+  private AccountRepository accountRepo;
+  private BookingService bookingService;
+  private final List<String> ibans = new ArrayList<>();
+
+
+  @Setup
+  public void setUp() {
+    SpringApplicationBuilder builder = new SpringApplicationBuilder(Application.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:account-storage-" + layout + ";DB_CLOSE_DELAY=-1",
+            "logging.level.root=warn",
+            "logging.level.web=warn"
+        );
+
+    if ("table-per-class".equals(layout)) {
+      builder.properties("spring.jpa.mapping-resources=META-INF/account-table-per-class.xml");
+    }
+
+    context = builder.run();
+
+    ClientsService clientsService = context.getBean(ClientsService.class);
+    AccountsService accountsService = context.getBean(AccountsService.class);
+    accountRepo = context.getBean(AccountRepository.class);
+    bookingService = context.getBean(BookingService.class);
+
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+
+    for (int i = 0; i < ACCOUNTS; i++) {
+      Account account = i % 2 == 0
+          ? accountsService.addCurrentAccount(
+              new CurrentAccount(null, null, Money.ZERO, Money.ZERO, BigDecimal.ZERO), owner.getId())
+          : accountsService.addSavingsAccount(
+              new SavingsAccount(null, null, Money.ZERO, BigDecimal.ZERO), owner.getId());
+      ibans.add(account.getIban());
+    }
+  }
+
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+
+  @Benchmark
+  public boolean existsById() {
+    return accountRepo.existsById(randomIban());
+  }
+
+
+  @Benchmark
+  public Optional<AccountEntity> findById() {
+    return accountRepo.findById(randomIban());
+  }
+
+
+  @Benchmark
+  @Threads(8)
+  public Entry depositConcurrently() {
+    String iban = randomIban();
+
+    return bookingService.book(iban, new Entry(iban, "Benchmark", ZonedDateTime.now(), AMOUNT,
+        Entry.Type.DEPOSIT));
+  }
+
+
+  private String randomIban() {
+    return ibans.get(ThreadLocalRandom.current().nextInt(ibans.size()));
+  }
+
+}
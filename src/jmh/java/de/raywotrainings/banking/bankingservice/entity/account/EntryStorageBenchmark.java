@@ -0,0 +1,105 @@
+package de.raywotrainings.banking.bankingservice.entity.account;
+
+import de.raywotrainings.banking.bankingservice.Application;
+import de.raywotrainings.banking.bankingservice.configuration.BankConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.account.IbanCodec;
+import de.raywotrainings.banking.bankingservice.control.shared.TimeOrderedUuid;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts entries and reads a month of entries of one account from a table
+ * with 1M and 10M entries, seeded in bulk with 1000 entries per account.
+ * Inserts with time-ordered ids append to the primary key index; the ones
+ * with random ids show what they cost instead.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntryStorageBenchmark {
+
+  private static final int ENTRIES_PER_ACCOUNT = 1000;
+  private static final int PAGE_SIZE = 50;
+  private static final UUID FIRST_ID = new UUID(0, 0);
+  private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+  @Param({"1000000", "10000000"})
+  public long entries;
+
+  private ConfigurableApplicationContext context;
+  private EntryRepository entryRepo;
+  private BankConfigurationData bankConfig;
+  private int accounts;
+
+
+  @Setup
+  public void setUp() {
+    accounts = (int) (entries / ENTRIES_PER_ACCOUNT);
+    context = new SpringApplicationBuilder(Application.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:entry-storage-" + entries + ";DB_CLOSE_DELAY=-1",
+            "bank.seed.mode=BULK",
+            "bank.seed.clients=1000",
+            "bank.seed.accounts=" + accounts,
+            "bank.seed.entries=" + entries,
+            "logging.level.root=warn",
+            "logging.level.web=warn"
+        )
+        .run();
+
+    entryRepo = context.getBean(EntryRepository.class);
+    bankConfig = context.getBean(BankConfigurationData.class);
+  }
+
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+
+  @Benchmark
+  public EntryEntity insert() {
+    return entryRepo.save(entry(TimeOrderedUuid.next()));
+  }
+
+
+  @Benchmark
+  public EntryEntity insertWithRandomId() {
+    return entryRepo.save(entry(UUID.randomUUID()));
+  }
+
+
+  @Benchmark
+  public List<EntryEntity> readMonth() {
+    ZonedDateTime now = ZonedDateTime.now();
+
+    return entryRepo.findPage(randomIban(), now, now.minusDays(30), FIRST_ID, Limit.of(PAGE_SIZE));
+  }
+
+
+  private EntryEntity entry(UUID id) {
+    return new EntryEntity(id, randomIban(), "Benchmark", ZonedDateTime.now(), AMOUNT, EntryEntity.Type.DEPOSIT);
+  }
+
+
+  private String randomIban() {
+    return IbanCodec.generate(bankConfig.getCountryCode(), bankConfig.getBic(),
+        1 + ThreadLocalRandom.current().nextInt(accounts));
+  }
+
+}
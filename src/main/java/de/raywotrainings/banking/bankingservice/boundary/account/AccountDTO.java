@@ -2,6 +2,7 @@ package de.raywotrainings.banking.bankingservice.boundary.account;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import de.raywotrainings.banking.bankingservice.boundary.client.ClientDTO;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -9,8 +10,6 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
-
 @NoArgsConstructor
 @Getter
 @Setter
@@ -21,7 +20,7 @@ abstract public class AccountDTO {
   private String iban;
 
   @JsonProperty(access = JsonProperty.Access.READ_ONLY)
-  private BigDecimal balance;
+  private Money balance;
 
   @JsonProperty(access = JsonProperty.Access.READ_ONLY)
   private ClientDTO owner;
@@ -36,13 +35,13 @@ abstract public class AccountDTO {
 
 
   public AccountDTO(String iban, ClientDTO owner, String type) {
-    this(iban, owner, BigDecimal.ZERO, type);
+    this(iban, owner, Money.ZERO, type);
   }
 
 
   public AccountDTO(String iban,
                     ClientDTO owner,
-                    BigDecimal balance,
+                    Money balance,
                     String type) {
     this.iban = iban;
     this.owner = owner;
@@ -2,28 +2,54 @@ package de.raywotrainings.banking.bankingservice.boundary.account;
 
 import de.raywotrainings.banking.bankingservice.boundary.mapper.AccountDTOMapper;
 import de.raywotrainings.banking.bankingservice.boundary.mapper.EntryDTOMapper;
+import de.raywotrainings.banking.bankingservice.boundary.shared.ConditionalRequests;
+import de.raywotrainings.banking.bankingservice.boundary.shared.Iban;
+import de.raywotrainings.banking.bankingservice.boundary.shared.InvalidBatchException;
 import de.raywotrainings.banking.bankingservice.boundary.shared.WrongBookingTypeException;
+import de.raywotrainings.banking.bankingservice.configuration.BookingConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.account.AccountVersion;
 import de.raywotrainings.banking.bankingservice.control.account.AccountsService;
+import de.raywotrainings.banking.bankingservice.control.account.BalanceHistoryService;
+import de.raywotrainings.banking.bankingservice.control.account.BookingResult;
 import de.raywotrainings.banking.bankingservice.control.account.EntriesService;
 import de.raywotrainings.banking.bankingservice.control.account.Entry;
+import de.raywotrainings.banking.bankingservice.control.account.EntryPage;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.time.ZonedDateTime;
-import java.util.Collection;
-import java.util.Comparator;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
+@Validated
 @RestController
 @RequestMapping("/api/v2/accounts")
 public class AccountsController {
 
+  private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
   private final AccountsService accountsService;
   private final EntriesService entriesService;
+  private final BalanceHistoryService balanceHistoryService;
   private final AccountDTOMapper accountMapper;
   private final EntryDTOMapper mapper;
+  private final Validator validator;
+  private final BalanceEventStreams balanceEventStreams;
+  private final ConditionalRequests conditionalRequests;
+  private final BookingConfigurationData bookingConfig;
 
 
   @GetMapping
@@ -35,54 +61,185 @@ public class AccountsController {
   }
 
 
+  /**
+   * Returns the account with an ETag made of the versions of account and
+   * owner. A matching {@code If-None-Match} is answered with 304 without
+   * loading the account.
+   */
   @GetMapping("/{iban}")
-  public AccountDTO getAccountByIban(@PathVariable String iban) {
-    return accountMapper.map(accountsService.getAccountByIban(iban));
+  public ResponseEntity<AccountDTO> getAccountByIban(@PathVariable @Iban String iban, WebRequest request) {
+    AccountVersion version = accountsService.getAccountVersion(iban);
+
+    if (conditionalRequests.isNotModified(request, "account", version.account(), version.owner())) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
+    return ResponseEntity.ok(accountMapper.map(accountsService.getAccountByIban(iban)));
   }
 
 
   @DeleteMapping("/{iban}")
   @ResponseStatus(HttpStatus.NO_CONTENT)
-  public void deleteAccountByIban(@PathVariable String iban) {
+  public void deleteAccountByIban(@PathVariable @Iban String iban) {
     accountsService.deleteAccountByIban(iban);
   }
 
 
+  /**
+   * Returns the balance of the account at the given point in time, or the
+   * current balance if no time is given.
+   */
+  @GetMapping("/{iban}/balance")
+  public BalanceDTO getBalance(@PathVariable @Iban String iban,
+                               @RequestParam(required = false) ZonedDateTime at) {
+    final ZonedDateTime pointInTime = at != null ? at : ZonedDateTime.now();
+
+    return new BalanceDTO(iban, pointInTime, balanceHistoryService.getBalanceAt(iban, pointInTime));
+  }
+
+
+  /**
+   * Streams an event with the new balance for every entry booked on the
+   * account, as Server-Sent Events.
+   */
+  @GetMapping(path = "/{iban}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter getEvents(@PathVariable @Iban String iban) {
+    accountsService.validateAccountExists(iban);
+
+    return balanceEventStreams.forAccount(iban);
+  }
+
+
+  /**
+   * Returns one page of entries, ordered by entry date. If there are more
+   * entries, the response carries a {@code Link} header with relation "next"
+   * pointing to the following page.
+   * <p>
+   * Every booking changes the version of the account, so the page carries
+   * it as ETag and a matching {@code If-None-Match} is answered with 304
+   * without reading the entries.
+   */
   @GetMapping("/{iban}/entries")
-  public Collection<EntryDTO> getEntriesService(@PathVariable String iban,
-                                                @RequestParam(required = false) ZonedDateTime from,
-                                                @RequestParam(required = false) ZonedDateTime to) {
-    return entriesService.getEntries(iban, from, to)
+  public ResponseEntity<List<EntryDTO>> getEntriesService(@PathVariable @Iban String iban,
+                                                          @RequestParam(required = false) ZonedDateTime from,
+                                                          @RequestParam(required = false) ZonedDateTime to,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit,
+                                                          WebRequest request) {
+    if (conditionalRequests.isNotModified(request, "entries", accountsService.getAccountVersion(iban).account())) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
+    EntryPage page = entriesService.getEntries(iban, from, to, cursor, limit);
+    List<EntryDTO> entries = page.entries()
         .stream()
-        .sorted(Comparator.comparing(Entry::getEntryDate))
         .map(mapper::map)
         .toList();
+
+    if (page.nextCursor() == null) {
+      return ResponseEntity.ok(entries);
+    }
+
+    String next = ServletUriComponentsBuilder.fromCurrentRequest()
+        .replaceQueryParam("cursor", page.nextCursor())
+        .toUriString();
+
+    return ResponseEntity.ok()
+        .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+        .body(entries);
   }
 
 
+  /**
+   * Books a deposit. A request repeated with the same
+   * {@code Idempotency-Key} returns the entry of the first one without
+   * booking again.
+   */
   @PostMapping("/{iban}/deposits")
-  public EntryDTO deposit(@PathVariable String iban,
+  public EntryDTO deposit(@PathVariable @Iban String iban,
+                          @RequestHeader(name = IDEMPOTENCY_KEY, required = false)
+                          @Size(min = 1, max = 255) String idempotencyKey,
                           @Valid @RequestBody EntryDTO entryDTO) {
     if (!entryDTO.getEntryType().equalsIgnoreCase("deposit")) {
       throw new WrongBookingTypeException("Der Typ der Buchung muss \"deposit\" sein");
     }
 
     return mapper.map(
-        entriesService.makeEntry(iban, mapper.map(entryDTO))
+        entriesService.makeEntry(iban, mapper.map(entryDTO), idempotencyKey)
     );
   }
 
 
+  /**
+   * Books a withdrawal, once per {@code Idempotency-Key} like
+   * {@link #deposit}.
+   */
   @PostMapping("/{iban}/withdrawals")
-  public EntryDTO withdraw(@PathVariable String iban,
+  public EntryDTO withdraw(@PathVariable @Iban String iban,
+                           @RequestHeader(name = IDEMPOTENCY_KEY, required = false)
+                           @Size(min = 1, max = 255) String idempotencyKey,
                            @Valid @RequestBody EntryDTO entryDTO) {
     if (!entryDTO.getEntryType().equalsIgnoreCase("withdraw")) {
       throw new WrongBookingTypeException("Der Typ der Buchung muss \"withdraw\" sein");
     }
 
     return mapper.map(
-        entriesService.makeEntry(iban, mapper.map(entryDTO))
+        entriesService.makeEntry(iban, mapper.map(entryDTO), idempotencyKey)
     );
   }
 
+
+  /**
+   * Books entries for many accounts in one request. Every entry is validated
+   * on its own; entries that are invalid or cannot be booked are reported in
+   * the response without aborting the rest of the batch. A batch that is too
+   * large or contains {@code null} is rejected as a whole.
+   */
+  @PostMapping("/entries:batch")
+  public List<BatchEntryResultDTO> bookBatch(@RequestBody List<BatchEntryDTO> entryDTOs) {
+    if (entryDTOs.size() > bookingConfig.getMaxBatchSize()) {
+      throw new InvalidBatchException("Ein Stapel darf höchstens "
+          + bookingConfig.getMaxBatchSize() + " Buchungen enthalten.");
+    }
+
+    if (entryDTOs.contains(null)) {
+      throw new InvalidBatchException("Der Stapel enthält an Position "
+          + entryDTOs.indexOf(null) + " keine Buchung.");
+    }
+
+    BatchEntryResultDTO[] results = new BatchEntryResultDTO[entryDTOs.size()];
+    List<Integer> validPositions = new ArrayList<>();
+    List<Entry> validEntries = new ArrayList<>();
+
+    for (int i = 0; i < entryDTOs.size(); i++) {
+      BatchEntryDTO entryDTO = entryDTOs.get(i);
+      Set<ConstraintViolation<BatchEntryDTO>> violations = validator.validate(entryDTO);
+
+      if (violations.isEmpty()) {
+        validPositions.add(i);
+        validEntries.add(mapper.map(entryDTO));
+      } else {
+        results[i] = new BatchEntryResultDTO(i, entryDTO.getIban(), "invalid",
+            describe(violations), null);
+      }
+    }
+
+    List<BookingResult> bookingResults = entriesService.makeEntries(validEntries);
+
+    for (int i = 0; i < validPositions.size(); i++) {
+      final int position = validPositions.get(i);
+      results[position] = mapper.map(position, bookingResults.get(i));
+    }
+
+    return Arrays.asList(results);
+  }
+
+
+  private String describe(Set<ConstraintViolation<BatchEntryDTO>> violations) {
+    return violations.stream()
+        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+        .sorted()
+        .collect(Collectors.joining(", "));
+  }
+
 }
@@ -0,0 +1,80 @@
+package de.raywotrainings.banking.bankingservice.boundary.account;
+
+import de.raywotrainings.banking.bankingservice.boundary.mapper.EntryDTOMapper;
+import de.raywotrainings.banking.bankingservice.boundary.shared.Iban;
+import de.raywotrainings.banking.bankingservice.boundary.shared.RespondAsync;
+import de.raywotrainings.banking.bankingservice.boundary.shared.WrongBookingTypeException;
+import de.raywotrainings.banking.bankingservice.control.account.BookingQueue;
+import de.raywotrainings.banking.bankingservice.control.account.BookingResult;
+import de.raywotrainings.banking.bankingservice.control.shared.NotFoundException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Accepts deposits and withdrawals sent with {@code Prefer: respond-async},
+ * possibly among other preferences, for booking in the background. Without
+ * that preference, or with the async mode switched off, postings are booked
+ * right away by {@link AccountsController}.
+ */
+@RequiredArgsConstructor
+@Validated
+@RestController
+@ConditionalOnProperty(prefix = "bank.async-booking", name = "enabled", havingValue = "true")
+public class AsyncBookingsController {
+
+  private final BookingQueue bookingQueue;
+  private final EntryDTOMapper mapper;
+
+
+  @RespondAsync
+  @PostMapping("/api/v2/accounts/{iban}/deposits")
+  public ResponseEntity<BookingStatusDTO> deposit(@PathVariable @Iban String iban,
+                                                  @Valid @RequestBody EntryDTO entryDTO) {
+    if (!entryDTO.getEntryType().equalsIgnoreCase("deposit")) {
+      throw new WrongBookingTypeException("Der Typ der Buchung muss \"deposit\" sein");
+    }
+
+    return accepted(bookingQueue.submit(iban, mapper.map(entryDTO)));
+  }
+
+
+  @RespondAsync
+  @PostMapping("/api/v2/accounts/{iban}/withdrawals")
+  public ResponseEntity<BookingStatusDTO> withdraw(@PathVariable @Iban String iban,
+                                                   @Valid @RequestBody EntryDTO entryDTO) {
+    if (!entryDTO.getEntryType().equalsIgnoreCase("withdraw")) {
+      throw new WrongBookingTypeException("Der Typ der Buchung muss \"withdraw\" sein");
+    }
+
+    return accepted(bookingQueue.submit(iban, mapper.map(entryDTO)));
+  }
+
+
+  @GetMapping("/api/v2/bookings/{id}")
+  public BookingStatusDTO getBooking(@PathVariable UUID id) {
+    return bookingQueue.result(id)
+        .map(mapper::map)
+        .orElseThrow(() -> new NotFoundException("Die Buchung " + id + " wurde nicht gefunden."));
+  }
+
+
+  private ResponseEntity<BookingStatusDTO> accepted(BookingResult queued) {
+    URI status = ServletUriComponentsBuilder.fromCurrentContextPath()
+        .path("/api/v2/bookings/{id}")
+        .buildAndExpand(queued.entry().getId())
+        .toUri();
+
+    return ResponseEntity.accepted()
+        .location(status)
+        .body(mapper.map(queued));
+  }
+
+}
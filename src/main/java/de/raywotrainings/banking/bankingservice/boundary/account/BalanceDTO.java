@@ -0,0 +1,23 @@
+package de.raywotrainings.banking.bankingservice.boundary.account;
+
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class BalanceDTO {
+
+  private String iban;
+
+  private ZonedDateTime at;
+
+  private Money balance;
+
+}
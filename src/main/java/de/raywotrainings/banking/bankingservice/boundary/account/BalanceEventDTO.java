@@ -0,0 +1,24 @@
+package de.raywotrainings.banking.bankingservice.boundary.account;
+
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Sent to subscribers of an account or client whenever an entry is booked.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class BalanceEventDTO {
+
+  private String iban;
+
+  private Money balance;
+
+  private EntryDTO entry;
+
+}
@@ -0,0 +1,180 @@
+package de.raywotrainings.banking.bankingservice.boundary.account;
+
+import de.raywotrainings.banking.bankingservice.boundary.mapper.EntryDTOMapper;
+import de.raywotrainings.banking.bankingservice.configuration.BalanceEventsConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.account.BalanceUpdate;
+import de.raywotrainings.banking.bankingservice.control.account.BalanceUpdates;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Opens Server-Sent Event streams of balance updates.
+ * <p>
+ * An idle stream is an asynchronous request without a thread. Updates are
+ * put into a small buffer per stream and sent by a virtual thread that only
+ * exists while the buffer is not empty, so a slow client never holds up
+ * the others. When a client reads too slowly and its buffer is full, the
+ * oldest event is dropped; every event carries the current balance, so the
+ * latest one received is always right.
+ * <p>
+ * When balance updates could not be announced at all, the stream receives a
+ * {@code stale} event with the IBAN instead. The client has to read that
+ * account's balance again, unless a newer {@code balance} event for the
+ * account follows.
+ */
+@Slf4j
+@Component
+public class BalanceEventStreams {
+
+  private static final String EVENT_NAME = "balance";
+  private static final String STALE_EVENT_NAME = "stale";
+
+  private final BalanceUpdates balanceUpdates;
+  private final EntryDTOMapper entryMapper;
+  private final BalanceEventsConfigurationData config;
+  private final ExecutorService senders;
+
+
+  @Autowired
+  public BalanceEventStreams(BalanceUpdates balanceUpdates,
+                             EntryDTOMapper entryMapper,
+                             BalanceEventsConfigurationData config) {
+    this(balanceUpdates, entryMapper, config, Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+
+  /**
+   * Sends with the given executor instead of a virtual thread per stream,
+   * for tests that hold back sending to simulate slow clients.
+   */
+  BalanceEventStreams(BalanceUpdates balanceUpdates,
+                      EntryDTOMapper entryMapper,
+                      BalanceEventsConfigurationData config,
+                      ExecutorService senders) {
+    this.balanceUpdates = balanceUpdates;
+    this.entryMapper = entryMapper;
+    this.config = config;
+    this.senders = senders;
+  }
+
+
+  public SseEmitter forAccount(String iban) {
+    Stream stream = new Stream();
+    stream.subscribed(balanceUpdates.subscribeToAccount(iban, stream));
+
+    return stream.emitter;
+  }
+
+
+  public SseEmitter forClient(int clientId) {
+    Stream stream = new Stream();
+    stream.subscribed(balanceUpdates.subscribeToClient(clientId, stream));
+
+    return stream.emitter;
+  }
+
+
+  @PreDestroy
+  void shutdown() {
+    senders.shutdownNow();
+  }
+
+
+  private final class Stream implements BalanceUpdates.Subscriber {
+
+    private final SseEmitter emitter = new SseEmitter(config.getStreamTimeout().toMillis());
+    private final ArrayDeque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private boolean sending;
+
+
+    void subscribed(BalanceUpdates.Subscription subscription) {
+      emitter.onCompletion(subscription::cancel);
+      emitter.onTimeout(subscription::cancel);
+      emitter.onError(e -> subscription.cancel());
+    }
+
+
+    /**
+     * Called by the dispatcher; must not block.
+     */
+    @Override
+    public void accept(BalanceUpdate update) {
+      BalanceEventDTO event = new BalanceEventDTO(update.iban(), update.balance(), entryMapper.map(update.entry()));
+
+      enqueue(SseEmitter.event()
+          .id(event.getEntry().getId())
+          .name(EVENT_NAME)
+          .data(event));
+    }
+
+
+    /**
+     * Called by the dispatcher or by a booking thread; must not block.
+     */
+    @Override
+    public void missed(String iban) {
+      enqueue(SseEmitter.event()
+          .name(STALE_EVENT_NAME)
+          .data(iban));
+    }
+
+
+    private void enqueue(SseEmitter.SseEventBuilder event) {
+      lock.lock();
+
+      try {
+        if (pending.size() == config.getSubscriberBufferSize()) {
+          pending.pollFirst();
+        }
+
+        pending.addLast(event);
+
+        if (!sending) {
+          sending = true;
+          senders.execute(this::send);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+
+    private void send() {
+      while (true) {
+        SseEmitter.SseEventBuilder event;
+        lock.lock();
+
+        try {
+          event = pending.pollFirst();
+
+          if (event == null) {
+            sending = false;
+            return;
+          }
+        } finally {
+          lock.unlock();
+        }
+
+        try {
+          emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+          // the client went away or the stream timed out
+          log.debug("Closing balance event stream: {}", e.getMessage());
+          emitter.completeWithError(e);
+          return;
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,41 @@
+package de.raywotrainings.banking.bankingservice.boundary.account;
+
+import de.raywotrainings.banking.bankingservice.boundary.shared.Iban;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.ZonedDateTime;
+
+/**
+ * An entry within a batch. Unlike {@link EntryDTO} it names the account it
+ * is posted to, because a batch spans many accounts.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class BatchEntryDTO {
+
+  @NotNull
+  @Size(min = 22, max = 22)
+  @Iban
+  private String iban;
+
+  @Size(min = 1, max = 255)
+  private String description;
+
+  @NotNull
+  @PastOrPresent
+  private ZonedDateTime entryDate;
+
+  @NotNull
+  @Min(0)
+  private Money amount;
+
+  @NotNull
+  @Pattern(regexp = "deposit|withdraw", flags = Pattern.Flag.CASE_INSENSITIVE)
+  private String entryType;
+
+}
@@ -0,0 +1,29 @@
+package de.raywotrainings.banking.bankingservice.boundary.account;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchEntryResultDTO {
+
+  private int index;
+
+  private String iban;
+
+  /**
+   * One of "booked", "insufficient_funds", "not_found", "invalid" or "failed".
+   */
+  private String status;
+
+  private String message;
+
+  private EntryDTO entry;
+
+}
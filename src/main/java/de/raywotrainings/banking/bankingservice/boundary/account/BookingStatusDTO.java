@@ -0,0 +1,33 @@
+package de.raywotrainings.banking.bankingservice.boundary.account;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * State of a posting accepted for booking in the background.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingStatusDTO {
+
+  private String id;
+
+  private String iban;
+
+  /**
+   * One of "queued", "booked", "insufficient_funds", "not_found", "invalid"
+   * or "failed".
+   */
+  private String status;
+
+  private String message;
+
+  private EntryDTO entry;
+
+}
@@ -1,6 +1,7 @@
 package de.raywotrainings.banking.bankingservice.boundary.account;
 
 import de.raywotrainings.banking.bankingservice.boundary.client.ClientDTO;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
@@ -14,7 +15,7 @@ public class CurrentAccountDTO extends AccountDTO {
 
   @NotNull
   @Min(0)
-  private BigDecimal overdraftLimit;
+  private Money overdraftLimit;
 
   @NotNull
   @Min(0)
@@ -23,8 +24,8 @@ public class CurrentAccountDTO extends AccountDTO {
 
   public CurrentAccountDTO(String iban,
                            ClientDTO owner,
-                           BigDecimal balance,
-                           BigDecimal overdraftLimit,
+                           Money balance,
+                           Money overdraftLimit,
                            BigDecimal overdraftInterestRate) {
     super(iban, owner, balance, "current");
     this.overdraftLimit = overdraftLimit;
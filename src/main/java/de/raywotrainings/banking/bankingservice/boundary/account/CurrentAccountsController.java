@@ -2,16 +2,19 @@ package de.raywotrainings.banking.bankingservice.boundary.account;
 
 import de.raywotrainings.banking.bankingservice.boundary.mapper.AccountDTOMapper;
 import de.raywotrainings.banking.bankingservice.boundary.mapper.CurrentAccountDTOMapper;
+import de.raywotrainings.banking.bankingservice.boundary.shared.Iban;
 import de.raywotrainings.banking.bankingservice.control.account.AccountsService;
 import de.raywotrainings.banking.bankingservice.control.account.CurrentAccount;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Collection;
 
 @RequiredArgsConstructor
+@Validated
 @RestController
 @RequestMapping("/api/v2/current-accounts")
 public class CurrentAccountsController {
@@ -31,7 +34,7 @@ public class CurrentAccountsController {
 
 
   @GetMapping("/{iban}")
-  public CurrentAccountDTO getAccountByIban(@PathVariable String iban) {
+  public CurrentAccountDTO getAccountByIban(@PathVariable @Iban String iban) {
     return currentAccountMapper.map(accountsService.getCurrentAccountByIban(iban));
   }
 
@@ -48,7 +51,7 @@ public class CurrentAccountsController {
 
 
   @PutMapping("/{iban}")
-  public CurrentAccountDTO updateAccountByIban(@PathVariable String iban,
+  public CurrentAccountDTO updateAccountByIban(@PathVariable @Iban String iban,
                                                @Valid @RequestBody CurrentAccountDTO account) {
     return currentAccountMapper.map((CurrentAccount) accountsService.updateAccount(
             iban,
@@ -61,7 +64,7 @@ public class CurrentAccountsController {
 
   @DeleteMapping("/{iban}")
   @ResponseStatus(HttpStatus.NO_CONTENT)
-  public void deleteAccountByIban(@PathVariable String iban) {
+  public void deleteAccountByIban(@PathVariable @Iban String iban) {
     accountsService.deleteAccountByIban(iban);
   }
 
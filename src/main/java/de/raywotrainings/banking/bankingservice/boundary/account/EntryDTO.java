@@ -1,10 +1,10 @@
 package de.raywotrainings.banking.bankingservice.boundary.account;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
-import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 
 @AllArgsConstructor
@@ -29,10 +29,10 @@ public class EntryDTO {
 
   @NotNull
   @Min(0)
-  private BigDecimal amount;
+  private Money amount;
 
   @NotNull
-  @Pattern(regexp = "deposit|withdraw")
+  @Pattern(regexp = "deposit|withdraw", flags = Pattern.Flag.CASE_INSENSITIVE)
   private String entryType;
 
 }
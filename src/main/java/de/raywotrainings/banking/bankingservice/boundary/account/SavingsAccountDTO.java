@@ -1,6 +1,7 @@
 package de.raywotrainings.banking.bankingservice.boundary.account;
 
 import de.raywotrainings.banking.bankingservice.boundary.client.ClientDTO;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import jakarta.validation.constraints.Min;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,7 +20,7 @@ public class SavingsAccountDTO extends AccountDTO {
 
   public SavingsAccountDTO(String iban,
                            ClientDTO owner,
-                           BigDecimal balance,
+                           Money balance,
                            BigDecimal interestRate) {
     super(iban, owner, balance, "savings");
     this.interestRate = interestRate;
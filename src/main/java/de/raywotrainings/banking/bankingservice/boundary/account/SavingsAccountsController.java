@@ -2,17 +2,20 @@ package de.raywotrainings.banking.bankingservice.boundary.account;
 
 import de.raywotrainings.banking.bankingservice.boundary.mapper.AccountDTOMapper;
 import de.raywotrainings.banking.bankingservice.boundary.mapper.SavingsAccountDTOMapper;
+import de.raywotrainings.banking.bankingservice.boundary.shared.Iban;
 import de.raywotrainings.banking.bankingservice.control.account.Account;
 import de.raywotrainings.banking.bankingservice.control.account.AccountsService;
 import de.raywotrainings.banking.bankingservice.control.account.SavingsAccount;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Collection;
 
 @RequiredArgsConstructor
+@Validated
 @RestController
 @RequestMapping("/api/v2/savings-accounts")
 public class SavingsAccountsController {
@@ -32,7 +35,7 @@ public class SavingsAccountsController {
 
 
   @GetMapping("/{iban}")
-  public SavingsAccountDTO getAccountByIban(@PathVariable String iban) {
+  public SavingsAccountDTO getAccountByIban(@PathVariable @Iban String iban) {
     return savingsAccountDTOMapper.map(
         accountsService.getSavingsAccountByIban(iban)
     );
@@ -51,7 +54,7 @@ public class SavingsAccountsController {
 
 
   @PutMapping("/{iban}")
-  public SavingsAccountDTO updateAccountByIban(@PathVariable String iban,
+  public SavingsAccountDTO updateAccountByIban(@PathVariable @Iban String iban,
                                                @Valid @RequestBody SavingsAccountDTO account) {
     return savingsAccountDTOMapper.map(
         (SavingsAccount) accountsService.updateAccount(
@@ -65,7 +68,7 @@ public class SavingsAccountsController {
 
   @DeleteMapping("/{iban}")
   @ResponseStatus(HttpStatus.NO_CONTENT)
-  public void deleteAccountByIban(@PathVariable String iban) {
+  public void deleteAccountByIban(@PathVariable @Iban String iban) {
     accountsService.deleteAccountByIban(iban);
   }
 
@@ -0,0 +1,36 @@
+package de.raywotrainings.banking.bankingservice.boundary.change;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class ChangeDTO {
+
+  private long sequenceNumber;
+
+  /**
+   * One of "entry_booked", "account_opened", "account_updated",
+   * "account_closed", "client_created", "client_updated" or
+   * "client_deleted".
+   */
+  private String type;
+
+  /**
+   * IBAN of the account or id of the client that changed.
+   */
+  private String subject;
+
+  @JsonRawValue
+  private String payload;
+
+  private ZonedDateTime recordedAt;
+
+}
@@ -0,0 +1,54 @@
+package de.raywotrainings.banking.bankingservice.boundary.change;
+
+import de.raywotrainings.banking.bankingservice.boundary.mapper.ChangeDTOMapper;
+import de.raywotrainings.banking.bankingservice.control.change.ChangeFeed;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@Validated
+@RestController
+@RequestMapping("/api/v2/changes")
+public class ChangesController {
+
+  private final ChangeFeed changeFeed;
+  private final ChangeDTOMapper mapper;
+
+
+  /**
+   * Returns the changes after the given sequence number, in order. If there
+   * are any, the response carries a {@code Link} header with relation
+   * "next" to continue after the last one.
+   */
+  @GetMapping
+  public ResponseEntity<List<ChangeDTO>> getChanges(@RequestParam(defaultValue = "0") @Min(0) long after,
+                                                    @RequestParam(required = false) Integer limit) {
+    List<ChangeDTO> changes = changeFeed.getChanges(after, limit)
+        .stream()
+        .map(mapper::map)
+        .toList();
+
+    if (changes.isEmpty()) {
+      return ResponseEntity.ok(changes);
+    }
+
+    String next = ServletUriComponentsBuilder.fromCurrentRequest()
+        .replaceQueryParam("after", changes.getLast().getSequenceNumber())
+        .toUriString();
+
+    return ResponseEntity.ok()
+        .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+        .body(changes);
+  }
+
+}
@@ -1,12 +1,18 @@
 package de.raywotrainings.banking.bankingservice.boundary.client;
 
 
+import de.raywotrainings.banking.bankingservice.boundary.account.BalanceEventStreams;
 import de.raywotrainings.banking.bankingservice.boundary.mapper.ClientDTOMapper;
+import de.raywotrainings.banking.bankingservice.boundary.shared.ConditionalRequests;
 import de.raywotrainings.banking.bankingservice.control.client.Client;
 import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Collection;
 
@@ -17,6 +23,8 @@ public class ClientsController {
 
   private final ClientsService clientsService;
   private final ClientDTOMapper mapper;
+  private final BalanceEventStreams balanceEventStreams;
+  private final ConditionalRequests conditionalRequests;
 
 
   @GetMapping
@@ -37,9 +45,29 @@ public class ClientsController {
   }
 
 
+  /**
+   * Returns the client with its version as ETag. A matching
+   * {@code If-None-Match} is answered with 304 without mapping the client.
+   */
   @GetMapping("/{id}")
-  public ClientDTO getClientById(@PathVariable int id) {
-    return mapper.map(clientsService.getClientById(id));
+  public ResponseEntity<ClientDTO> getClientById(@PathVariable int id, WebRequest request) {
+    if (conditionalRequests.isNotModified(request, "client", clientsService.getClientVersion(id))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
+    return ResponseEntity.ok(mapper.map(clientsService.getClientById(id)));
+  }
+
+
+  /**
+   * Streams an event with the new balance for every entry booked on any
+   * account of the client, as Server-Sent Events.
+   */
+  @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter getEvents(@PathVariable int id) {
+    clientsService.getClientById(id);
+
+    return balanceEventStreams.forClient(id);
   }
 
 
@@ -0,0 +1,24 @@
+package de.raywotrainings.banking.bankingservice.boundary.mapper;
+
+import de.raywotrainings.banking.bankingservice.boundary.change.ChangeDTO;
+import de.raywotrainings.banking.bankingservice.control.change.Change;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ChangeDTOMapper {
+
+  public ChangeDTO map(Change change) {
+    if (change == null) {
+      return null;
+    }
+
+    return new ChangeDTO(
+        change.sequenceNumber(),
+        change.type().toString().toLowerCase(),
+        change.subject(),
+        change.payload(),
+        change.recordedAt()
+    );
+  }
+
+}
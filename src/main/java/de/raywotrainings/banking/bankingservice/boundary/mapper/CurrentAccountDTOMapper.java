@@ -2,11 +2,10 @@ package de.raywotrainings.banking.bankingservice.boundary.mapper;
 
 import de.raywotrainings.banking.bankingservice.boundary.account.CurrentAccountDTO;
 import de.raywotrainings.banking.bankingservice.control.account.CurrentAccount;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-
 @RequiredArgsConstructor
 @Component
 public class CurrentAccountDTOMapper {
@@ -37,7 +36,7 @@ public class CurrentAccountDTOMapper {
     return new CurrentAccount(
         accountDTO.getIban(),
         clientDTOMapper.map(accountDTO.getOwner()),
-        BigDecimal.ZERO,
+        Money.ZERO,
         accountDTO.getOverdraftLimit(),
         accountDTO.getOverdraftInterestRate()
     );
@@ -1,9 +1,15 @@
 package de.raywotrainings.banking.bankingservice.boundary.mapper;
 
+import de.raywotrainings.banking.bankingservice.boundary.account.BatchEntryDTO;
+import de.raywotrainings.banking.bankingservice.boundary.account.BatchEntryResultDTO;
+import de.raywotrainings.banking.bankingservice.boundary.account.BookingStatusDTO;
 import de.raywotrainings.banking.bankingservice.boundary.account.EntryDTO;
+import de.raywotrainings.banking.bankingservice.control.account.BookingResult;
 import de.raywotrainings.banking.bankingservice.control.account.Entry;
 import org.springframework.stereotype.Component;
 
+import java.util.Locale;
+
 @Component
 public class EntryDTOMapper {
 
@@ -13,7 +19,7 @@ public class EntryDTOMapper {
     }
 
     return new EntryDTO(
-        entry.getId(),
+        entry.getId().toString(),
         entry.getIban(),
         entry.getDescription(),
         entry.getEntryDate(),
@@ -38,13 +44,60 @@ public class EntryDTOMapper {
   }
 
 
+  public Entry map(BatchEntryDTO entryDTO) {
+    if (entryDTO == null) {
+      return null;
+    }
+
+    return new Entry(
+        entryDTO.getIban(),
+        entryDTO.getDescription(),
+        entryDTO.getEntryDate(),
+        entryDTO.getAmount(),
+        mapType(entryDTO.getEntryType())
+    );
+  }
+
+
+  public BatchEntryResultDTO map(int index, BookingResult result) {
+    if (result == null) {
+      return null;
+    }
+
+    final boolean booked = result.status() == BookingResult.Status.BOOKED;
+
+    return new BatchEntryResultDTO(
+        index,
+        result.entry().getIban(),
+        result.status().toString().toLowerCase(),
+        result.message(),
+        booked ? map(result.entry()) : null
+    );
+  }
+
+
+  public BookingStatusDTO map(BookingResult result) {
+    if (result == null) {
+      return null;
+    }
+
+    return new BookingStatusDTO(
+        result.entry().getId().toString(),
+        result.entry().getIban(),
+        result.status().toString().toLowerCase(),
+        result.message(),
+        result.status() == BookingResult.Status.BOOKED ? map(result.entry()) : null
+    );
+  }
+
+
   private String mapType(Entry.Type type) {
     return type.toString().toLowerCase();
   }
 
 
   private Entry.Type mapType(String type) {
-    return Entry.Type.valueOf(type.toUpperCase());
+    return Entry.Type.valueOf(type.toUpperCase(Locale.ROOT));
   }
 
 }
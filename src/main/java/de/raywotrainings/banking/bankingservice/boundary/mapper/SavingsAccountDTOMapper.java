@@ -2,11 +2,10 @@ package de.raywotrainings.banking.bankingservice.boundary.mapper;
 
 import de.raywotrainings.banking.bankingservice.boundary.account.SavingsAccountDTO;
 import de.raywotrainings.banking.bankingservice.control.account.SavingsAccount;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-
 @RequiredArgsConstructor
 @Component
 public class SavingsAccountDTOMapper {
@@ -36,7 +35,7 @@ public class SavingsAccountDTOMapper {
     return new SavingsAccount(
         accountDTO.getIban(),
         clientDTOMapper.map(accountDTO.getOwner()),
-        BigDecimal.ZERO,
+        Money.ZERO,
         accountDTO.getInterestRate()
     );
   }
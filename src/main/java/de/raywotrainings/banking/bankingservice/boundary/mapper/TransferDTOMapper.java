@@ -0,0 +1,35 @@
+package de.raywotrainings.banking.bankingservice.boundary.mapper;
+
+import de.raywotrainings.banking.bankingservice.boundary.transfer.TransferDTO;
+import de.raywotrainings.banking.bankingservice.control.account.Entry;
+import de.raywotrainings.banking.bankingservice.control.account.Transfer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class TransferDTOMapper {
+
+  private final EntryDTOMapper entryMapper;
+
+
+  public TransferDTO map(Transfer transfer) {
+    if (transfer == null) {
+      return null;
+    }
+
+    final Entry debit = transfer.debit();
+
+    return new TransferDTO(
+        transfer.id().toString(),
+        debit.getIban(),
+        transfer.credit().getIban(),
+        debit.getDescription(),
+        debit.getEntryDate(),
+        debit.getAmount(),
+        entryMapper.map(debit),
+        entryMapper.map(transfer.credit())
+    );
+  }
+
+}
@@ -0,0 +1,53 @@
+package de.raywotrainings.banking.bankingservice.boundary.shared;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Answers conditional GETs with {@code 304 Not Modified} from versions
+ * alone, before the resource is loaded.
+ * <p>
+ * The strong ETag is made of the versions the representation depends on.
+ * Callers read the versions before the resource, so a change in between
+ * yields an older ETag with a newer body, which only costs the client one
+ * more full response. Requests are counted as
+ * {@code bank.conditional-requests}, tagged with the resource and whether
+ * an {@code If-None-Match} was answered with 304 ("hit"), answered in full
+ * ("miss") or absent ("none").
+ */
+@RequiredArgsConstructor
+@Component
+public class ConditionalRequests {
+
+  private static final String METRIC = "bank.conditional-requests";
+
+  private final MeterRegistry meterRegistry;
+
+
+  /**
+   * Sets the ETag for the given versions and checks it against
+   * {@code If-None-Match}.
+   *
+   * @return whether the status is set to 304, so the handler must not
+   * return a body
+   */
+  public boolean isNotModified(WebRequest request, String resource, long... versions) {
+    String eTag = Arrays.stream(versions)
+        .mapToObj(Long::toString)
+        .collect(Collectors.joining("-", "\"", "\""));
+    boolean conditional = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    boolean notModified = request.checkNotModified(eTag);
+
+    meterRegistry.counter(METRIC, "resource", resource,
+        "result", !conditional ? "none" : notModified ? "hit" : "miss").increment();
+
+    return notModified;
+  }
+
+}
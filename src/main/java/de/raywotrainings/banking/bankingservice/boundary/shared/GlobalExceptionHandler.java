@@ -1,7 +1,11 @@
 package de.raywotrainings.banking.bankingservice.boundary.shared;
 
 
+import de.raywotrainings.banking.bankingservice.control.account.BookingQueueFullException;
+import de.raywotrainings.banking.bankingservice.control.account.IdempotencyKeyReusedException;
 import de.raywotrainings.banking.bankingservice.control.account.InsufficientFundsException;
+import de.raywotrainings.banking.bankingservice.control.account.InvalidCursorException;
+import de.raywotrainings.banking.bankingservice.control.account.InvalidTransferException;
 import de.raywotrainings.banking.bankingservice.control.shared.ClientDoesntExistException;
 import de.raywotrainings.banking.bankingservice.control.shared.NotFoundException;
 import jakarta.validation.ConstraintViolationException;
@@ -17,7 +21,9 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import java.util.stream.Collectors;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @ControllerAdvice
@@ -39,6 +45,9 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
       ClientDoesntExistException.class,
       WrongBookingTypeException.class,
       InsufficientFundsException.class,
+      InvalidCursorException.class,
+      InvalidTransferException.class,
+      IdempotencyKeyReusedException.class,
       IllegalStateException.class
   })
   @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
@@ -52,6 +61,29 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
   }
 
 
+  @ExceptionHandler(InvalidBatchException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ProblemDetail handleInvalidBatchException(InvalidBatchException exception) {
+    var result = ProblemDetail.forStatus(BAD_REQUEST);
+    result.setTitle("Bad Request");
+    result.setDetail(exception.getMessage());
+
+    return result;
+  }
+
+
+  @ExceptionHandler(BookingQueueFullException.class)
+  public ResponseEntity<ProblemDetail> handleBookingQueueFullException(BookingQueueFullException exception) {
+    var result = ProblemDetail.forStatus(SERVICE_UNAVAILABLE);
+    result.setTitle("Service Unavailable");
+    result.setDetail(exception.getMessage());
+
+    return ResponseEntity.status(SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(result);
+  }
+
+
   @ExceptionHandler(ConstraintViolationException.class)
   @ResponseStatus(UNPROCESSABLE_ENTITY)
   public ProblemDetail handleConstraintViolationException(ConstraintViolationException exception) {
@@ -0,0 +1,24 @@
+package de.raywotrainings.banking.bankingservice.boundary.shared;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+/**
+ * The annotated value must be a well-formed IBAN with valid check digits.
+ * {@code null} is valid.
+ */
+@Documented
+@Constraint(validatedBy = IbanValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Iban {
+
+  String message() default "must be a valid IBAN";
+
+  Class<?>[] groups() default {};
+
+  Class<? extends Payload>[] payload() default {};
+
+}
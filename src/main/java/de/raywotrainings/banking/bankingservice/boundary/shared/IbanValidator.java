@@ -0,0 +1,14 @@
+package de.raywotrainings.banking.bankingservice.boundary.shared;
+
+import de.raywotrainings.banking.bankingservice.control.account.IbanCodec;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class IbanValidator implements ConstraintValidator<Iban, String> {
+
+  @Override
+  public boolean isValid(String value, ConstraintValidatorContext context) {
+    return value == null || IbanCodec.isValid(value);
+  }
+
+}
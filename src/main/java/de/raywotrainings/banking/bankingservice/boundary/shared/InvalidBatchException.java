@@ -0,0 +1,7 @@
+package de.raywotrainings.banking.bankingservice.boundary.shared;
+
+public class InvalidBatchException extends RuntimeException {
+  public InvalidBatchException(String message) {
+    super(message);
+  }
+}
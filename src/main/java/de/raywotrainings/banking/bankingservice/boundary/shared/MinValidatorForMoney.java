@@ -0,0 +1,29 @@
+package de.raywotrainings.banking.bankingservice.boundary.shared;
+
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Lets {@link Min} be used on {@link Money} fields. The minimum is given in
+ * whole units, like for numbers. Registered in
+ * {@code META-INF/services/jakarta.validation.ConstraintValidator}.
+ */
+public class MinValidatorForMoney implements ConstraintValidator<Min, Money> {
+
+  private long minCents;
+
+
+  @Override
+  public void initialize(Min constraint) {
+    minCents = Math.multiplyExact(constraint.value(), 100);
+  }
+
+
+  @Override
+  public boolean isValid(Money value, ConstraintValidatorContext context) {
+    return value == null || value.cents() >= minCents;
+  }
+
+}
@@ -0,0 +1,48 @@
+package de.raywotrainings.banking.bankingservice.boundary.shared;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Writes and reads {@link Money} as plain decimal number with two decimal
+ * places, e.g. {@code 1234.50}, the same format amounts had as
+ * {@code BigDecimal}.
+ */
+@JsonComponent
+public class MoneyJsonComponent {
+
+  public static class Serializer extends JsonSerializer<Money> {
+
+    @Override
+    public void serialize(Money value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+      gen.writeNumber(value.toString());
+    }
+  }
+
+
+  public static class Deserializer extends JsonDeserializer<Money> {
+
+    @Override
+    public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+      try {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+          return Money.of(parser.getText().trim());
+        }
+
+        return Money.of(parser.getDecimalValue());
+      } catch (IllegalArgumentException e) {
+        return (Money) context.handleWeirdStringValue(Money.class, parser.getText(), e.getMessage());
+      }
+    }
+  }
+
+}
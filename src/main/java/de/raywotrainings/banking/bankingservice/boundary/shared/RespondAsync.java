@@ -0,0 +1,16 @@
+package de.raywotrainings.banking.bankingservice.boundary.shared;
+
+import java.lang.annotation.*;
+
+/**
+ * The annotated handler method only handles requests that prefer an
+ * asynchronous response, i.e. send {@code respond-async} among the
+ * preferences of a {@code Prefer} header (RFC 7240), like
+ * {@code Prefer: respond-async, wait=5}. It takes precedence over a handler
+ * of the same mapping without this annotation.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RespondAsync {
+}
@@ -0,0 +1,84 @@
+package de.raywotrainings.banking.bankingservice.boundary.shared;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.mvc.condition.AbstractRequestCondition;
+
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Matches requests with the preference {@code respond-async}, see
+ * {@link RespondAsync}. Preferences are separated by commas, and each may
+ * carry a value and parameters, so only the token before those is compared.
+ */
+public class RespondAsyncCondition extends AbstractRequestCondition<RespondAsyncCondition> {
+
+  private static final String PREFER = "Prefer";
+  private static final String RESPOND_ASYNC = "respond-async";
+
+
+  @Override
+  public RespondAsyncCondition combine(@NonNull RespondAsyncCondition other) {
+    return this;
+  }
+
+
+  @Override
+  public RespondAsyncCondition getMatchingCondition(@NonNull HttpServletRequest request) {
+    if (CorsUtils.isPreFlightRequest(request)) {
+      return this;
+    }
+
+    Enumeration<String> headers = request.getHeaders(PREFER);
+
+    while (headers.hasMoreElements()) {
+      for (String preference : headers.nextElement().split(",")) {
+        if (token(preference).equalsIgnoreCase(RESPOND_ASYNC)) {
+          return this;
+        }
+      }
+    }
+
+    return null;
+  }
+
+
+  @Override
+  public int compareTo(@NonNull RespondAsyncCondition other, @NonNull HttpServletRequest request) {
+    return 0;
+  }
+
+
+  @Override
+  @NonNull
+  protected Collection<?> getContent() {
+    return List.of(PREFER + "=" + RESPOND_ASYNC);
+  }
+
+
+  @Override
+  @NonNull
+  protected String getToStringInfix() {
+    return " && ";
+  }
+
+
+  private static String token(String preference) {
+    int end = preference.length();
+
+    for (int i = 0; i < preference.length(); i++) {
+      char ch = preference.charAt(i);
+
+      if (ch == '=' || ch == ';') {
+        end = i;
+        break;
+      }
+    }
+
+    return preference.substring(0, end).trim();
+  }
+
+}
@@ -0,0 +1,53 @@
+package de.raywotrainings.banking.bankingservice.boundary.transfer;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import de.raywotrainings.banking.bankingservice.boundary.account.EntryDTO;
+import de.raywotrainings.banking.bankingservice.boundary.shared.Iban;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A transfer between two accounts. The response carries the withdrawal from
+ * the source account and the deposit to the target account.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class TransferDTO {
+
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  private String id;
+
+  @NotNull
+  @Size(min = 22, max = 22)
+  @Iban
+  private String fromIban;
+
+  @NotNull
+  @Size(min = 22, max = 22)
+  @Iban
+  private String toIban;
+
+  @Size(min = 1, max = 255)
+  private String description;
+
+  @NotNull
+  @PastOrPresent
+  private ZonedDateTime entryDate;
+
+  @NotNull
+  @Min(0)
+  private Money amount;
+
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  private EntryDTO debit;
+
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  private EntryDTO credit;
+
+}
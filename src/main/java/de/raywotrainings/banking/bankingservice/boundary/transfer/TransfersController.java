@@ -0,0 +1,36 @@
+package de.raywotrainings.banking.bankingservice.boundary.transfer;
+
+import de.raywotrainings.banking.bankingservice.boundary.mapper.TransferDTOMapper;
+import de.raywotrainings.banking.bankingservice.control.account.EntriesService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v2/transfers")
+public class TransfersController {
+
+  private final EntriesService entriesService;
+  private final TransferDTOMapper mapper;
+
+
+  /**
+   * Moves money from one account to another. Either both accounts are
+   * booked or, e.g. if the source account does not cover the amount,
+   * neither is.
+   */
+  @PostMapping
+  @ResponseStatus(HttpStatus.CREATED)
+  public TransferDTO transfer(@Valid @RequestBody TransferDTO transferDTO) {
+    return mapper.map(entriesService.makeTransfer(
+        transferDTO.getFromIban(),
+        transferDTO.getToIban(),
+        transferDTO.getAmount(),
+        transferDTO.getDescription(),
+        transferDTO.getEntryDate()
+    ));
+  }
+
+}
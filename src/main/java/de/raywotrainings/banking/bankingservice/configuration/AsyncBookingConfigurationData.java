@@ -0,0 +1,47 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "bank.async-booking")
+@Data
+public class AsyncBookingConfigurationData {
+
+  /**
+   * Accept postings sent with {@code Prefer: respond-async} into a queue
+   * and answer them with {@code 202 Accepted}.
+   */
+  private boolean enabled = false;
+
+  /**
+   * Number of queues and workers. The postings of one account always go to
+   * the same queue.
+   */
+  private int partitions = 16;
+
+  /**
+   * Postings per queue. When a queue is full, new postings are refused with
+   * {@code 503 Service Unavailable}.
+   */
+  private int queueCapacity = 10_000;
+
+  /**
+   * Maximum number of postings a worker books together.
+   */
+  private int batchSize = 200;
+
+  /**
+   * Number of finished postings whose status can still be read.
+   */
+  private int statusCacheSize = 100_000;
+
+  /**
+   * How long shutdown waits for the queues to be drained.
+   */
+  private Duration drainTimeout = Duration.ofSeconds(30);
+
+}
@@ -0,0 +1,32 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "bank.events")
+@Data
+public class BalanceEventsConfigurationData {
+
+  /**
+   * Booked entries waiting to be sent to subscribers. When the buffer is
+   * full, further entries are not announced and their subscribers receive a
+   * stale event instead.
+   */
+  private int dispatchQueueSize = 100_000;
+
+  /**
+   * Events waiting to be sent to one subscriber. A subscriber that reads too
+   * slowly loses the oldest ones.
+   */
+  private int subscriberBufferSize = 64;
+
+  /**
+   * After this time the stream is closed; browsers reconnect on their own.
+   */
+  private Duration streamTimeout = Duration.ofMinutes(30);
+
+}
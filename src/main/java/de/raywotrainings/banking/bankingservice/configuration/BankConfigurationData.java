@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.ZoneId;
+
 @Configuration
 @ConfigurationProperties(prefix = "bank")
 @Data
@@ -13,4 +15,17 @@ public class BankConfigurationData {
   private String name = "";
   private String bic = "";
 
+  /**
+   * Time zone the bank's business days are based on, e.g. for the cut-off of
+   * daily balance snapshots.
+   */
+  private ZoneId timeZone = ZoneId.of("Europe/Berlin");
+
+  /**
+   * Number of account numbers a service instance leases from the database at
+   * once. Larger blocks mean fewer round trips but leave bigger gaps when an
+   * instance is shut down.
+   */
+  private int accountNumberBlockSize = 100;
+
 }
@@ -0,0 +1,35 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "bank.booking")
+@Data
+public class BookingConfigurationData {
+
+  /**
+   * Number of in-process locks that writes to accounts are spread over by
+   * IBAN. Rounded up to the next power of two.
+   */
+  private int lockStripes = 1024;
+
+  /**
+   * How often a write that lost a race against another writer (usually on a
+   * different node) is attempted before the conflict is reported.
+   */
+  private int maxAttempts = 5;
+
+  private Duration initialBackoff = Duration.ofMillis(5);
+  private Duration maxBackoff = Duration.ofMillis(200);
+
+  /**
+   * Most entries accepted in one batch request. The postings of an account
+   * hold its lock and a connection until all of them are booked.
+   */
+  private int maxBatchSize = 1000;
+
+}
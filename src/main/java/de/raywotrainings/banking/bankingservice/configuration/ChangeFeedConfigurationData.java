@@ -0,0 +1,34 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "bank.changes")
+@Data
+public class ChangeFeedConfigurationData {
+
+  /**
+   * Record changes in the change feed. Switching it off only makes sense to
+   * measure what recording costs.
+   */
+  private boolean enabled = true;
+
+  private int defaultPageSize = 100;
+  private int maxPageSize = 1000;
+
+  /**
+   * How often committed changes are numbered. Changes show up in the feed
+   * at most this long after their commit, plus the time numbering takes.
+   */
+  private Duration numberingInterval = Duration.ofMillis(200);
+
+  /**
+   * Number of changes numbered, and committed, together.
+   */
+  private int numberingBatchSize = 1000;
+
+}
@@ -0,0 +1,24 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "bank.client-cache")
+@Data
+public class ClientCacheConfigurationData {
+
+  private int maxSize = 10_000;
+  private Duration timeToLive = Duration.ofMinutes(10);
+
+  /**
+   * Compare the versions of cached clients with the database regularly, so
+   * changes made by other instances are noticed before the entries expire.
+   */
+  private boolean versionPolling = false;
+  private Duration pollInterval = Duration.ofSeconds(5);
+
+}
@@ -0,0 +1,133 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lets only as many threads use a connection at a time as there are permits.
+ * <p>
+ * With virtual threads thousands of requests can ask for a connection at
+ * once. Instead of piling up inside the connection pool, where they would
+ * run into its timeout, they queue up fairly in front of it. A permit is
+ * returned when the connection is closed.
+ * <p>
+ * A thread that already holds a connection and opens another one, for a
+ * nested {@code REQUIRES_NEW} transaction, takes it without a permit. If it
+ * waited for a permit, threads holding all of them could wait for each
+ * other until the timeout. There must be fewer permits than connections in
+ * the pool, so nested transactions always find one.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+  private final Semaphore permits;
+  private final Duration timeout;
+  private final ThreadLocal<AtomicInteger> openConnections = ThreadLocal.withInitial(AtomicInteger::new);
+
+
+  public ConnectionLimitingDataSource(DataSource target, int permits, Duration timeout) {
+    super(target);
+    this.permits = new Semaphore(permits, true);
+    this.timeout = timeout;
+  }
+
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    AtomicInteger open = openConnections.get();
+    final boolean nested = acquireUnlessNested(open);
+
+    try {
+      return releasingOnClose(super.getConnection(), open, nested);
+    } catch (SQLException | RuntimeException e) {
+      release(open, nested);
+      throw e;
+    }
+  }
+
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    AtomicInteger open = openConnections.get();
+    final boolean nested = acquireUnlessNested(open);
+
+    try {
+      return releasingOnClose(super.getConnection(username, password), open, nested);
+    } catch (SQLException | RuntimeException e) {
+      release(open, nested);
+      throw e;
+    }
+  }
+
+
+  /**
+   * @return whether the thread already holds a connection
+   */
+  private boolean acquireUnlessNested(AtomicInteger open) throws SQLException {
+    final boolean nested = open.get() > 0;
+
+    if (!nested) {
+      acquire();
+    }
+
+    open.incrementAndGet();
+
+    return nested;
+  }
+
+
+  private void release(AtomicInteger open, boolean nested) {
+    open.decrementAndGet();
+
+    if (!nested) {
+      permits.release();
+    }
+  }
+
+
+  private void acquire() throws SQLException {
+    try {
+      if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+        throw new SQLTransientConnectionException("No database connection available within " + timeout);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+    }
+  }
+
+
+  /**
+   * The counter of open connections is the one of the opening thread, even
+   * if the connection is closed by another thread.
+   */
+  private Connection releasingOnClose(Connection connection, AtomicInteger open, boolean nested) {
+    AtomicBoolean released = new AtomicBoolean();
+
+    return (Connection) Proxy.newProxyInstance(
+        Connection.class.getClassLoader(),
+        new Class<?>[]{Connection.class},
+        (proxy, method, args) -> {
+          try {
+            return method.invoke(connection, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          } finally {
+            if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+              release(open, nested);
+            }
+          }
+        });
+  }
+
+}
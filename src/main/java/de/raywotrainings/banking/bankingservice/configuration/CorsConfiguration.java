@@ -25,7 +25,8 @@ public class CorsConfiguration {
         registry.addMapping("/**")
             .exposedHeaders(
                 HttpHeaders.LOCATION,
-                HttpHeaders.LINK
+                HttpHeaders.LINK,
+                HttpHeaders.ETAG
             )
             // allow all HTTP request methods
             .allowedMethods(
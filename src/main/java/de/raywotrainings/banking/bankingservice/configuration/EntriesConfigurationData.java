@@ -0,0 +1,15 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "bank.entries")
+@Data
+public class EntriesConfigurationData {
+
+  private int defaultPageSize = 100;
+  private int maxPageSize = 1000;
+
+}
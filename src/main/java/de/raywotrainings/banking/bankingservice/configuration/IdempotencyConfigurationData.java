@@ -0,0 +1,26 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "bank.idempotency")
+@Data
+public class IdempotencyConfigurationData {
+
+  /**
+   * Number of recent keys kept in memory. Older keys are still recognized
+   * through the database until they expire.
+   */
+  private int cacheSize = 10_000;
+
+  /**
+   * How long a key is remembered. Retries after that book again.
+   */
+  private Duration retention = Duration.ofHours(24);
+  private String cleanupCron = "0 45 * * * *";
+
+}
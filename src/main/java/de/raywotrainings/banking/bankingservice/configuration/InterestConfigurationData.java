@@ -0,0 +1,50 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "bank.interest")
+@Data
+public class InterestConfigurationData {
+
+  /**
+   * When the month-end interest run for savings accounts starts. It credits
+   * the interest of the previous month.
+   */
+  private String savingsCron = "0 30 1 1 * *";
+
+  /**
+   * Number of savings accounts processed, and committed, together.
+   */
+  private int chunkSize = 500;
+
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * A run taking longer than this is reported as a warning.
+   */
+  private Duration timeBudget = Duration.ofMinutes(30);
+
+  /**
+   * When the nightly overdraft interest job starts. It charges the interest
+   * of the previous day.
+   */
+  private String overdraftCron = "0 15 0 * * *";
+
+  /**
+   * Number of overdrawn accounts charged, and committed, together.
+   */
+  private int overdraftBatchSize = 500;
+
+  /**
+   * Number of days, up to and including the day charged, for which the
+   * overdraft interest job charges days it has missed, e.g. after a failed
+   * batch or run.
+   */
+  private int overdraftCatchUpDays = 7;
+
+}
@@ -0,0 +1,80 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+/**
+ * Logs virtual threads that block while pinned to their carrier thread, for
+ * instance inside a {@code synchronized} block or a native call. Such threads
+ * hold on to one of the few carrier threads and can stall all others.
+ * <p>
+ * Uses the JDK Flight Recorder event {@code jdk.VirtualThreadPinned}, which
+ * is only recorded when pinning lasts longer than the configured threshold.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class PinnedThreadMonitor implements SmartLifecycle {
+
+  private static final int MAX_FRAMES = 15;
+
+  private final VirtualThreadsConfigurationData config;
+
+  private RecordingStream stream;
+
+
+  @Override
+  public void start() {
+    stream = new RecordingStream();
+    stream.enable("jdk.VirtualThreadPinned")
+        .withThreshold(config.getPinnedThreshold())
+        .withStackTrace();
+    stream.onEvent("jdk.VirtualThreadPinned", this::report);
+    stream.startAsync();
+  }
+
+
+  @Override
+  public void stop() {
+    stream.close();
+    stream = null;
+  }
+
+
+  @Override
+  public boolean isRunning() {
+    return stream != null;
+  }
+
+
+  private void report(RecordedEvent event) {
+    String frames = event.getStackTrace() == null ? "  (no stack trace)" :
+        event.getStackTrace().getFrames()
+            .stream()
+            .limit(MAX_FRAMES)
+            .map(PinnedThreadMonitor::describe)
+            .collect(Collectors.joining("\n"));
+
+    log.warn("Virtual thread {} was pinned for {} ms\n{}",
+        event.getThread() != null ? event.getThread().getJavaName() : "?",
+        event.getDuration().toMillis(),
+        frames);
+  }
+
+
+  private static String describe(RecordedFrame frame) {
+    return "  at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+        + " (line " + frame.getLineNumber() + ")";
+  }
+
+}
@@ -0,0 +1,41 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import de.raywotrainings.banking.bankingservice.boundary.shared.RespondAsync;
+import de.raywotrainings.banking.bankingservice.boundary.shared.RespondAsyncCondition;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.mvc.condition.RequestCondition;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+
+/**
+ * Adds the request conditions of the boundary, like {@link RespondAsync},
+ * to the request mappings.
+ */
+@Configuration
+public class RequestMappingConfiguration {
+
+  @Bean
+  public WebMvcRegistrations requestConditions() {
+    return new WebMvcRegistrations() {
+
+      @Override
+      public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+        return new RequestMappingHandlerMapping() {
+
+          @Override
+          protected RequestCondition<?> getCustomMethodCondition(@NonNull Method method) {
+            return AnnotatedElementUtils.hasAnnotation(method, RespondAsync.class)
+                ? new RespondAsyncCondition()
+                : null;
+          }
+        };
+      }
+    };
+  }
+
+}
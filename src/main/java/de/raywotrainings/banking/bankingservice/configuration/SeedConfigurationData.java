@@ -0,0 +1,52 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDate;
+
+/**
+ * Sample data written to an empty database on startup.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "bank.seed")
+@Data
+public class SeedConfigurationData {
+
+  /**
+   * {@code DEMO} creates a few dozen accounts through the services.
+   * {@code BULK} writes the counts below directly with JDBC batches, for
+   * capacity tests.
+   */
+  private Mode mode = Mode.DEMO;
+
+  private int clients = 1_000;
+  private int accounts = 3_000;
+  private long entries = 500_000;
+
+  /**
+   * The same seed, counts and end date always produce the same data.
+   */
+  private long seed = 42;
+
+  /**
+   * Entries are spread over this many days before the end date.
+   */
+  private int historyDays = 365;
+
+  /**
+   * The generated history ends at the start of this day, today if not set.
+   */
+  private LocalDate endDate;
+
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+
+  private int batchSize = 1_000;
+
+
+  public enum Mode {
+    DEMO, BULK
+  }
+
+}
@@ -0,0 +1,45 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Additions for running on virtual threads. Tomcat, {@code @Async} and
+ * scheduled work are moved to virtual threads by Spring Boot itself when
+ * {@code spring.threads.virtual.enabled} is set.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfiguration {
+
+  /**
+   * Puts the connection pool behind fewer permits than it has connections.
+   * The connections left over are for nested transactions of threads that
+   * already hold one, like the account number lease when opening a current
+   * account or the batches of the overdraft interest job.
+   */
+  @Bean
+  static BeanPostProcessor connectionLimitingPostProcessor(
+      ObjectProvider<VirtualThreadsConfigurationData> config) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+          final int reserved = config.getObject().getJdbcReservedConnections();
+
+          return new ConnectionLimitingDataSource(dataSource,
+              Math.max(dataSource.getMaximumPoolSize() - reserved, 1),
+              config.getObject().getJdbcPermitTimeout());
+        }
+
+        return bean;
+      }
+    };
+  }
+
+}
@@ -0,0 +1,39 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings that only apply while requests and background work run on virtual
+ * threads ({@code spring.threads.virtual.enabled}).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "bank.virtual-threads")
+@Data
+public class VirtualThreadsConfigurationData {
+
+  /**
+   * How long a thread waits for one of the JDBC permits before the request
+   * fails. There is one permit per connection of the pool, except for the
+   * reserved ones.
+   */
+  private Duration jdbcPermitTimeout = Duration.ofSeconds(30);
+
+  /**
+   * Connections of the pool not covered by a permit. Threads that already
+   * hold a connection open nested transactions on these without waiting for
+   * a permit. At least one is needed to rule out threads waiting for each
+   * other.
+   */
+  private int jdbcReservedConnections = 2;
+
+  /**
+   * Virtual threads that stay pinned to their carrier thread for longer than
+   * this are logged with their stack trace.
+   */
+  private Duration pinnedThreshold = Duration.ofMillis(20);
+
+}
@@ -1,21 +1,22 @@
 package de.raywotrainings.banking.bankingservice.control.account;
 
 import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.math.BigDecimal;
-
 @Getter
 public abstract class Account {
   @Setter
   private String iban;
   @Setter
   private Client owner;
-  private BigDecimal balance;
+  private Money balance;
+  @Setter
+  private Long version;
 
 
-  public Account(String iban, Client owner, BigDecimal balance) {
+  public Account(String iban, Client owner, Money balance) {
     this.iban = iban;
     this.owner = owner;
     this.balance = balance;
@@ -26,40 +27,50 @@ public abstract class Account {
     this.iban = other.iban;
     this.owner = other.owner;
     this.balance = other.balance;
+    this.version = other.version;
   }
 
 
-  public void deposit(BigDecimal amount) {
+  public void deposit(Money amount) {
     validateAmount(amount);
-    balance = balance.add(amount);
+    balance = balance.plus(amount);
   }
 
 
-  public void withdraw(BigDecimal amount) throws InsufficientFundsException {
+  public void withdraw(Money amount) throws InsufficientFundsException {
     validateAmount(amount);
 
     if (!isAmountAvailable(amount)) {
       throw new InsufficientFundsException("Der Betrag kann nicht abgebucht werden.");
     }
 
-    balance = balance.subtract(amount);
+    balance = balance.minus(amount);
   }
 
 
-  public BigDecimal availableAmount() {
-    return balance;
+  public Money availableAmount() {
+    return Money.ofCents(availableCents());
   }
 
 
-  private void validateAmount(BigDecimal amount) {
-    if (amount.compareTo(BigDecimal.ZERO) < 0) {
+  private void validateAmount(Money amount) {
+    if (amount.isNegative()) {
       throw new IllegalArgumentException("amount must be positive");
     }
   }
 
 
-  protected boolean isAmountAvailable(BigDecimal amount) {
-    return balance.compareTo(amount) >= 0;
+  protected boolean isAmountAvailable(Money amount) {
+    return availableCents() >= amount.cents();
+  }
+
+
+  /**
+   * The amount that can be withdrawn, in cents. Subclasses extend it by
+   * further limits.
+   */
+  protected long availableCents() {
+    return balance.cents();
   }
 
 
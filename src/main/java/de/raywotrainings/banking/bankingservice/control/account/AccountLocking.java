@@ -0,0 +1,144 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.configuration.BookingConfigurationData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Concurrency control for writes to accounts.
+ * <p>
+ * Within one instance, writes to the same account are serialized by a lock
+ * picked from a fixed set of stripes by the hash of the IBAN, so unrelated
+ * accounts rarely contend. Across instances the version column of the
+ * account and the database row locks detect conflicting writers. Such writes
+ * are rolled back and retried in a new transaction with a bounded,
+ * exponentially growing backoff.
+ */
+@Slf4j
+@Component
+public class AccountLocking {
+
+  private final BookingConfigurationData config;
+  private final TransactionTemplate transactionTemplate;
+  private final ReentrantLock[] stripes;
+
+
+  public AccountLocking(BookingConfigurationData config,
+                        TransactionTemplate transactionTemplate) {
+    this.config = config;
+    this.transactionTemplate = transactionTemplate;
+    this.stripes = new ReentrantLock[ceilingPowerOfTwo(config.getLockStripes())];
+
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+
+  /**
+   * Runs the work in a transaction while holding the lock of the account.
+   * The work must not have side effects outside the transaction, because it
+   * may run more than once.
+   */
+  public <T> T write(String iban, Supplier<T> work) {
+    ReentrantLock lock = stripes[stripeIndex(iban)];
+    lock.lock();
+
+    try {
+      return executeWithRetry(work);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+
+  /**
+   * Like {@link #write(String, Supplier)}, holding the locks of both
+   * accounts. The locks are always taken in the same order, so two writes to
+   * the same pair of accounts cannot wait for each other.
+   */
+  public <T> T write(String iban, String otherIban, Supplier<T> work) {
+    final int index = stripeIndex(iban);
+    final int otherIndex = stripeIndex(otherIban);
+    ReentrantLock first = stripes[Math.min(index, otherIndex)];
+    ReentrantLock second = stripes[Math.max(index, otherIndex)];
+    first.lock();
+
+    try {
+      if (second != first) {
+        second.lock();
+      }
+
+      try {
+        return executeWithRetry(work);
+      } finally {
+        if (second != first) {
+          second.unlock();
+        }
+      }
+    } finally {
+      first.unlock();
+    }
+  }
+
+
+  private <T> T executeWithRetry(Supplier<T> work) {
+    Duration backoff = config.getInitialBackoff();
+
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return transactionTemplate.execute(status -> work.get());
+      } catch (ConcurrencyFailureException e) {
+        if (attempt >= config.getMaxAttempts()) {
+          throw e;
+        }
+
+        log.debug("Write conflict on attempt {}, retrying in {}", attempt, backoff);
+        sleep(backoff);
+        backoff = min(backoff.multipliedBy(2), config.getMaxBackoff());
+      }
+    }
+  }
+
+
+  int stripeIndex(String iban) {
+    int hash = iban.hashCode();
+
+    // spread the high bits, as HashMap does, before masking
+    return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+  }
+
+
+  private static void sleep(Duration backoff) {
+    // jitter keeps competing nodes from retrying in lock step
+    long nanos = backoff.toNanos();
+    long jittered = nanos / 2 + ThreadLocalRandom.current().nextLong(nanos / 2 + 1);
+
+    try {
+      Thread.sleep(Duration.ofNanos(jittered));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Unterbrochen beim Warten auf einen erneuten Buchungsversuch.", e);
+    }
+  }
+
+
+  private static Duration min(Duration a, Duration b) {
+    return a.compareTo(b) <= 0 ? a : b;
+  }
+
+
+  private static int ceilingPowerOfTwo(int value) {
+    if (value <= 1) return 1;
+
+    return Integer.highestOneBit(value - 1) << 1;
+  }
+
+}
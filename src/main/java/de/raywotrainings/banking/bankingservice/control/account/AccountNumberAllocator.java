@@ -0,0 +1,144 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.configuration.BankConfigurationData;
+import de.raywotrainings.banking.bankingservice.entity.account.AccountNumberCounterEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.AccountNumberCounterRepository;
+import de.raywotrainings.banking.bankingservice.entity.account.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out unique account numbers.
+ * <p>
+ * Account numbers are leased in blocks from a counter row in the database.
+ * Leasing a block locks the counter row and advances it by the block size in
+ * a transaction of its own, so several service instances sharing one database
+ * never receive overlapping blocks. Within a block the numbers are handed out
+ * lock-free from memory, which makes opening an account independent of the
+ * number of accounts that already exist.
+ */
+@Slf4j
+@Service
+public class AccountNumberAllocator {
+
+  static final long MAX_ACCOUNT_NUMBER = 9_999_999_999L;
+
+  private final AccountNumberCounterRepository counterRepo;
+  private final AccountRepository accountRepo;
+  private final BankConfigurationData bankConfig;
+  private final TransactionTemplate leaseTransaction;
+
+  private final AtomicReference<Block> currentBlock = new AtomicReference<>(Block.EMPTY);
+  private final ReentrantLock leaseLock = new ReentrantLock();
+
+
+  public AccountNumberAllocator(AccountNumberCounterRepository counterRepo,
+                                AccountRepository accountRepo,
+                                BankConfigurationData bankConfig,
+                                PlatformTransactionManager transactionManager) {
+    this.counterRepo = counterRepo;
+    this.accountRepo = accountRepo;
+    this.bankConfig = bankConfig;
+    this.leaseTransaction = new TransactionTemplate(transactionManager);
+    this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+
+  public long nextAccountNumber() {
+    while (true) {
+      Block block = currentBlock.get();
+      long accountNumber = block.next.getAndIncrement();
+
+      if (accountNumber < block.end) {
+        return accountNumber;
+      }
+
+      refill(block);
+    }
+  }
+
+
+  /**
+   * Only one thread leases a new block. Threads that were waiting for the lock
+   * find the block already replaced and go back to the lock-free path.
+   */
+  private void refill(Block exhaustedBlock) {
+    leaseLock.lock();
+
+    try {
+      if (currentBlock.get() == exhaustedBlock) {
+        currentBlock.set(leaseBlock(bankConfig.getAccountNumberBlockSize()));
+      }
+    } finally {
+      leaseLock.unlock();
+    }
+  }
+
+
+  private Block leaseBlock(int blockSize) {
+    try {
+      return leaseTransaction.execute(status -> leaseBlockFromCounter(blockSize));
+    } catch (DataIntegrityViolationException e) {
+      // Another instance created the counter row at the same time. The row
+      // exists now, so the second attempt takes the locking path.
+      return leaseTransaction.execute(status -> leaseBlockFromCounter(blockSize));
+    }
+  }
+
+
+  private Block leaseBlockFromCounter(int blockSize) {
+    final String bic = bankConfig.getBic();
+    AccountNumberCounterEntity counter = counterRepo.findForUpdate(bic)
+        .orElseGet(() -> counterRepo.saveAndFlush(
+            new AccountNumberCounterEntity(bic, firstFreeAccountNumber())
+        ));
+
+    long start = counter.getNextAccountNumber();
+    long end = start + blockSize;
+
+    if (end - 1 > MAX_ACCOUNT_NUMBER) {
+      throw new IllegalStateException("Der Nummernkreis für Kontonummern ist erschöpft.");
+    }
+
+    counter.setNextAccountNumber(end);
+    log.debug("Leased account numbers {} to {} for bank code {}", start, end - 1, bic);
+
+    return new Block(start, end);
+  }
+
+
+  /**
+   * Only needed once per bank code, when the counter row is created. Accounts
+   * opened before the counter existed were numbered randomly, so the counter
+   * starts right after the highest of them.
+   */
+  private long firstFreeAccountNumber() {
+    return accountRepo.findHighestAccountNumber()
+        .map(highest -> highest + 1)
+        .orElse(1L);
+  }
+
+
+  private static final class Block {
+
+    static final Block EMPTY = new Block(0, 0);
+
+    final AtomicLong next;
+    final long end;
+
+
+    Block(long start, long end) {
+      this.next = new AtomicLong(start);
+      this.end = end;
+    }
+  }
+
+}
@@ -0,0 +1,92 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.control.shared.NotFoundException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Times operations on accounts as Micrometer observations, which become
+ * timers tagged with the account type and the outcome.
+ * <p>
+ * The account type is often only known once the work has touched the
+ * account, so it is set from inside the work through
+ * {@link #accountType(Account)} or {@link #accountType(String)}. All
+ * observations are named {@code bank.*} and can be switched off with
+ * {@code management.observations.enable.bank=false}.
+ */
+@RequiredArgsConstructor
+@Component
+public class AccountObservations {
+
+  public static final String BOOKING = "bank.booking";
+  public static final String TRANSFER = "bank.transfer";
+  public static final String LOOKUP = "bank.account.lookup";
+  public static final String IBAN_GENERATION = "bank.iban.generation";
+
+  static final String CURRENT = "current";
+  static final String SAVINGS = "savings";
+
+  private static final String ACCOUNT_TYPE = "account.type";
+  private static final String OUTCOME = "outcome";
+
+  private final ObservationRegistry registry;
+
+
+  public <T> T observe(String name, Supplier<T> work) {
+    Observation observation = Observation.createNotStarted(name, registry)
+        .lowCardinalityKeyValue(ACCOUNT_TYPE, "unknown")
+        .lowCardinalityKeyValue(OUTCOME, "success")
+        .start();
+
+    try (Observation.Scope ignored = observation.openScope()) {
+      return work.get();
+    } catch (RuntimeException e) {
+      observation.lowCardinalityKeyValue(OUTCOME, outcome(e));
+      observation.error(e);
+      throw e;
+    } finally {
+      observation.stop();
+    }
+  }
+
+
+  public void accountType(Account account) {
+    switch (account) {
+      case CurrentAccount ignored -> accountType(CURRENT);
+      case SavingsAccount ignored -> accountType(SAVINGS);
+      default -> {
+      }
+    }
+  }
+
+
+  /**
+   * Tags the observation that is currently running on this thread, if any.
+   */
+  public void accountType(String type) {
+    Observation current = registry.getCurrentObservation();
+
+    if (current != null) {
+      current.lowCardinalityKeyValue(ACCOUNT_TYPE, type);
+    }
+  }
+
+
+  private static String outcome(RuntimeException e) {
+    return switch (e) {
+      case InsufficientFundsException ignored -> "insufficient_funds";
+      case InvalidTransferException ignored -> "validation_failure";
+      case IdempotencyKeyReusedException ignored -> "validation_failure";
+      case NotFoundException ignored -> "not_found";
+      case IllegalArgumentException ignored -> "validation_failure";
+      case ValidationException ignored -> "validation_failure";
+      default -> "error";
+    };
+  }
+
+}
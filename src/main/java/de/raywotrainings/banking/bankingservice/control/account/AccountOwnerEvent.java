@@ -0,0 +1,10 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+/**
+ * Published within the transaction that opened, updated or closed an
+ * account, with the owner the account has afterwards; {@code null} once it
+ * is closed. Listen with {@code @TransactionalEventListener} to learn about
+ * it only once it is committed.
+ */
+public record AccountOwnerEvent(String iban, Integer ownerId) {
+}
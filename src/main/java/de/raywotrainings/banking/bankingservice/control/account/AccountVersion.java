@@ -0,0 +1,9 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+/**
+ * The versions of an account and of its owner. The account version changes
+ * with every write to the account, including every booking; the owner
+ * version with every change of the owner.
+ */
+public record AccountVersion(long account, long owner) {
+}
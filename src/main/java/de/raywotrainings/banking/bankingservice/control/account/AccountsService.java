@@ -1,5 +1,6 @@
 package de.raywotrainings.banking.bankingservice.control.account;
 
+import de.raywotrainings.banking.bankingservice.control.change.ChangeFeed;
 import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
 import de.raywotrainings.banking.bankingservice.control.mapper.AccountMapper;
 import de.raywotrainings.banking.bankingservice.control.mapper.CurrentAccountMapper;
@@ -11,7 +12,6 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.util.Collection;
 
 @RequiredArgsConstructor
@@ -23,14 +23,19 @@ public class AccountsService {
   private final SavingsAccountRepository savingsAccountRepo;
   private final CurrentAccountRepository currentAccountRepo;
   private final EntryRepository entryRepo;
+  private final BalanceSnapshotRepository balanceSnapshotRepo;
+  private final IdempotencyKeyRepository idempotencyKeyRepo;
   private final AccountMapper accountMapper;
   private final SavingsAccountMapper savingsAccountMapper;
   private final CurrentAccountMapper currentAccountMapper;
   private final IbanGenerator ibanGenerator;
+  private final AccountLocking accountLocking;
+  private final AccountObservations observations;
+  private final ChangeFeed changeFeed;
 
 
   public Collection<Account> getAllAccounts(Integer ownerId) {
-    return (ownerId != null ? accountRepo.findAllByOwnerId(ownerId) : accountRepo.findAll())
+    return (ownerId != null ? accountRepo.findAllWithOwnerByOwnerId(ownerId) : accountRepo.findAllWithOwner())
         .stream()
         .map(accountMapper::map)
         .toList();
@@ -38,7 +43,7 @@ public class AccountsService {
 
 
   public Collection<CurrentAccount> getCurrentAccounts() {
-    return currentAccountRepo.findAll()
+    return currentAccountRepo.findAllWithOwner()
         .stream()
         .map(currentAccountMapper::map)
         .toList();
@@ -46,7 +51,7 @@ public class AccountsService {
 
 
   public Collection<SavingsAccount> getSavingsAccounts() {
-    return savingsAccountRepo.findAll()
+    return savingsAccountRepo.findAllWithOwner()
         .stream()
         .map(savingsAccountMapper::map)
         .toList();
@@ -54,11 +59,29 @@ public class AccountsService {
 
 
   public Account getAccountByIban(String iban) {
-    validateAccountExists(iban);
+    return observations.observe(AccountObservations.LOOKUP, () -> {
+      validateAccountExists(iban);
 
-    return accountRepo.findById(iban)
-        .map(accountMapper::map)
-        .get();
+      Account account = accountRepo.findById(iban)
+          .map(accountMapper::map)
+          .get();
+      observations.accountType(account);
+
+      return account;
+    });
+  }
+
+
+  /**
+   * Reads the versions of the account and its owner with a single query,
+   * without loading the account.
+   */
+  public AccountVersion getAccountVersion(String iban) {
+    return accountRepo.findVersion(iban)
+        .map(version -> new AccountVersion(version.version(),
+            version.ownerVersion() != null ? version.ownerVersion() : 0))
+        .orElseThrow(() -> new NotFoundException("Das Konto " + iban
+            + " wurde nicht gefunden."));
   }
 
 
@@ -80,6 +103,7 @@ public class AccountsService {
   }
 
 
+  @Transactional
   public CurrentAccount addCurrentAccount(CurrentAccount account, Integer ownerId) {
     final String iban = ibanGenerator.getNextIban();
 
@@ -87,8 +111,10 @@ public class AccountsService {
       account.setIban(iban);
       account.setOwner(clientsService.getClientById(ownerId));
       CurrentAccountEntity newAccount = currentAccountRepo.save(currentAccountMapper.map(account));
+      CurrentAccount opened = currentAccountMapper.map(newAccount);
+      changeFeed.accountOpened(opened);
 
-      return currentAccountMapper.map(newAccount);
+      return opened;
     } catch (NotFoundException e) {
       throw new ClientDoesntExistException("Der Kunde mit der Kundennummer "
           + ownerId + " existiert nicht.");
@@ -96,6 +122,7 @@ public class AccountsService {
   }
 
 
+  @Transactional
   public SavingsAccount addSavingsAccount(SavingsAccount account, Integer ownerId) {
     final String iban = ibanGenerator.getNextIban();
 
@@ -103,8 +130,10 @@ public class AccountsService {
       account.setIban(iban);
       account.setOwner(clientsService.getClientById(ownerId));
       SavingsAccountEntity newAccount = savingsAccountRepo.save(savingsAccountMapper.map(account));
+      SavingsAccount opened = savingsAccountMapper.map(newAccount);
+      changeFeed.accountOpened(opened);
 
-      return savingsAccountMapper.map(newAccount);
+      return opened;
     } catch (NotFoundException e) {
       throw new ClientDoesntExistException("Der Kunde mit der Kundennummer "
           + ownerId + " existiert nicht.");
@@ -116,11 +145,13 @@ public class AccountsService {
     validateAccountExists(iban);
 
     if (account instanceof CurrentAccount) {
-      return updateCurrentAccountByIban(iban, (CurrentAccount) account, ownerId);
+      return accountLocking.write(iban,
+          () -> updateCurrentAccountByIban(iban, (CurrentAccount) account, ownerId));
     }
 
     if (account instanceof SavingsAccount) {
-      return updateSavingsAccountByIban(iban, (SavingsAccount) account, ownerId);
+      return accountLocking.write(iban,
+          () -> updateSavingsAccountByIban(iban, (SavingsAccount) account, ownerId));
     }
 
     throw new IllegalArgumentException("Unbekannter Account-Typ.");
@@ -132,29 +163,10 @@ public class AccountsService {
     validateAccountExists(iban);
     validateAccountCanBeDeleted(getAccountByIban(iban));
     entryRepo.deleteByIban(iban);
+    balanceSnapshotRepo.deleteByIban(iban);
+    idempotencyKeyRepo.deleteByIban(iban);
     accountRepo.deleteById(iban);
-  }
-
-
-  public Account makeEntry(String iban, Entry entry) {
-    validateAccountExists(iban);
-
-    Account account = getAccountByIban(iban);
-
-    if (entry.getType() == Entry.Type.DEPOSIT) {
-      account.deposit(entry.getAmount());
-    }
-
-    if (entry.getType() == Entry.Type.WITHDRAW) {
-      account.withdraw(entry.getAmount());
-    }
-
-    updateAccount(iban, account, account.getOwner().getId());
-
-    final AccountEntity accountEntity = accountMapper.map(account);
-    final AccountEntity updatedAccount = accountRepo.save(accountEntity);
-
-    return accountMapper.map(updatedAccount);
+    changeFeed.accountClosed(iban);
   }
 
 
@@ -180,8 +192,10 @@ public class AccountsService {
       existingAccount.setOverdraftInterestRate(account.getOverdraftInterestRate());
 
       CurrentAccountEntity newAccount = currentAccountRepo.save(currentAccountMapper.map(existingAccount));
+      CurrentAccount updated = currentAccountMapper.map(newAccount);
+      changeFeed.accountUpdated(updated);
 
-      return currentAccountMapper.map(newAccount);
+      return updated;
     } catch (NotFoundException e) {
       throw new ClientDoesntExistException("Der Kunde mit der Kundennummer "
           + ownerId + " existiert nicht.");
@@ -202,8 +216,10 @@ public class AccountsService {
       existingAccount.setInterestRate(account.getInterestRate());
 
       SavingsAccountEntity newAccount = savingsAccountRepo.save(savingsAccountMapper.map(existingAccount));
+      SavingsAccount updated = savingsAccountMapper.map(newAccount);
+      changeFeed.accountUpdated(updated);
 
-      return savingsAccountMapper.map(newAccount);
+      return updated;
     } catch (NotFoundException e) {
       throw new ClientDoesntExistException("Der Kunde mit der Kundennummer "
           + ownerId + " existiert nicht.");
@@ -212,7 +228,7 @@ public class AccountsService {
 
 
   private void validateAccountCanBeDeleted(Account account) {
-    if (account.getBalance().compareTo(BigDecimal.ZERO) != 0) {
+    if (account.getBalance().signum() != 0) {
       throw new IllegalStateException("Das Konto ist noch nicht auf Null " +
           "ausgeglichen und kann deshalb nicht gelöscht werden.");
     }
@@ -0,0 +1,135 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.configuration.BankConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import de.raywotrainings.banking.bankingservice.entity.account.AccountRepository;
+import de.raywotrainings.banking.bankingservice.entity.account.BalanceSnapshotEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.BalanceSnapshotRepository;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Answers what the balance of an account was at a given point in time.
+ * <p>
+ * Once a day a snapshot of every account's balance is taken at the start of
+ * the business day. A point-in-time balance is the nearest earlier snapshot
+ * plus the entries between snapshot and requested time, which is at most one
+ * day of entries regardless of how long the history is.
+ * <p>
+ * Entries may be back-dated. Booking such an entry shifts all snapshots
+ * taken at or after its entry date, see {@link #entryBooked(Entry)}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class BalanceHistoryService {
+
+  private static final int ACCOUNTS_PER_SLICE = 1000;
+  private static final ZonedDateTime EARLIEST = ZonedDateTime.of(1900, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  private final BalanceSnapshotRepository snapshotRepo;
+  private final EntryRepository entryRepo;
+  private final AccountRepository accountRepo;
+  private final AccountsService accountsService;
+  private final AccountLocking accountLocking;
+  private final BankConfigurationData bankConfig;
+
+
+  public Money getBalanceAt(String iban, ZonedDateTime at) {
+    accountsService.validateAccountExists(iban);
+
+    return Money.of(balanceAt(iban, at));
+  }
+
+
+  /**
+   * Keeps existing snapshots in line with a newly booked entry. Must be called
+   * within the booking transaction. Entries dated after the start of the
+   * current business day cannot precede any snapshot and cost nothing. An
+   * entry dated exactly at the start is part of that day's snapshot.
+   */
+  void entryBooked(Entry entry) {
+    if (entry.getEntryDate().isAfter(startOfBusinessDay())) {
+      return;
+    }
+
+    Money amount = entry.getType() == Entry.Type.DEPOSIT
+        ? entry.getAmount()
+        : entry.getAmount().negate();
+
+    snapshotRepo.shift(entry.getIban(), entry.getEntryDate(), amount.toBigDecimal());
+  }
+
+
+  /**
+   * Takes the snapshots for the start of the current business day. Accounts
+   * that already have one are skipped, so the job can be rerun after a crash.
+   */
+  @Scheduled(cron = "${bank.snapshots.cron}", zone = "${bank.time-zone}")
+  public void takeSnapshots() {
+    final ZonedDateTime cutOff = startOfBusinessDay();
+    String lastIban = "";
+    int taken = 0;
+
+    log.info("Taking balance snapshots as of {}", cutOff);
+
+    while (true) {
+      List<String> ibans = accountRepo.findIbansAfter(lastIban, Limit.of(ACCOUNTS_PER_SLICE));
+
+      for (String iban : ibans) {
+        if (Boolean.TRUE.equals(accountLocking.write(iban, () -> takeSnapshot(iban, cutOff)))) {
+          taken++;
+        }
+      }
+
+      if (ibans.size() < ACCOUNTS_PER_SLICE) {
+        break;
+      }
+
+      lastIban = ibans.getLast();
+    }
+
+    log.info("Took {} balance snapshots as of {}", taken, cutOff);
+  }
+
+
+  private boolean takeSnapshot(String iban, ZonedDateTime cutOff) {
+    if (snapshotRepo.existsByIbanAndTakenAt(iban, cutOff)) {
+      return false;
+    }
+
+    snapshotRepo.save(new BalanceSnapshotEntity(iban, cutOff, balanceAt(iban, cutOff)));
+
+    return true;
+  }
+
+
+  private BigDecimal balanceAt(String iban, ZonedDateTime at) {
+    Optional<BalanceSnapshotEntity> snapshot =
+        snapshotRepo.findFirstByIbanAndTakenAtLessThanEqualOrderByTakenAtDesc(iban, at);
+
+    BigDecimal base = snapshot.map(BalanceSnapshotEntity::getBalance).orElse(BigDecimal.ZERO);
+    ZonedDateTime after = snapshot.map(BalanceSnapshotEntity::getTakenAt).orElse(EARLIEST);
+    BigDecimal replayed = Objects.requireNonNullElse(entryRepo.sumBetween(iban, after, at), BigDecimal.ZERO);
+
+    return base.add(replayed);
+  }
+
+
+  private ZonedDateTime startOfBusinessDay() {
+    return LocalDate.now(bankConfig.getTimeZone()).atStartOfDay(bankConfig.getTimeZone());
+  }
+
+}
@@ -0,0 +1,11 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+
+/**
+ * A booked entry together with the balance of its account right after it
+ * was committed. Postings committed in the meantime may already be part of
+ * that balance.
+ */
+public record BalanceUpdate(String iban, Integer ownerId, Money balance, Entry entry) {
+}
@@ -0,0 +1,281 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.configuration.BalanceEventsConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import de.raywotrainings.banking.bankingservice.entity.account.AccountBalance;
+import de.raywotrainings.banking.bankingservice.entity.account.AccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tells subscribers about entries booked for an account or for any account
+ * of a client.
+ * <p>
+ * Booked entries are handed over after commit to a single dispatcher thread,
+ * so booking never waits for subscribers. Entries for accounts nobody
+ * listens to, neither on the account nor on its owner, are dropped right
+ * away. The dispatcher takes the others in batches, reads balance and owner
+ * of their accounts in one statement and passes each update to every
+ * subscriber. Subscribers must not block; they are expected to buffer and
+ * send on their own.
+ * <p>
+ * When the dispatcher falls behind and its queue is full, entries are not
+ * announced. Their subscribers are told that they missed updates of the
+ * account, so they can read the balance again.
+ * <p>
+ * A subscription to an account costs two map entries and nothing else until
+ * an update arrives. A subscription to a client also keeps the IBANs of the
+ * client's accounts, which are kept current by {@link AccountOwnerEvent}s.
+ */
+@Slf4j
+@Component
+public class BalanceUpdates {
+
+  private static final int DISPATCH_BATCH_SIZE = 500;
+
+  private final AccountRepository accountRepo;
+  private final BlockingQueue<Entry> pending;
+  private final ExecutorService dispatcher;
+
+  private final Map<String, Set<Subscriber>> byIban = new ConcurrentHashMap<>();
+  private final Map<Integer, Set<Subscriber>> byClient = new ConcurrentHashMap<>();
+
+  /**
+   * The owners of all accounts whose owner has subscribers.
+   */
+  private final Map<String, Integer> subscribedOwners = new ConcurrentHashMap<>();
+
+  private final Counter dropped;
+
+
+  public BalanceUpdates(AccountRepository accountRepo,
+                        BalanceEventsConfigurationData config,
+                        MeterRegistry meterRegistry) {
+    this.accountRepo = accountRepo;
+    this.dropped = Counter.builder("bank.events.dropped")
+        .description("Booked entries not announced because the dispatcher fell behind")
+        .register(meterRegistry);
+    this.pending = new ArrayBlockingQueue<>(config.getDispatchQueueSize());
+    this.dispatcher = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().name("balance-updates").daemon().factory());
+    this.dispatcher.execute(this::dispatchAll);
+
+    Gauge.builder("bank.events.subscribers", this, BalanceUpdates::subscribers)
+        .register(meterRegistry);
+  }
+
+
+  public Subscription subscribeToAccount(String iban, Subscriber subscriber) {
+    byIban.compute(iban, (key, subscribers) -> added(subscribers, subscriber));
+
+    return () -> byIban.computeIfPresent(iban, (key, subscribers) -> removed(subscribers, subscriber));
+  }
+
+
+  /**
+   * Registers the subscriber before reading the IBANs of the client, so an
+   * account opened in the meantime is either read or announced by its
+   * {@link AccountOwnerEvent}.
+   */
+  public Subscription subscribeToClient(int clientId, Subscriber subscriber) {
+    byClient.compute(clientId, (key, subscribers) -> added(subscribers, subscriber));
+
+    for (String iban : accountRepo.findIbansByOwnerId(clientId)) {
+      subscribedOwners.put(iban, clientId);
+    }
+
+    return () -> byClient.computeIfPresent(clientId, (key, subscribers) -> {
+      Set<Subscriber> remaining = removed(subscribers, subscriber);
+
+      if (remaining == null) {
+        subscribedOwners.values().removeIf(owner -> owner == clientId);
+      }
+
+      return remaining;
+    });
+  }
+
+
+  @TransactionalEventListener
+  public void entryBooked(EntryBookedEvent event) {
+    final String iban = event.entry().getIban();
+
+    if (!byIban.containsKey(iban) && !subscribedOwners.containsKey(iban)) {
+      return;
+    }
+
+    if (!pending.offer(new Entry(event.entry()))) {
+      dropped.increment();
+      missed(iban);
+    }
+  }
+
+
+  @TransactionalEventListener
+  public void accountOwnerChanged(AccountOwnerEvent event) {
+    if (event.ownerId() != null && byClient.containsKey(event.ownerId())) {
+      subscribedOwners.put(event.iban(), event.ownerId());
+    } else {
+      subscribedOwners.remove(event.iban());
+    }
+  }
+
+
+  int subscribers() {
+    return byIban.values().stream().mapToInt(Set::size).sum()
+        + byClient.values().stream().mapToInt(Set::size).sum();
+  }
+
+
+  @PreDestroy
+  void shutdown() {
+    dispatcher.shutdownNow();
+  }
+
+
+  private void dispatchAll() {
+    List<Entry> batch = new ArrayList<>(DISPATCH_BATCH_SIZE);
+
+    try {
+      while (true) {
+        batch.add(pending.take());
+        pending.drainTo(batch, DISPATCH_BATCH_SIZE - 1);
+
+        try {
+          dispatch(batch);
+        } catch (RuntimeException e) {
+          log.warn("Balance updates for {} entries failed: {}", batch.size(), e.getMessage());
+          batch.forEach(entry -> missed(entry.getIban()));
+        }
+
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+
+  private void dispatch(List<Entry> entries) {
+    Map<String, AccountBalance> accounts = accountRepo
+        .findBalances(entries.stream().map(Entry::getIban).collect(Collectors.toSet()))
+        .stream()
+        .collect(Collectors.toMap(AccountBalance::iban, Function.identity()));
+
+    for (Entry entry : entries) {
+      AccountBalance account = accounts.get(entry.getIban());
+
+      if (account == null) {
+        continue;
+      }
+
+      BalanceUpdate update = new BalanceUpdate(entry.getIban(), account.ownerId(),
+          Money.of(account.balance()), entry);
+
+      deliver(byIban.get(update.iban()), update);
+
+      if (update.ownerId() != null) {
+        deliver(byClient.get(update.ownerId()), update);
+      }
+    }
+  }
+
+
+  private void deliver(Set<Subscriber> subscribers, BalanceUpdate update) {
+    if (subscribers == null) {
+      return;
+    }
+
+    for (Subscriber subscriber : subscribers) {
+      try {
+        subscriber.accept(update);
+      } catch (RuntimeException e) {
+        log.warn("Subscriber of {} failed: {}", update.iban(), e.getMessage());
+      }
+    }
+  }
+
+
+  private void missed(String iban) {
+    missed(byIban.get(iban), iban);
+
+    Integer ownerId = subscribedOwners.get(iban);
+
+    if (ownerId != null) {
+      missed(byClient.get(ownerId), iban);
+    }
+  }
+
+
+  private void missed(Set<Subscriber> subscribers, String iban) {
+    if (subscribers == null) {
+      return;
+    }
+
+    for (Subscriber subscriber : subscribers) {
+      try {
+        subscriber.missed(iban);
+      } catch (RuntimeException e) {
+        log.warn("Subscriber of {} failed: {}", iban, e.getMessage());
+      }
+    }
+  }
+
+
+  private static Set<Subscriber> added(Set<Subscriber> subscribers, Subscriber subscriber) {
+    Set<Subscriber> result = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+    result.add(subscriber);
+
+    return result;
+  }
+
+
+  private static Set<Subscriber> removed(Set<Subscriber> subscribers, Subscriber subscriber) {
+    subscribers.remove(subscriber);
+
+    return subscribers.isEmpty() ? null : subscribers;
+  }
+
+
+  /**
+   * Receives the balance updates of a subscription. Both methods must not
+   * block.
+   */
+  public interface Subscriber {
+
+    /**
+     * Called by the dispatcher for every entry booked.
+     */
+    void accept(BalanceUpdate update);
+
+    /**
+     * Called when updates of the account were not announced. The balance
+     * last received may be out of date until the next update arrives.
+     */
+    void missed(String iban);
+
+  }
+
+
+  /**
+   * Ends the subscription. Calling it again has no effect.
+   */
+  @FunctionalInterface
+  public interface Subscription {
+    void cancel();
+  }
+
+}
@@ -0,0 +1,271 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.configuration.AsyncBookingConfigurationData;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Books postings in the background.
+ * <p>
+ * Postings are spread over a fixed number of queues by IBAN, each drained by
+ * one worker thread. The postings of an account therefore are booked in the
+ * order they were accepted, while different accounts are booked in
+ * parallel. A worker takes everything waiting in its queue, up to the batch
+ * size, and books it through {@link BookingService#bookAll}: every account
+ * is loaded once and its entries are inserted in one JDBC batch.
+ * <p>
+ * The outcome of a posting can be read by the id of its entry for a while
+ * after it was booked. It is only known to the instance that accepted the
+ * posting.
+ * <p>
+ * On shutdown, no more postings are accepted and the workers book what is
+ * left in the queues before the application stops. This bean stops after
+ * the web server, so requests still in flight can hand over their postings.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "bank.async-booking", name = "enabled", havingValue = "true")
+public class BookingQueue implements SmartLifecycle {
+
+  private final BookingService bookingService;
+  private final AccountsService accountsService;
+  private final AsyncBookingConfigurationData config;
+
+  private final List<BlockingQueue<Queued>> partitions = new ArrayList<>();
+  private final List<Thread> workers = new ArrayList<>();
+  private final LinkedHashMap<UUID, BookingResult> results;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Timer lag;
+
+  private volatile boolean accepting;
+
+
+  public BookingQueue(BookingService bookingService,
+                      AccountsService accountsService,
+                      AsyncBookingConfigurationData config,
+                      MeterRegistry meterRegistry) {
+    this.bookingService = bookingService;
+    this.accountsService = accountsService;
+    this.config = config;
+    this.results = new LinkedHashMap<>(16, 0.75f, false) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<UUID, BookingResult> eldest) {
+        // postings still waiting are never dropped, finished ones are
+        return size() > config.getStatusCacheSize()
+            && eldest.getValue().status() != BookingResult.Status.QUEUED;
+      }
+    };
+
+    for (int i = 0; i < config.getPartitions(); i++) {
+      BlockingQueue<Queued> partition = new ArrayBlockingQueue<>(config.getQueueCapacity());
+      partitions.add(partition);
+      Gauge.builder("bank.booking.queue.depth", partition, Collection::size)
+          .tag("partition", String.valueOf(i))
+          .register(meterRegistry);
+    }
+
+    this.lag = Timer.builder("bank.booking.queue.lag")
+        .description("Time from accepting a posting until it is booked")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+
+  /**
+   * Checks that the account exists and queues the posting.
+   *
+   * @return the queued posting; its entry id identifies it in
+   * {@link #result(UUID)}
+   * @throws BookingQueueFullException if the queue of the account is full
+   *                                   or the application is shutting down
+   */
+  public BookingResult submit(String iban, Entry entry) {
+    accountsService.validateAccountExists(iban);
+    entry.setIban(iban);
+
+    if (!accepting) {
+      throw new BookingQueueFullException("Es werden gerade keine Buchungen angenommen.");
+    }
+
+    BookingResult queued = BookingResult.queued(entry);
+    store(entry.getId(), queued);
+
+    if (!partitions.get(partition(iban)).offer(new Queued(entry, System.nanoTime()))) {
+      remove(entry.getId());
+      throw new BookingQueueFullException("Zu viele Buchungen für dieses Konto in der Warteschlange.");
+    }
+
+    return queued;
+  }
+
+
+  public Optional<BookingResult> result(UUID id) {
+    lock.lock();
+
+    try {
+      return Optional.ofNullable(results.get(id));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+
+  @Override
+  public void start() {
+    accepting = true;
+
+    for (int i = 0; i < partitions.size(); i++) {
+      BlockingQueue<Queued> partition = partitions.get(i);
+      workers.add(Thread.ofPlatform()
+          .name("booking-worker-" + i)
+          .start(() -> work(partition)));
+    }
+  }
+
+
+  @Override
+  public void stop() {
+    // Workers notice within a second and then drain their queue without
+    // waiting. They are not interrupted, so a batch in progress keeps its
+    // database connection.
+    accepting = false;
+
+    final long deadline = System.nanoTime() + config.getDrainTimeout().toNanos();
+
+    for (Thread worker : workers) {
+      try {
+        long remaining = deadline - System.nanoTime();
+
+        if (remaining <= 0 || !worker.join(Duration.ofNanos(remaining))) {
+          log.warn("Booking worker {} did not finish within {}", worker.getName(), config.getDrainTimeout());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+
+    int left = partitions.stream().mapToInt(Collection::size).sum();
+
+    if (left > 0) {
+      log.warn("{} queued postings were not booked", left);
+    }
+
+    workers.clear();
+  }
+
+
+  @Override
+  public boolean isRunning() {
+    return !workers.isEmpty();
+  }
+
+
+  /**
+   * Stops after the web server, which stops in a later phase of its own.
+   */
+  @Override
+  public int getPhase() {
+    return 0;
+  }
+
+
+  int partition(String iban) {
+    int hash = iban.hashCode();
+
+    return Math.floorMod(hash ^ (hash >>> 16), partitions.size());
+  }
+
+
+  /**
+   * Books batches until the queue is empty after shutdown began.
+   */
+  private void work(BlockingQueue<Queued> partition) {
+    List<Queued> batch = new ArrayList<>(config.getBatchSize());
+
+    while (true) {
+      try {
+        Queued first = accepting ? partition.poll(1, TimeUnit.SECONDS) : partition.poll();
+
+        if (first == null) {
+          if (!accepting) {
+            return;
+          }
+
+          continue;
+        }
+
+        batch.add(first);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.warn("Booking worker interrupted, {} postings left in its queue", partition.size());
+        return;
+      }
+
+      partition.drainTo(batch, config.getBatchSize() - 1);
+      book(batch);
+      batch.clear();
+    }
+  }
+
+
+  private void book(List<Queued> batch) {
+    List<BookingResult> booked;
+
+    try {
+      booked = bookingService.bookAll(batch.stream().map(Queued::entry).toList());
+    } catch (RuntimeException e) {
+      log.error("Booking a batch of {} postings failed", batch.size(), e);
+      booked = batch.stream()
+          .map(q -> BookingResult.failed(q.entry()))
+          .toList();
+    }
+
+    final long now = System.nanoTime();
+
+    for (int i = 0; i < batch.size(); i++) {
+      Queued queued = batch.get(i);
+      lag.record(now - queued.acceptedAt(), TimeUnit.NANOSECONDS);
+      store(queued.entry().getId(), booked.get(i));
+    }
+  }
+
+
+  private void store(UUID id, BookingResult result) {
+    lock.lock();
+
+    try {
+      results.put(id, result);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+
+  private void remove(UUID id) {
+    lock.lock();
+
+    try {
+      results.remove(id);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+
+  private record Queued(Entry entry, long acceptedAt) {
+  }
+
+}
@@ -0,0 +1,7 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+public class BookingQueueFullException extends RuntimeException {
+  public BookingQueueFullException(String message) {
+    super(message);
+  }
+}
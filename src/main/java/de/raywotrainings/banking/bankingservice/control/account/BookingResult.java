@@ -0,0 +1,38 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+/**
+ * Outcome of a single posting within a batch. Rejected postings carry the
+ * reason instead of aborting the batch. Postings waiting in the
+ * {@link BookingQueue} are {@code QUEUED}.
+ */
+public record BookingResult(Entry entry, Status status, String message) {
+
+  public static BookingResult booked(Entry entry) {
+    return new BookingResult(entry, Status.BOOKED, null);
+  }
+
+
+  public static BookingResult queued(Entry entry) {
+    return new BookingResult(entry, Status.QUEUED, null);
+  }
+
+
+  /**
+   * For postings that failed for reasons other than the posting itself. The
+   * message is fixed, the cause belongs in the log, not in the response.
+   */
+  public static BookingResult failed(Entry entry) {
+    return new BookingResult(entry, Status.FAILED, "Die Buchung konnte nicht ausgeführt werden.");
+  }
+
+
+  public static BookingResult rejected(Entry entry, Status status, String message) {
+    return new BookingResult(entry, status, message);
+  }
+
+
+  public enum Status {
+    QUEUED, BOOKED, INSUFFICIENT_FUNDS, NOT_FOUND, INVALID, FAILED
+  }
+
+}
@@ -0,0 +1,319 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.control.change.ChangeFeed;
+import de.raywotrainings.banking.bankingservice.control.mapper.AccountMapper;
+import de.raywotrainings.banking.bankingservice.control.mapper.EntryMapper;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import de.raywotrainings.banking.bankingservice.control.shared.TimeOrderedUuid;
+import de.raywotrainings.banking.bankingservice.entity.account.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+
+/**
+ * Posts entries to accounts.
+ * <p>
+ * Balance check, balance update and entry insert run in one transaction. The
+ * account is never loaded: the funds rule is part of the update statement
+ * itself, so a withdrawal only changes the balance if balance (plus overdraft
+ * limit for current accounts) covers the amount. A posting therefore needs
+ * two or three statements, depending on the account type.
+ * <p>
+ * Postings to the same account are serialized and retried on conflicts by
+ * {@link AccountLocking}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class BookingService {
+
+  private final AccountsService accountsService;
+  private final AccountLocking accountLocking;
+  private final BalanceHistoryService balanceHistory;
+  private final AccountRepository accountRepo;
+  private final CurrentAccountRepository currentAccountRepo;
+  private final SavingsAccountRepository savingsAccountRepo;
+  private final EntryRepository entryRepo;
+  private final AccountMapper accountMapper;
+  private final EntryMapper mapper;
+  private final AccountObservations observations;
+  private final IdempotencyKeys idempotencyKeys;
+  private final ChangeFeed changeFeed;
+
+
+  public Entry book(String iban, Entry entry) {
+    validateAmount(entry.getAmount());
+    entry.setIban(iban);
+
+    return accountLocking.write(iban, () -> post(iban, entry));
+  }
+
+
+  /**
+   * Like {@link #book(String, Entry)}, but books at most once per idempotency
+   * key. Repeating a key returns the entry booked first and leaves the
+   * account unchanged. Postings that were rejected are not remembered, so
+   * their retries are booked normally.
+   *
+   * @param idempotencyKey the key sent by the client, or {@code null}
+   */
+  public Entry book(String iban, Entry entry, String idempotencyKey) {
+    if (idempotencyKey == null) {
+      return book(iban, entry);
+    }
+
+    validateAmount(entry.getAmount());
+    entry.setIban(iban);
+
+    Optional<Entry> recent = idempotencyKeys.findRecent(idempotencyKey);
+
+    if (recent.isPresent()) {
+      return repeated(recent.get(), entry);
+    }
+
+    try {
+      Entry booked = accountLocking.write(iban, () -> {
+        idempotencyKeys.record(idempotencyKey, entry);
+        return post(iban, entry);
+      });
+      idempotencyKeys.remember(idempotencyKey, booked);
+
+      return booked;
+    } catch (DataIntegrityViolationException e) {
+      // the key was booked before, possibly by another instance
+      Entry earlier = idempotencyKeys.load(idempotencyKey).orElseThrow(() -> e);
+      idempotencyKeys.remember(idempotencyKey, earlier);
+
+      return repeated(earlier, entry);
+    }
+  }
+
+
+  /**
+   * Moves the amount from one account to another in one transaction. The
+   * withdrawal is checked against the funds of the source account; if it is
+   * not covered, neither account changes.
+   * <p>
+   * Both entries are written with the id of the transfer. The balance
+   * updates lock the account rows in IBAN order, so transfers in opposite
+   * directions between the same accounts cannot deadlock in the database.
+   */
+  public Transfer transfer(String fromIban,
+                           String toIban,
+                           Money amount,
+                           String description,
+                           ZonedDateTime entryDate) {
+    validateAmount(amount);
+
+    if (fromIban.equals(toIban)) {
+      throw new InvalidTransferException("Quell- und Zielkonto müssen verschieden sein.");
+    }
+
+    Entry debit = new Entry(fromIban, description, entryDate, amount, Entry.Type.WITHDRAW);
+    Entry credit = new Entry(toIban, description, entryDate, amount, Entry.Type.DEPOSIT);
+
+    return accountLocking.write(fromIban, toIban,
+        () -> postTransfer(new Transfer(TimeOrderedUuid.next(), debit, credit)));
+  }
+
+
+  /**
+   * Posts entries for many accounts. The entries are grouped by IBAN and each
+   * account is loaded once, receives all of its postings in order and is
+   * written back together with its new entries in one transaction. A posting
+   * that cannot be booked is reported in its result and does not affect the
+   * other postings.
+   *
+   * @return one result per entry, in the order of the given entries
+   */
+  public List<BookingResult> bookAll(List<Entry> entries) {
+    Map<String, List<Integer>> positionsByIban = new LinkedHashMap<>();
+
+    for (int i = 0; i < entries.size(); i++) {
+      positionsByIban.computeIfAbsent(entries.get(i).getIban(), iban -> new ArrayList<>()).add(i);
+    }
+
+    BookingResult[] results = new BookingResult[entries.size()];
+
+    positionsByIban.forEach((iban, positions) -> {
+      List<Entry> accountEntries = positions.stream().map(entries::get).toList();
+      List<BookingResult> accountResults = bookAllForAccount(iban, accountEntries);
+
+      for (int i = 0; i < positions.size(); i++) {
+        results[positions.get(i)] = accountResults.get(i);
+      }
+    });
+
+    return Arrays.asList(results);
+  }
+
+
+  private List<BookingResult> bookAllForAccount(String iban, List<Entry> entries) {
+    try {
+      return accountLocking.write(iban, () -> postAll(iban, entries));
+    } catch (RuntimeException e) {
+      log.warn("Batch postings for account {} failed", iban, e);
+
+      return entries.stream()
+          .map(BookingResult::failed)
+          .toList();
+    }
+  }
+
+
+  private Entry post(String iban, Entry entry) {
+    switch (entry.getType()) {
+      case DEPOSIT -> deposit(iban, entry.getAmount());
+      case WITHDRAW -> withdraw(iban, entry.getAmount());
+    }
+
+    Entry booked = mapper.map(entryRepo.save(mapper.map(entry)));
+    balanceHistory.entryBooked(booked);
+    changeFeed.entryBooked(booked);
+
+    return booked;
+  }
+
+
+  private Entry repeated(Entry earlier, Entry entry) {
+    if (!earlier.getIban().equals(entry.getIban())
+        || earlier.getType() != entry.getType()
+        || !earlier.getAmount().equals(entry.getAmount())) {
+      throw new IdempotencyKeyReusedException(
+          "Der Idempotency-Key wurde bereits für eine andere Buchung verwendet.");
+    }
+
+    return earlier;
+  }
+
+
+  private Transfer postTransfer(Transfer transfer) {
+    final Entry debit = transfer.debit();
+    final Entry credit = transfer.credit();
+
+    if (debit.getIban().compareTo(credit.getIban()) < 0) {
+      withdraw(debit.getIban(), debit.getAmount());
+      deposit(credit.getIban(), credit.getAmount());
+    } else {
+      deposit(credit.getIban(), credit.getAmount());
+      withdraw(debit.getIban(), debit.getAmount());
+    }
+
+    entryRepo.saveAll(List.of(linked(debit, transfer), linked(credit, transfer)));
+    balanceHistory.entryBooked(debit);
+    balanceHistory.entryBooked(credit);
+    changeFeed.entryBooked(debit);
+    changeFeed.entryBooked(credit);
+
+    return transfer;
+  }
+
+
+  private EntryEntity linked(Entry entry, Transfer transfer) {
+    EntryEntity entity = mapper.map(entry);
+    entity.setTransferId(transfer.id());
+
+    return entity;
+  }
+
+
+  /**
+   * Applies the postings to the loaded account one after another, so every
+   * withdrawal is checked against the balance left by the postings before it.
+   * The account entity is managed: its new balance is flushed with a version
+   * check on commit, together with the batched entry inserts. The version is
+   * incremented even if the postings leave the balance as it was, as the
+   * entries of the account have changed all the same.
+   */
+  private List<BookingResult> postAll(String iban, List<Entry> entries) {
+    Optional<AccountEntity> accountEntity = accountRepo.findForBooking(iban);
+
+    if (accountEntity.isEmpty()) {
+      final String message = "Das Konto " + iban + " wurde nicht gefunden.";
+
+      return entries.stream()
+          .map(entry -> BookingResult.rejected(entry, BookingResult.Status.NOT_FOUND, message))
+          .toList();
+    }
+
+    Account account = accountMapper.map(accountEntity.get());
+    List<BookingResult> results = new ArrayList<>(entries.size());
+    List<EntryEntity> bookedEntries = new ArrayList<>(entries.size());
+
+    for (Entry entry : entries) {
+      try {
+        validateAmount(entry.getAmount());
+        apply(account, entry);
+
+        Entry booked = new Entry(entry);
+        booked.setIban(iban);
+        bookedEntries.add(mapper.map(booked));
+        balanceHistory.entryBooked(booked);
+        changeFeed.entryBooked(booked);
+        results.add(BookingResult.booked(booked));
+      } catch (InsufficientFundsException e) {
+        results.add(BookingResult.rejected(entry, BookingResult.Status.INSUFFICIENT_FUNDS, e.getMessage()));
+      } catch (IllegalArgumentException e) {
+        results.add(BookingResult.rejected(entry, BookingResult.Status.INVALID, e.getMessage()));
+      }
+    }
+
+    accountEntity.get().setBalance(account.getBalance().toBigDecimal());
+    entryRepo.saveAll(bookedEntries);
+
+    return results;
+  }
+
+
+  private void apply(Account account, Entry entry) {
+    switch (entry.getType()) {
+      case DEPOSIT -> account.deposit(entry.getAmount());
+      case WITHDRAW -> account.withdraw(entry.getAmount());
+    }
+  }
+
+
+  private void deposit(String iban, Money amount) {
+    if (currentAccountRepo.deposit(iban, amount.toBigDecimal()) > 0) {
+      observations.accountType(AccountObservations.CURRENT);
+    } else if (savingsAccountRepo.deposit(iban, amount.toBigDecimal()) > 0) {
+      observations.accountType(AccountObservations.SAVINGS);
+    } else {
+      accountsService.validateAccountExists(iban);
+    }
+  }
+
+
+  private void withdraw(String iban, Money amount) {
+    if (currentAccountRepo.withdraw(iban, amount.toBigDecimal()) > 0) {
+      observations.accountType(AccountObservations.CURRENT);
+    } else if (savingsAccountRepo.withdraw(iban, amount.toBigDecimal()) > 0) {
+      observations.accountType(AccountObservations.SAVINGS);
+    } else {
+      // Neither update matched: either there is no such account or it does
+      // not cover the amount. Only rejected withdrawals pay for finding out
+      // the type.
+      if (currentAccountRepo.existsById(iban)) {
+        observations.accountType(AccountObservations.CURRENT);
+      } else if (savingsAccountRepo.existsById(iban)) {
+        observations.accountType(AccountObservations.SAVINGS);
+      } else {
+        accountsService.validateAccountExists(iban);
+      }
+
+      throw new InsufficientFundsException("Der Betrag kann nicht abgebucht werden.");
+    }
+  }
+
+
+  private void validateAmount(Money amount) {
+    if (amount == null || amount.isNegative()) {
+      throw new IllegalArgumentException("amount must be positive");
+    }
+  }
+
+}
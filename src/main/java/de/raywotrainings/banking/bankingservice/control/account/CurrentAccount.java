@@ -1,28 +1,31 @@
 package de.raywotrainings.banking.bankingservice.control.account;
 
 import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Setter
 @Getter
 public class CurrentAccount extends Account {
 
   private BigDecimal overdraftInterestRate;
-  private BigDecimal overdraftLimit;
+  private Money overdraftLimit;
+  private LocalDate overdraftInterestChargedUntil;
 
 
   public CurrentAccount(String iban, Client owner) {
-    this(iban, owner, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    this(iban, owner, Money.ZERO, Money.ZERO, BigDecimal.ZERO);
   }
 
 
   public CurrentAccount(String iban,
                         Client owner,
-                        BigDecimal balance,
-                        BigDecimal overdraftLimit,
+                        Money balance,
+                        Money overdraftLimit,
                         BigDecimal overdraftInterestRate) {
     super(iban, owner, balance);
     this.overdraftLimit = overdraftLimit;
@@ -34,12 +37,7 @@ public class CurrentAccount extends Account {
     super(other);
     this.overdraftLimit = other.overdraftLimit;
     this.overdraftInterestRate = other.overdraftInterestRate;
-  }
-
-
-  @Override
-  public BigDecimal availableAmount() {
-    return this.getBalance().add(overdraftLimit);
+    this.overdraftInterestChargedUntil = other.overdraftInterestChargedUntil;
   }
 
 
@@ -51,8 +49,8 @@ public class CurrentAccount extends Account {
 
 
   @Override
-  protected boolean isAmountAvailable(BigDecimal amount) {
-    return getBalance().add(overdraftLimit).compareTo(amount) >= 0;
+  protected long availableCents() {
+    return Math.addExact(getBalance().cents(), overdraftLimit.cents());
   }
 
 
@@ -1,11 +1,14 @@
 package de.raywotrainings.banking.bankingservice.control.account;
 
+import de.raywotrainings.banking.bankingservice.configuration.EntriesConfigurationData;
 import de.raywotrainings.banking.bankingservice.control.mapper.EntryMapper;
-import de.raywotrainings.banking.bankingservice.entity.account.EntryEntity;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import de.raywotrainings.banking.bankingservice.entity.account.EntryRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.List;
 
@@ -16,50 +19,94 @@ public class EntriesService {
   private final EntryRepository repo;
   private final EntryMapper mapper;
   private final AccountsService accountsService;
-
-  private static final String NONE = "NONE";
-  private static final String TO_ONLY = "TO_ONLY";
-  private static final String FROM_ONLY = "FROM_ONLY";
-  private static final String BOTH = "BOTH";
-
-
-  public List<Entry> getEntries(String iban,
-                                ZonedDateTime from,
-                                ZonedDateTime to) {
+  private final BookingService bookingService;
+  private final EntriesConfigurationData config;
+  private final AccountObservations observations;
+
+  // Stand in for missing range bounds, so a single query covers all cases.
+  private static final ZonedDateTime EARLIEST = ZonedDateTime.of(1900, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+  private static final ZonedDateTime LATEST = ZonedDateTime.of(9999, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC);
+
+
+  /**
+   * Reads a page of the entries of an account, ordered by entry date and id.
+   * Both bounds of the date range are inclusive and optional.
+   *
+   * @param cursor token from a previous page, or {@code null} for the first
+   *               page
+   * @param limit  maximum number of entries, or {@code null} for the default
+   *               page size
+   */
+  public EntryPage getEntries(String iban,
+                              ZonedDateTime from,
+                              ZonedDateTime to,
+                              String cursor,
+                              Integer limit) {
     accountsService.validateAccountExists(iban);
 
-    List<EntryEntity> entries = switch (getCase(from, to)) {
-      case NONE -> repo.findByIban(iban);
-      case TO_ONLY -> repo.findByIbanAndEntryDateBefore(iban, to);
-      case FROM_ONLY -> repo.findByIbanAndEntryDateAfter(iban, from);
-      case BOTH -> repo.findByIbanAndEntryDateBetween(iban, from, to);
-      default -> throw new IllegalStateException("Unexpected value: " + getCase(from, to));
-    };
-
-    return entries
+    final EntryCursor position = cursor != null
+        ? EntryCursor.decode(cursor)
+        : EntryCursor.before(from != null ? from : EARLIEST);
+    final int pageSize = pageSize(limit);
+
+    // one more than requested tells whether there is a following page
+    List<Entry> entries = repo.findPage(
+            iban,
+            to != null ? to : LATEST,
+            position.entryDate(),
+            position.id(),
+            Limit.of(pageSize + 1)
+        )
         .stream()
         .map(mapper::map)
         .toList();
+
+    if (entries.size() <= pageSize) {
+      return new EntryPage(entries, null);
+    }
+
+    List<Entry> page = entries.subList(0, pageSize);
+
+    return new EntryPage(page, EntryCursor.after(page.getLast()).encode());
   }
 
 
   public Entry makeEntry(String iban, Entry entry) {
-    accountsService.validateAccountExists(iban);
+    return observations.observe(AccountObservations.BOOKING, () -> bookingService.book(iban, entry));
+  }
 
-    entry.setIban(iban);
-    accountsService.makeEntry(iban, entry);
 
-    return mapper.map(repo.save(mapper.map(entry)));
+  /**
+   * Books the entry once per idempotency key; see
+   * {@link BookingService#book(String, Entry, String)}.
+   */
+  public Entry makeEntry(String iban, Entry entry, String idempotencyKey) {
+    return observations.observe(AccountObservations.BOOKING,
+        () -> bookingService.book(iban, entry, idempotencyKey));
   }
 
 
-  private String getCase(ZonedDateTime from, ZonedDateTime to) {
-    if (from == null && to == null) return NONE;
-    if (from == null) return TO_ONLY;
-    if (to == null) return FROM_ONLY;
+  public Transfer makeTransfer(String fromIban,
+                               String toIban,
+                               Money amount,
+                               String description,
+                               ZonedDateTime entryDate) {
+    return observations.observe(AccountObservations.TRANSFER,
+        () -> bookingService.transfer(fromIban, toIban, amount, description, entryDate));
+  }
+
 
-    return BOTH;
+  public List<BookingResult> makeEntries(List<Entry> entries) {
+    return bookingService.bookAll(entries);
   }
 
 
+  private int pageSize(Integer limit) {
+    if (limit == null) {
+      return config.getDefaultPageSize();
+    }
+
+    return Math.clamp(limit, 1, config.getMaxPageSize());
+  }
+
 }
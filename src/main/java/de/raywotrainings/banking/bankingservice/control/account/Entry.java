@@ -1,11 +1,12 @@
 package de.raywotrainings.banking.bankingservice.control.account;
 
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import de.raywotrainings.banking.bankingservice.control.shared.TimeOrderedUuid;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
-import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.UUID;
 
@@ -15,20 +16,20 @@ import java.util.UUID;
 @ToString
 public class Entry {
 
-  private String id = UUID.randomUUID().toString();
+  private UUID id = TimeOrderedUuid.next();
   private String iban;
   private String description;
   private ZonedDateTime entryDate;
-  private BigDecimal amount;
+  private Money amount;
   private Type type;
 
 
   public Entry(String iban,
                String description,
                ZonedDateTime entryDate,
-               BigDecimal amount,
+               Money amount,
                Type type) {
-    this.id = UUID.randomUUID().toString();
+    this.id = TimeOrderedUuid.next();
     this.iban = iban;
     this.description = description;
     this.entryDate = entryDate;
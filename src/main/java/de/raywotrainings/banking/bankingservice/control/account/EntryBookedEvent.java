@@ -0,0 +1,9 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+/**
+ * Published within the transaction that booked the entry. Listen with
+ * {@code @TransactionalEventListener} to learn about it only once it is
+ * committed.
+ */
+public record EntryBookedEvent(Entry entry) {
+}
@@ -0,0 +1,61 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position within the entries of an account: the entry date and id of the
+ * last entry that has been read. Clients only see the encoded form.
+ */
+record EntryCursor(ZonedDateTime entryDate, UUID id) {
+
+  private static final char SEPARATOR = '|';
+  private static final UUID LOWEST_ID = new UUID(0, 0);
+
+
+  /**
+   * Position right before the first entry at the given date.
+   */
+  static EntryCursor before(ZonedDateTime entryDate) {
+    return new EntryCursor(entryDate, LOWEST_ID);
+  }
+
+
+  static EntryCursor after(Entry entry) {
+    return new EntryCursor(entry.getEntryDate(), entry.getId());
+  }
+
+
+  String encode() {
+    String position = entryDate.toInstant().toString() + SEPARATOR + id;
+
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+  }
+
+
+  static EntryCursor decode(String token) {
+    try {
+      String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = position.indexOf(SEPARATOR);
+
+      if (separator < 0) {
+        throw new InvalidCursorException("Ungültiger Cursor: " + token);
+      }
+
+      Instant entryDate = Instant.parse(position.substring(0, separator));
+      UUID id = UUID.fromString(position.substring(separator + 1));
+
+      return new EntryCursor(entryDate.atZone(ZoneOffset.UTC), id);
+    } catch (IllegalArgumentException | DateTimeException e) {
+      throw new InvalidCursorException("Ungültiger Cursor: " + token);
+    }
+  }
+
+}
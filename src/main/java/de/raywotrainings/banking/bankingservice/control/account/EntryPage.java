@@ -0,0 +1,12 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import java.util.List;
+
+/**
+ * A page of entries in the order of entry date and id.
+ *
+ * @param nextCursor opaque token to read the following page, {@code null} if
+ *                   this is the last page
+ */
+public record EntryPage(List<Entry> entries, String nextCursor) {
+}
@@ -0,0 +1,134 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+/**
+ * Computes and verifies IBAN check digits (ISO 13616, mod 97).
+ * <p>
+ * The check treats the IBAN as one large number, with letters replaced by
+ * two digits (A = 10 ... Z = 35). Instead of building that number, the
+ * remainder is carried along character by character in an {@code int}, which
+ * keeps the check free of allocations.
+ */
+public final class IbanCodec {
+
+  private static final int MIN_LENGTH = 15;
+  private static final int MAX_LENGTH = 34;
+
+  private IbanCodec() {
+  }
+
+
+  /**
+   * Builds the IBAN for a bank code and an account number, which is padded to
+   * ten digits.
+   */
+  public static String generate(String countryCode, String bankCode, long accountNumber) {
+    if (accountNumber < 0 || accountNumber > AccountNumberAllocator.MAX_ACCOUNT_NUMBER) {
+      throw new IllegalArgumentException("account number must have at most 10 digits");
+    }
+
+    char[] iban = new char[4 + bankCode.length() + 10];
+    iban[0] = countryCode.charAt(0);
+    iban[1] = countryCode.charAt(1);
+    bankCode.getChars(0, bankCode.length(), iban, 4);
+
+    for (int i = iban.length - 1; i >= 4 + bankCode.length(); i--) {
+      iban[i] = (char) ('0' + accountNumber % 10);
+      accountNumber /= 10;
+    }
+
+    int checkDigits = checkDigits(countryCode, mod97(0, iban, 4, iban.length));
+    iban[2] = (char) ('0' + checkDigits / 10);
+    iban[3] = (char) ('0' + checkDigits % 10);
+
+    return new String(iban);
+  }
+
+
+  /**
+   * Returns the check digits for the given country code and BBAN, a number
+   * between 2 and 98.
+   */
+  public static int checkDigits(CharSequence countryCode, CharSequence bban) {
+    return checkDigits(countryCode, mod97(0, bban, 0, bban.length()));
+  }
+
+
+  /**
+   * Tells whether the value is a well-formed IBAN with correct check digits:
+   * two upper case letters, two digits and up to 30 upper case letters or
+   * digits.
+   */
+  public static boolean isValid(CharSequence iban) {
+    if (iban == null || iban.length() < MIN_LENGTH || iban.length() > MAX_LENGTH) {
+      return false;
+    }
+
+    if (!isLetter(iban.charAt(0)) || !isLetter(iban.charAt(1))
+        || !isDigit(iban.charAt(2)) || !isDigit(iban.charAt(3))) {
+      return false;
+    }
+
+    for (int i = 4; i < iban.length(); i++) {
+      if (!isDigit(iban.charAt(i)) && !isLetter(iban.charAt(i))) {
+        return false;
+      }
+    }
+
+    // BBAN first, then country code and check digits
+    int remainder = mod97(0, iban, 4, iban.length());
+    remainder = mod97(remainder, iban, 0, 4);
+
+    return remainder == 1;
+  }
+
+
+  /**
+   * @param bbanRemainder the remainder of the BBAN
+   */
+  private static int checkDigits(CharSequence countryCode, int bbanRemainder) {
+    int remainder = mod97(bbanRemainder, countryCode, 0, 2);
+    remainder = remainder * 100 % 97;
+
+    return 98 - remainder;
+  }
+
+
+  private static int mod97(int remainder, CharSequence chars, int from, int to) {
+    for (int i = from; i < to; i++) {
+      remainder = mod97(remainder, chars.charAt(i));
+    }
+
+    return remainder;
+  }
+
+
+  private static int mod97(int remainder, char[] chars, int from, int to) {
+    for (int i = from; i < to; i++) {
+      remainder = mod97(remainder, chars[i]);
+    }
+
+    return remainder;
+  }
+
+
+  private static int mod97(int remainder, char ch) {
+    if (isDigit(ch)) {
+      return (remainder * 10 + (ch - '0')) % 97;
+    } else if (isLetter(ch)) {
+      return (remainder * 100 + (ch - 'A' + 10)) % 97;
+    } else {
+      throw new IllegalArgumentException("IBANs consist of upper case letters and digits only");
+    }
+  }
+
+
+  private static boolean isDigit(char ch) {
+    return ch >= '0' && ch <= '9';
+  }
+
+
+  private static boolean isLetter(char ch) {
+    return ch >= 'A' && ch <= 'Z';
+  }
+
+}
@@ -0,0 +1,7 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+  public IdempotencyKeyReusedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,151 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.configuration.IdempotencyConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.mapper.EntryMapper;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryRepository;
+import de.raywotrainings.banking.bankingservice.entity.account.IdempotencyKeyEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Remembers which entry was booked for an {@code Idempotency-Key}, so a
+ * retried posting returns the original entry instead of booking again.
+ * <p>
+ * Keys are stored in the database within the transaction of the booking, so
+ * they survive restarts and are shared by all instances. The most recent
+ * keys are also kept in memory, at most the configured number, dropping the
+ * least recently used one first.
+ * <p>
+ * A key that is not in memory is not looked up before booking. Its insert
+ * fails if the key is already known, which rolls the booking back; only then
+ * is the earlier entry loaded. A new key therefore costs one insert in the
+ * booking transaction and no extra round trip.
+ */
+@Slf4j
+@Component
+public class IdempotencyKeys {
+
+  private final IdempotencyKeyRepository repo;
+  private final EntryRepository entryRepo;
+  private final EntryMapper mapper;
+  private final IdempotencyConfigurationData config;
+
+  private final LinkedHashMap<String, RecentKey> recent;
+  private final ReentrantLock lock = new ReentrantLock();
+
+
+  public IdempotencyKeys(IdempotencyKeyRepository repo,
+                         EntryRepository entryRepo,
+                         EntryMapper mapper,
+                         IdempotencyConfigurationData config) {
+    this.repo = repo;
+    this.entryRepo = entryRepo;
+    this.mapper = mapper;
+    this.config = config;
+    this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, RecentKey> eldest) {
+        return size() > config.getCacheSize();
+      }
+    };
+  }
+
+
+  /**
+   * Returns the entry booked for the key if the key was used recently on this
+   * instance.
+   */
+  Optional<Entry> findRecent(String key) {
+    final long now = System.nanoTime();
+    lock.lock();
+
+    try {
+      RecentKey found = recent.get(key);
+
+      if (found == null) {
+        return Optional.empty();
+      }
+
+      if (now - found.rememberedAt() > config.getRetention().toNanos()) {
+        recent.remove(key);
+        return Optional.empty();
+      }
+
+      return Optional.of(new Entry(found.entry()));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+
+  /**
+   * Stores the key for the entry about to be booked. Must run in the
+   * transaction of the booking. Fails with a
+   * {@link org.springframework.dao.DataIntegrityViolationException} if the
+   * key is already known.
+   */
+  void record(String key, Entry entry) {
+    repo.saveAndFlush(new IdempotencyKeyEntity(key, entry.getIban(), entry.getId(), ZonedDateTime.now()));
+  }
+
+
+  /**
+   * Keeps the key in memory. Call only after the booking was committed.
+   */
+  void remember(String key, Entry booked) {
+    lock.lock();
+
+    try {
+      recent.put(key, new RecentKey(new Entry(booked), System.nanoTime()));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+
+  /**
+   * Loads the entry booked for the key from the database.
+   */
+  Optional<Entry> load(String key) {
+    return repo.findById(key)
+        .flatMap(known -> entryRepo.findById(known.getEntryId()))
+        .map(mapper::map);
+  }
+
+
+  /**
+   * Forgets all keys kept in memory. The keys in the database stay valid.
+   */
+  void clearRecent() {
+    lock.lock();
+
+    try {
+      recent.clear();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+
+  @Scheduled(cron = "${bank.idempotency.cleanup-cron}", zone = "${bank.time-zone}")
+  @Transactional
+  public void deleteExpired() {
+    int deleted = repo.deleteCreatedBefore(ZonedDateTime.now().minus(config.getRetention()));
+
+    log.info("Deleted {} expired idempotency keys", deleted);
+  }
+
+
+  private record RecentKey(Entry entry, long rememberedAt) {
+  }
+
+}
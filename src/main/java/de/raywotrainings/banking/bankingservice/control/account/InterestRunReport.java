@@ -0,0 +1,24 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import java.time.Duration;
+import java.time.YearMonth;
+
+/**
+ * Outcome of an interest run.
+ *
+ * @param accounts     accounts processed, including those without interest
+ * @param credited     accounts that were credited interest
+ * @param failedChunks chunks left unprocessed, picked up by the next run
+ */
+public record InterestRunReport(YearMonth period,
+                                int accounts,
+                                int credited,
+                                int chunks,
+                                int failedChunks,
+                                Duration elapsed) {
+
+  public double accountsPerSecond() {
+    return accounts / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+  }
+
+}
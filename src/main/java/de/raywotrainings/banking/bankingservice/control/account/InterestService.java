@@ -0,0 +1,401 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.configuration.BankConfigurationData;
+import de.raywotrainings.banking.bankingservice.configuration.InterestConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.change.ChangeFeed;
+import de.raywotrainings.banking.bankingservice.control.mapper.EntryMapper;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryRepository;
+import de.raywotrainings.banking.bankingservice.entity.account.SavingsAccountEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.SavingsAccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Credits the monthly interest of savings accounts.
+ * <p>
+ * Interest is calculated with the daily balance method: the balance at the
+ * end of every day of the month is multiplied by the daily rate (annual rate
+ * divided by the days of the year) and the sum is rounded once per account.
+ * <p>
+ * The accounts due are split into chunks of consecutive IBANs which are
+ * processed in parallel on a fork-join pool. Each chunk is loaded, credited
+ * and committed in a transaction of its own and marks its accounts as paid
+ * for the month. A run that was interrupted, or a chunk that failed, is
+ * therefore simply continued by running again for the same month.
+ * Otherwise the next month's run catches up: every account is credited
+ * each month after the one it was last paid for, up to the month of the
+ * run.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class InterestService {
+
+  private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+  private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+  private final SavingsAccountRepository savingsAccountRepo;
+  private final EntryRepository entryRepo;
+  private final EntryMapper entryMapper;
+  private final BalanceHistoryService balanceHistory;
+  private final ChangeFeed changeFeed;
+  private final TransactionTemplate transactionTemplate;
+  private final InterestConfigurationData interestConfig;
+  private final BankConfigurationData bankConfig;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+
+
+  @Scheduled(cron = "${bank.interest.savings-cron}", zone = "${bank.time-zone}")
+  public void creditPreviousMonth() {
+    creditInterest(YearMonth.now(bankConfig.getTimeZone()).minusMonths(1));
+  }
+
+
+  public InterestRunReport creditInterest(YearMonth period) {
+    if (!running.compareAndSet(false, true)) {
+      throw new IllegalStateException("Es läuft bereits eine Zinsberechnung.");
+    }
+
+    try {
+      return run(period);
+    } finally {
+      running.set(false);
+    }
+  }
+
+
+  private InterestRunReport run(YearMonth period) {
+    final long started = System.nanoTime();
+    List<Chunk> chunks = findChunksDue(period.atEndOfMonth());
+    Progress progress = new Progress(period, chunks.size(), started);
+
+    log.info("Crediting interest for {}: {} chunks of up to {} accounts on {} threads",
+        period, chunks.size(), interestConfig.getChunkSize(), interestConfig.getParallelism());
+
+    if (!chunks.isEmpty()) {
+      ForkJoinPool pool = new ForkJoinPool(interestConfig.getParallelism());
+
+      try {
+        pool.invoke(new ChunkTask(period, chunks, 0, chunks.size(), progress));
+      } finally {
+        pool.shutdown();
+      }
+    }
+
+    InterestRunReport report = new InterestRunReport(
+        period,
+        progress.accounts.get(),
+        progress.credited.get(),
+        chunks.size(),
+        progress.failedChunks.get(),
+        Duration.ofNanos(System.nanoTime() - started)
+    );
+
+    log.info("Credited interest for {}: {} accounts, {} credited, {} of {} chunks failed, {} ms, {} accounts/s",
+        period, report.accounts(), report.credited(), report.failedChunks(), report.chunks(),
+        report.elapsed().toMillis(), Math.round(report.accountsPerSecond()));
+
+    if (report.elapsed().compareTo(interestConfig.getTimeBudget()) > 0) {
+      log.warn("Interest run for {} took {} and exceeded its budget of {}",
+          period, report.elapsed(), interestConfig.getTimeBudget());
+    }
+
+    return report;
+  }
+
+
+  /**
+   * Walks the IBANs of the accounts due and only keeps the first and last IBAN
+   * of every chunk, so the run does not hold all IBANs in memory.
+   */
+  private List<Chunk> findChunksDue(LocalDate until) {
+    final int chunkSize = interestConfig.getChunkSize();
+    List<Chunk> chunks = new ArrayList<>();
+    String lastIban = "";
+
+    while (true) {
+      List<String> ibans = savingsAccountRepo.findIbansDueForInterest(lastIban, until, Limit.of(chunkSize));
+
+      if (ibans.isEmpty()) {
+        break;
+      }
+
+      chunks.add(new Chunk(ibans.getFirst(), ibans.getLast()));
+
+      if (ibans.size() < chunkSize) {
+        break;
+      }
+
+      lastIban = ibans.getLast();
+    }
+
+    return chunks;
+  }
+
+
+  private void processChunk(YearMonth period, Chunk chunk, Progress progress) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        ChunkResult result = transactionTemplate.execute(status -> creditChunk(period, chunk));
+        progress.chunkDone(Objects.requireNonNull(result));
+
+        return;
+      } catch (ConcurrencyFailureException e) {
+        // A posting changed one of the accounts in the meantime. The chunk is
+        // rolled back as a whole, so it can be calculated again.
+        if (attempt == MAX_CHUNK_ATTEMPTS) {
+          progress.chunkFailed(chunk, e);
+
+          return;
+        }
+      } catch (RuntimeException e) {
+        progress.chunkFailed(chunk, e);
+
+        return;
+      }
+    }
+  }
+
+
+  private ChunkResult creditChunk(YearMonth period, Chunk chunk) {
+    final ZoneId zone = bankConfig.getTimeZone();
+    final LocalDate lastDay = period.atEndOfMonth();
+
+    List<SavingsAccountEntity> accounts =
+        savingsAccountRepo.findDueForInterest(chunk.firstIban(), chunk.lastIban(), lastDay);
+
+    if (accounts.isEmpty()) {
+      return new ChunkResult(0, 0);
+    }
+
+    final YearMonth earliest = accounts.stream()
+        .map(account -> firstMonthDue(account, period))
+        .min(Comparator.naturalOrder())
+        .orElse(period);
+
+    Map<String, List<EntryEntity>> entriesByIban = entryRepo
+        .findAllSince(accounts.stream().map(SavingsAccountEntity::getIban).toList(),
+            earliest.atDay(1).atStartOfDay(zone))
+        .stream()
+        .collect(Collectors.groupingBy(EntryEntity::getIban));
+
+    List<EntryEntity> postings = new ArrayList<>();
+
+    for (SavingsAccountEntity account : accounts) {
+      List<EntryEntity> entries = new ArrayList<>(entriesByIban.getOrDefault(account.getIban(), List.of()));
+
+      for (YearMonth month = firstMonthDue(account, period); !month.isAfter(period); month = month.plusMonths(1)) {
+        final ZonedDateTime monthStart = month.atDay(1).atStartOfDay(zone);
+        BigDecimal interest = calculateInterest(
+            month,
+            account.getBalance(),
+            account.getInterestRate(),
+            entries.subList(firstIndexFrom(entries, monthStart), entries.size())
+        );
+
+        if (interest.signum() > 0) {
+          ZonedDateTime postingDate = month.atEndOfMonth().atTime(23, 59, 59).atZone(zone);
+          Entry posting = new Entry(account.getIban(), "Zinsgutschrift " + month, postingDate, Money.of(interest),
+              Entry.Type.DEPOSIT);
+          EntryEntity postingEntity = entryMapper.map(posting);
+
+          postings.add(postingEntity);
+          balanceHistory.entryBooked(posting);
+          changeFeed.entryBooked(posting);
+          account.setBalance(account.getBalance().add(interest));
+          // later months start from a balance that includes this interest
+          entries.add(firstIndexFrom(entries, postingDate.plusSeconds(1)), postingEntity);
+        }
+      }
+
+      account.setInterestPaidUntil(lastDay);
+    }
+
+    entryRepo.saveAll(postings);
+
+    return new ChunkResult(accounts.size(), postings.size());
+  }
+
+
+  /**
+   * The month after the one the account was last paid for. Accounts that
+   * were never paid start with the given period, as their opening date is
+   * not known.
+   */
+  private static YearMonth firstMonthDue(SavingsAccountEntity account, YearMonth period) {
+    return account.getInterestPaidUntil() != null
+        ? YearMonth.from(account.getInterestPaidUntil()).plusMonths(1)
+        : period;
+  }
+
+
+  /**
+   * The index of the first entry dated at or after the given time, in
+   * entries ordered by entry date.
+   */
+  private static int firstIndexFrom(List<EntryEntity> entries, ZonedDateTime from) {
+    int index = 0;
+
+    while (index < entries.size() && entries.get(index).getEntryDate().isBefore(from)) {
+      index++;
+    }
+
+    return index;
+  }
+
+
+  /**
+   * Calculates the interest of one account for the given month.
+   *
+   * @param currentBalance the balance now
+   * @param entries        the entries of the account from the start of the
+   *                       month until now, ordered by entry date
+   */
+  BigDecimal calculateInterest(YearMonth period,
+                               BigDecimal currentBalance,
+                               BigDecimal annualRate,
+                               List<EntryEntity> entries) {
+    final ZoneId zone = bankConfig.getTimeZone();
+    BigDecimal balance = currentBalance;
+
+    for (EntryEntity entry : entries) {
+      balance = balance.subtract(signedAmount(entry));
+    }
+
+    // balance is now the opening balance of the month
+    BigDecimal sumOfDailyBalances = BigDecimal.ZERO;
+    int next = 0;
+
+    for (LocalDate day = period.atDay(1); !day.isAfter(period.atEndOfMonth()); day = day.plusDays(1)) {
+      while (next < entries.size()
+          && !entries.get(next).getEntryDate().withZoneSameInstant(zone).toLocalDate().isAfter(day)) {
+        balance = balance.add(signedAmount(entries.get(next++)));
+      }
+
+      sumOfDailyBalances = sumOfDailyBalances.add(balance);
+    }
+
+    return sumOfDailyBalances
+        .multiply(annualRate)
+        .divide(HUNDRED.multiply(BigDecimal.valueOf(period.lengthOfYear())), 2, RoundingMode.HALF_EVEN);
+  }
+
+
+  private static BigDecimal signedAmount(EntryEntity entry) {
+    return entry.getType() == EntryEntity.Type.DEPOSIT
+        ? entry.getAmount()
+        : entry.getAmount().negate();
+  }
+
+
+  private record Chunk(String firstIban, String lastIban) {
+  }
+
+
+  private record ChunkResult(int accounts, int credited) {
+  }
+
+
+  private static final class Progress {
+
+    private final YearMonth period;
+    private final int chunks;
+    private final long started;
+
+    private final AtomicInteger done = new AtomicInteger();
+    private final AtomicInteger failedChunks = new AtomicInteger();
+    private final AtomicInteger accounts = new AtomicInteger();
+    private final AtomicInteger credited = new AtomicInteger();
+
+
+    Progress(YearMonth period, int chunks, long started) {
+      this.period = period;
+      this.chunks = chunks;
+      this.started = started;
+    }
+
+
+    void chunkDone(ChunkResult result) {
+      int total = accounts.addAndGet(result.accounts());
+      credited.addAndGet(result.credited());
+      report(done.incrementAndGet(), total);
+    }
+
+
+    void chunkFailed(Chunk chunk, RuntimeException e) {
+      failedChunks.incrementAndGet();
+      log.warn("Interest for {} on accounts {} to {} failed, the next run credits it as well: {}",
+          period, chunk.firstIban(), chunk.lastIban(), e.getMessage());
+      report(done.incrementAndGet(), accounts.get());
+    }
+
+
+    private void report(int doneChunks, int doneAccounts) {
+      if (doneChunks % 10 != 0 && doneChunks != chunks) {
+        return;
+      }
+
+      double seconds = Math.max(System.nanoTime() - started, 1) / 1e9;
+      log.info("Interest for {}: {} of {} chunks, {} accounts, {} accounts/s",
+          period, doneChunks, chunks, doneAccounts, Math.round(doneAccounts / seconds));
+    }
+  }
+
+
+  /**
+   * Splits its range of chunks in halves until a single chunk is left, which
+   * is then processed.
+   */
+  private final class ChunkTask extends RecursiveAction {
+
+    private final YearMonth period;
+    private final List<Chunk> chunks;
+    private final int from;
+    private final int to;
+    private final Progress progress;
+
+
+    ChunkTask(YearMonth period, List<Chunk> chunks, int from, int to, Progress progress) {
+      this.period = period;
+      this.chunks = chunks;
+      this.from = from;
+      this.to = to;
+      this.progress = progress;
+    }
+
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        processChunk(period, chunks.get(from), progress);
+
+        return;
+      }
+
+      int middle = (from + to) >>> 1;
+      invokeAll(
+          new ChunkTask(period, chunks, from, middle, progress),
+          new ChunkTask(period, chunks, middle, to, progress)
+      );
+    }
+  }
+
+}
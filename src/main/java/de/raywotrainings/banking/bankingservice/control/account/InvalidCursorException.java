@@ -0,0 +1,7 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+public class InvalidCursorException extends RuntimeException {
+  public InvalidCursorException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,7 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+public class InvalidTransferException extends RuntimeException {
+  public InvalidTransferException(String message) {
+    super(message);
+  }
+}
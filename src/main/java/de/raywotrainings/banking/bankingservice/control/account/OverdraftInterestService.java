@@ -0,0 +1,308 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.configuration.BankConfigurationData;
+import de.raywotrainings.banking.bankingservice.configuration.InterestConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.change.ChangeFeed;
+import de.raywotrainings.banking.bankingservice.control.mapper.EntryMapper;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import de.raywotrainings.banking.bankingservice.entity.account.CurrentAccountEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.CurrentAccountRepository;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Charges overdraft interest on current accounts with a negative balance at
+ * the end of a day.
+ * <p>
+ * The job runs every night for the previous day. Only the IBANs of accounts
+ * that may have been overdrawn are read, from a database cursor, and handed
+ * on in batches. Each batch loads its accounts and their recent entries,
+ * charges them and commits in a transaction of its own, with balance updates
+ * and entry inserts sent as JDBC batches. Memory use is bounded by the batch
+ * size, not by the number of accounts.
+ * <p>
+ * Charged accounts are marked with the day. Days the job has missed, after a
+ * failed batch or run, are charged by the next run, up to
+ * {@code bank.interest.overdraft-catch-up-days} back.
+ */
+@Slf4j
+@Service
+public class OverdraftInterestService {
+
+  private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+  private static final int MAX_BATCH_ATTEMPTS = 3;
+
+  private final CurrentAccountRepository currentAccountRepo;
+  private final EntryRepository entryRepo;
+  private final EntryMapper entryMapper;
+  private final BalanceHistoryService balanceHistory;
+  private final ChangeFeed changeFeed;
+  private final InterestConfigurationData interestConfig;
+  private final BankConfigurationData bankConfig;
+  private final TransactionTemplate readTransaction;
+  private final TransactionTemplate batchTransaction;
+
+  private final Counter accountsScanned;
+  private final Counter entriesPosted;
+  private final Timer runTimer;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+
+
+  public OverdraftInterestService(CurrentAccountRepository currentAccountRepo,
+                                  EntryRepository entryRepo,
+                                  EntryMapper entryMapper,
+                                  BalanceHistoryService balanceHistory,
+                                  ChangeFeed changeFeed,
+                                  InterestConfigurationData interestConfig,
+                                  BankConfigurationData bankConfig,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+    this.currentAccountRepo = currentAccountRepo;
+    this.entryRepo = entryRepo;
+    this.entryMapper = entryMapper;
+    this.balanceHistory = balanceHistory;
+    this.changeFeed = changeFeed;
+    this.interestConfig = interestConfig;
+    this.bankConfig = bankConfig;
+
+    this.readTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction.setReadOnly(true);
+    this.batchTransaction = new TransactionTemplate(transactionManager);
+    this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    this.accountsScanned = Counter.builder("bank.overdraft-interest.accounts.scanned")
+        .description("Overdrawn current accounts read by the overdraft interest job")
+        .register(meterRegistry);
+    this.entriesPosted = Counter.builder("bank.overdraft-interest.entries.posted")
+        .description("Overdraft interest entries posted")
+        .register(meterRegistry);
+    this.runTimer = Timer.builder("bank.overdraft-interest.run")
+        .description("Duration of overdraft interest job runs")
+        .register(meterRegistry);
+  }
+
+
+  @Scheduled(cron = "${bank.interest.overdraft-cron}", zone = "${bank.time-zone}")
+  public void chargePreviousDay() {
+    chargeInterest(LocalDate.now(bankConfig.getTimeZone()).minusDays(1));
+  }
+
+
+  public void chargeInterest(LocalDate day) {
+    if (!running.compareAndSet(false, true)) {
+      throw new IllegalStateException("Die Überziehungszinsen werden bereits berechnet.");
+    }
+
+    try {
+      runTimer.record(() -> run(day));
+    } finally {
+      running.set(false);
+    }
+  }
+
+
+  private void run(LocalDate day) {
+    final int batchSize = interestConfig.getOverdraftBatchSize();
+    final long started = System.nanoTime();
+    AtomicInteger scanned = new AtomicInteger();
+    AtomicInteger posted = new AtomicInteger();
+
+    log.info("Charging overdraft interest for {}", day);
+
+    readTransaction.executeWithoutResult(status -> {
+      try (Stream<String> ibans =
+               currentAccountRepo.streamIbansDueForOverdraftInterest(day, startOfDay(firstDayCharged(day).plusDays(1)))) {
+        List<String> batch = new ArrayList<>(batchSize);
+
+        ibans.forEach(iban -> {
+          scanned.incrementAndGet();
+          accountsScanned.increment();
+          batch.add(iban);
+
+          if (batch.size() == batchSize) {
+            posted.addAndGet(chargeBatch(day, batch));
+            batch.clear();
+          }
+        });
+
+        if (!batch.isEmpty()) {
+          posted.addAndGet(chargeBatch(day, batch));
+        }
+      }
+    });
+
+    log.info("Charged overdraft interest for {}: {} accounts scanned, {} entries posted, {} ms",
+        day, scanned.get(), posted.get(), (System.nanoTime() - started) / 1_000_000);
+  }
+
+
+  private int chargeBatch(LocalDate day, List<String> ibans) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        Integer charged = batchTransaction.execute(status -> charge(day, ibans));
+        entriesPosted.increment(charged);
+
+        return charged;
+      } catch (ConcurrencyFailureException e) {
+        // A posting changed one of the accounts in the meantime. The batch was
+        // rolled back as a whole and is charged again with fresh balances.
+        if (attempt == MAX_BATCH_ATTEMPTS) {
+          log.warn("Overdraft interest for {} on {} accounts failed and is left for the next run: {}",
+              day, ibans.size(), e.getMessage());
+
+          return 0;
+        }
+      }
+    }
+  }
+
+
+  /**
+   * Loads the accounts again within the write transaction: a posting made
+   * since the IBAN was read may have changed the balance. Every day due is
+   * charged on the balance at its end, which is the current balance without
+   * the entries dated after that day, and without the interest charged for
+   * it here.
+   * <p>
+   * The accounts are read before their entries, as in
+   * {@link InterestService}. A posting committed after the accounts were read
+   * may be part of the entries but not of the balance. It increments the
+   * account version, so the batch fails the optimistic check at commit and is
+   * charged again, also when the account was not charged.
+   */
+  private int charge(LocalDate day, List<String> ibans) {
+    final LocalDate firstDay = firstDayCharged(day);
+    List<EntryEntity> charges = new ArrayList<>();
+
+    List<CurrentAccountEntity> accounts = currentAccountRepo.findAllForOverdraftInterest(ibans);
+
+    if (accounts.isEmpty()) {
+      return 0;
+    }
+
+    Map<String, List<EntryEntity>> entriesByIban = entryRepo
+        .findAllSince(accounts.stream().map(CurrentAccountEntity::getIban).toList(),
+            startOfDay(firstDay.plusDays(1)))
+        .stream()
+        .collect(Collectors.groupingBy(EntryEntity::getIban));
+
+    for (CurrentAccountEntity account : accounts) {
+      final BigDecimal currentBalance = account.getBalance();
+      List<EntryEntity> entries = entriesByIban.getOrDefault(account.getIban(), List.of());
+      BigDecimal charged = BigDecimal.ZERO;
+      boolean overdrawn = false;
+
+      for (LocalDate dueDay = firstDayDue(account, firstDay); !dueDay.isAfter(day); dueDay = dueDay.plusDays(1)) {
+        BigDecimal balance = balanceAtEndOf(dueDay, currentBalance, entries).subtract(charged);
+
+        if (balance.signum() >= 0) {
+          continue;
+        }
+
+        BigDecimal interest = dailyInterest(balance, account.getOverdraftInterestRate(), dueDay);
+        overdrawn = true;
+
+        if (interest.signum() > 0) {
+          Entry charge = new Entry(account.getIban(), "Überziehungszinsen " + dueDay,
+              dueDay.atTime(23, 59, 59).atZone(bankConfig.getTimeZone()), Money.of(interest), Entry.Type.WITHDRAW);
+
+          charges.add(entryMapper.map(charge));
+          balanceHistory.entryBooked(charge);
+          changeFeed.entryBooked(charge);
+          charged = charged.add(interest);
+        }
+      }
+
+      if (overdrawn) {
+        account.setOverdraftInterestChargedUntil(day);
+        account.setBalance(currentBalance.subtract(charged));
+      }
+    }
+
+    entryRepo.saveAll(charges);
+
+    return charges.size();
+  }
+
+
+  /**
+   * The first day of the catch-up window that ends with the given day.
+   */
+  private LocalDate firstDayCharged(LocalDate day) {
+    return day.minusDays(Math.max(interestConfig.getOverdraftCatchUpDays(), 1) - 1L);
+  }
+
+
+  /**
+   * The day after the one the account was last charged for, but not before
+   * the first day of the catch-up window. Returns a day after {@code day} if
+   * the account has been charged for it in the meantime.
+   */
+  private static LocalDate firstDayDue(CurrentAccountEntity account, LocalDate firstDay) {
+    LocalDate chargedUntil = account.getOverdraftInterestChargedUntil();
+
+    return chargedUntil != null && !chargedUntil.isBefore(firstDay)
+        ? chargedUntil.plusDays(1)
+        : firstDay;
+  }
+
+
+  /**
+   * The balance at the end of the given day, the same as
+   * {@link BalanceHistoryService#getBalanceAt} returns for the last instant of
+   * the day.
+   *
+   * @param entries the entries of the account from the start of the day
+   *                after the first day due until now
+   */
+  private BigDecimal balanceAtEndOf(LocalDate day, BigDecimal currentBalance, List<EntryEntity> entries) {
+    final ZonedDateTime endOfDay = startOfDay(day.plusDays(1));
+    BigDecimal balance = currentBalance;
+
+    for (EntryEntity entry : entries) {
+      if (!entry.getEntryDate().isBefore(endOfDay)) {
+        balance = entry.getType() == EntryEntity.Type.DEPOSIT
+            ? balance.subtract(entry.getAmount())
+            : balance.add(entry.getAmount());
+      }
+    }
+
+    return balance;
+  }
+
+
+  private ZonedDateTime startOfDay(LocalDate day) {
+    return day.atStartOfDay(bankConfig.getTimeZone());
+  }
+
+
+  private static BigDecimal dailyInterest(BigDecimal balance, BigDecimal annualRate, LocalDate day) {
+    return balance.negate()
+        .multiply(annualRate)
+        .divide(HUNDRED.multiply(BigDecimal.valueOf(day.lengthOfYear())), 2, RoundingMode.HALF_EVEN);
+  }
+
+}
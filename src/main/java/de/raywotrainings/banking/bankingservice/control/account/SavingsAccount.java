@@ -1,25 +1,28 @@
 package de.raywotrainings.banking.bankingservice.control.account;
 
 import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Setter
 @Getter
 public class SavingsAccount extends Account {
   private BigDecimal interestRate;
+  private LocalDate interestPaidUntil;
 
 
   public SavingsAccount(String iban, Client owner) {
-    this(iban, owner, BigDecimal.ZERO, BigDecimal.ZERO);
+    this(iban, owner, Money.ZERO, BigDecimal.ZERO);
   }
 
 
   public SavingsAccount(String iban,
                         Client owner,
-                        BigDecimal balance,
+                        Money balance,
                         BigDecimal interestRate) {
     super(iban, owner, balance);
     this.interestRate = interestRate;
@@ -29,6 +32,7 @@ public class SavingsAccount extends Account {
   public SavingsAccount(SavingsAccount other) {
     super(other);
     this.interestRate = other.interestRate;
+    this.interestPaidUntil = other.interestPaidUntil;
   }
 
 
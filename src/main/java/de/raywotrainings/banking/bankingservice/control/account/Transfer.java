@@ -0,0 +1,10 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import java.util.UUID;
+
+/**
+ * A booked transfer: the withdrawal from the source account and the deposit
+ * to the target account, linked by the id of the transfer.
+ */
+public record Transfer(UUID id, Entry debit, Entry credit) {
+}
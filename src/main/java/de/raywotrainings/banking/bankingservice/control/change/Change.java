@@ -0,0 +1,23 @@
+package de.raywotrainings.banking.bankingservice.control.change;
+
+import java.time.ZonedDateTime;
+
+/**
+ * An entry of the change feed.
+ *
+ * @param subject IBAN of the account or id of the client that changed
+ * @param payload the changed state as JSON
+ */
+public record Change(long sequenceNumber,
+                     Type type,
+                     String subject,
+                     String payload,
+                     ZonedDateTime recordedAt) {
+
+  public enum Type {
+    ENTRY_BOOKED,
+    ACCOUNT_OPENED, ACCOUNT_UPDATED, ACCOUNT_CLOSED,
+    CLIENT_CREATED, CLIENT_UPDATED, CLIENT_DELETED
+  }
+
+}
@@ -0,0 +1,280 @@
+package de.raywotrainings.banking.bankingservice.control.change;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.raywotrainings.banking.bankingservice.configuration.ChangeFeedConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.account.Account;
+import de.raywotrainings.banking.bankingservice.control.account.AccountOwnerEvent;
+import de.raywotrainings.banking.bankingservice.control.account.CurrentAccount;
+import de.raywotrainings.banking.bankingservice.control.account.Entry;
+import de.raywotrainings.banking.bankingservice.control.account.EntryBookedEvent;
+import de.raywotrainings.banking.bankingservice.control.account.SavingsAccount;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.entity.change.ChangeCounterEntity;
+import de.raywotrainings.banking.bankingservice.entity.change.ChangeCounterRepository;
+import de.raywotrainings.banking.bankingservice.entity.change.ChangeEntity;
+import de.raywotrainings.banking.bankingservice.entity.change.ChangeRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records every change of accounts, entries and clients, so other systems
+ * can follow them instead of reading everything again.
+ * <p>
+ * Changes are written in the transaction that makes them: a change is in
+ * the feed if and only if it was committed. Consumers resume by asking for
+ * the changes after the last sequence number they have seen.
+ * <p>
+ * Sequence numbers are not taken when a change is written, as transactions
+ * commit in a different order than they write. Instead, committed changes
+ * are numbered shortly afterwards, in a transaction holding the counter row
+ * of the feed. A change committed later always gets a higher number than
+ * those already read, however long its transaction took, and rolled back
+ * changes never leave gaps.
+ */
+@Slf4j
+@Service
+public class ChangeFeed {
+
+  private final ChangeRepository repo;
+  private final ChangeCounterRepository counterRepo;
+  private final ObjectMapper objectMapper;
+  private final ChangeFeedConfigurationData config;
+  private final ApplicationEventPublisher events;
+  private final TransactionTemplate numberingTransaction;
+
+
+  public ChangeFeed(ChangeRepository repo,
+                    ChangeCounterRepository counterRepo,
+                    ObjectMapper objectMapper,
+                    ChangeFeedConfigurationData config,
+                    ApplicationEventPublisher events,
+                    PlatformTransactionManager transactionManager) {
+    this.repo = repo;
+    this.counterRepo = counterRepo;
+    this.objectMapper = objectMapper;
+    this.config = config;
+    this.events = events;
+    this.numberingTransaction = new TransactionTemplate(transactionManager);
+    this.numberingTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+
+  /**
+   * Reads the changes after the given sequence number, in order.
+   *
+   * @param limit maximum number of changes, or {@code null} for the default
+   *              page size
+   */
+  public List<Change> getChanges(long after, Integer limit) {
+    final int pageSize = limit == null
+        ? config.getDefaultPageSize()
+        : Math.min(Math.max(limit, 1), config.getMaxPageSize());
+
+    return repo.findBySequenceNumberGreaterThanOrderBySequenceNumber(after, Limit.of(pageSize))
+        .stream()
+        .map(ChangeFeed::map)
+        .toList();
+  }
+
+
+  /**
+   * Numbers the changes committed since the last run. Changes committed
+   * while this runs are left for the next run.
+   */
+  @Scheduled(fixedDelayString = "${bank.changes.numbering-interval}")
+  public void numberChanges() {
+    final int batchSize = config.getNumberingBatchSize();
+    int numbered;
+
+    do {
+      numbered = numberBatch(batchSize);
+    } while (numbered == batchSize);
+  }
+
+
+  private int numberBatch(int batchSize) {
+    try {
+      return numberingTransaction.execute(status -> numberBatchFromCounter(batchSize));
+    } catch (DataIntegrityViolationException e) {
+      // Another instance created the counter row at the same time. The row
+      // exists now, so the second attempt takes the locking path.
+      return numberingTransaction.execute(status -> numberBatchFromCounter(batchSize));
+    }
+  }
+
+
+  /**
+   * Reads the changes only after the counter row is locked, so it sees the
+   * numbers assigned by any other instance that held it before.
+   */
+  private int numberBatchFromCounter(int batchSize) {
+    ChangeCounterEntity counter = counterRepo.findForUpdate(ChangeCounterEntity.FEED)
+        .orElseGet(() -> counterRepo.saveAndFlush(new ChangeCounterEntity(ChangeCounterEntity.FEED, 1L)));
+
+    List<ChangeEntity> changes = repo.findUnnumbered(Limit.of(batchSize));
+    long next = counter.getNextSequenceNumber();
+
+    for (ChangeEntity change : changes) {
+      change.setSequenceNumber(next++);
+    }
+
+    counter.setNextSequenceNumber(next);
+
+    if (!changes.isEmpty()) {
+      log.debug("Numbered {} changes up to {}", changes.size(), next - 1);
+    }
+
+    return changes.size();
+  }
+
+
+  /**
+   * Also announces the entry to listeners of {@link EntryBookedEvent} once
+   * the transaction is committed.
+   */
+  @Transactional(Transactional.TxType.MANDATORY)
+  public void entryBooked(Entry entry) {
+    events.publishEvent(new EntryBookedEvent(entry));
+    record(ChangeEntity.Type.ENTRY_BOOKED, entry.getIban(), new EntryPayload(
+        entry.getId(),
+        entry.getIban(),
+        entry.getType().toString().toLowerCase(),
+        entry.getAmount().toBigDecimal(),
+        entry.getEntryDate(),
+        entry.getDescription()
+    ));
+  }
+
+
+  /**
+   * Also announces the owner to listeners of {@link AccountOwnerEvent}, like
+   * the account changes below.
+   */
+  @Transactional(Transactional.TxType.MANDATORY)
+  public void accountOpened(Account account) {
+    events.publishEvent(new AccountOwnerEvent(account.getIban(), ownerId(account)));
+    record(ChangeEntity.Type.ACCOUNT_OPENED, account.getIban(), AccountPayload.of(account));
+  }
+
+
+  @Transactional(Transactional.TxType.MANDATORY)
+  public void accountUpdated(Account account) {
+    events.publishEvent(new AccountOwnerEvent(account.getIban(), ownerId(account)));
+    record(ChangeEntity.Type.ACCOUNT_UPDATED, account.getIban(), AccountPayload.of(account));
+  }
+
+
+  @Transactional(Transactional.TxType.MANDATORY)
+  public void accountClosed(String iban) {
+    events.publishEvent(new AccountOwnerEvent(iban, null));
+    record(ChangeEntity.Type.ACCOUNT_CLOSED, iban, new DeletedPayload(iban));
+  }
+
+
+  @Transactional(Transactional.TxType.MANDATORY)
+  public void clientCreated(Client client) {
+    record(ChangeEntity.Type.CLIENT_CREATED, client.getId().toString(), ClientPayload.of(client));
+  }
+
+
+  @Transactional(Transactional.TxType.MANDATORY)
+  public void clientUpdated(Client client) {
+    record(ChangeEntity.Type.CLIENT_UPDATED, client.getId().toString(), ClientPayload.of(client));
+  }
+
+
+  @Transactional(Transactional.TxType.MANDATORY)
+  public void clientDeleted(int id) {
+    record(ChangeEntity.Type.CLIENT_DELETED, String.valueOf(id), new DeletedPayload(String.valueOf(id)));
+  }
+
+
+  private static Integer ownerId(Account account) {
+    return account.getOwner() != null ? account.getOwner().getId() : null;
+  }
+
+
+  private void record(ChangeEntity.Type type, String subject, Object payload) {
+    if (!config.isEnabled()) {
+      return;
+    }
+
+    try {
+      repo.save(new ChangeEntity(type, subject, objectMapper.writeValueAsString(payload), ZonedDateTime.now()));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Die Änderung konnte nicht gespeichert werden.", e);
+    }
+  }
+
+
+  private static Change map(ChangeEntity entity) {
+    return new Change(
+        entity.getSequenceNumber(),
+        Change.Type.valueOf(entity.getType().name()),
+        entity.getSubject(),
+        entity.getPayload(),
+        entity.getRecordedAt()
+    );
+  }
+
+
+  private record EntryPayload(UUID id,
+                              String iban,
+                              String entryType,
+                              BigDecimal amount,
+                              ZonedDateTime entryDate,
+                              String description) {
+  }
+
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private record AccountPayload(String iban,
+                                String accountType,
+                                Integer ownerId,
+                                BigDecimal balance,
+                                BigDecimal overdraftLimit,
+                                BigDecimal overdraftInterestRate,
+                                BigDecimal interestRate) {
+
+    static AccountPayload of(Account account) {
+      final Integer ownerId = account.getOwner() != null ? account.getOwner().getId() : null;
+      final BigDecimal balance = account.getBalance().toBigDecimal();
+
+      return switch (account) {
+        case CurrentAccount current -> new AccountPayload(current.getIban(), "current", ownerId, balance,
+            current.getOverdraftLimit().toBigDecimal(), current.getOverdraftInterestRate(), null);
+        case SavingsAccount savings -> new AccountPayload(savings.getIban(), "savings", ownerId, balance,
+            null, null, savings.getInterestRate());
+        default -> new AccountPayload(account.getIban(), null, ownerId, balance, null, null, null);
+      };
+    }
+  }
+
+
+  private record ClientPayload(Integer id, String firstname, String lastname) {
+
+    static ClientPayload of(Client client) {
+      return new ClientPayload(client.getId(), client.getFirstname(), client.getLastname());
+    }
+  }
+
+
+  private record DeletedPayload(String subject) {
+  }
+
+}
@@ -19,6 +19,11 @@ public class Client {
   }
 
 
+  public Client(Client other) {
+    this(other.id, other.firstname, other.lastname);
+  }
+
+
   public String getFullName() {
     return lastname + ", " + firstname;
   }
@@ -0,0 +1,236 @@
+package de.raywotrainings.banking.bankingservice.control.client;
+
+import de.raywotrainings.banking.bankingservice.configuration.ClientCacheConfigurationData;
+import de.raywotrainings.banking.bankingservice.entity.client.ClientRepository;
+import de.raywotrainings.banking.bankingservice.entity.client.ClientVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Keeps recently used clients in memory.
+ * <p>
+ * The cache holds at most the configured number of clients and drops the
+ * least recently used one when it is full. Entries expire after their time
+ * to live. Changes made through this instance invalidate the entry
+ * immediately. Changes made by other instances are noticed when the entry
+ * expires or, with version polling enabled, when the next poll finds a
+ * different version in the database.
+ * <p>
+ * Callers receive copies, so changing a returned client never changes the
+ * cached one.
+ */
+@Slf4j
+@Component
+public class ClientCache {
+
+  private static final int IDS_PER_POLL_QUERY = 1000;
+
+  private final ClientRepository repo;
+  private final ClientCacheConfigurationData config;
+
+  private final LinkedHashMap<Integer, CachedClient> clients;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /**
+   * Counts invalidations. A client loaded while an invalidation happened may
+   * already be outdated and is not put into the cache.
+   */
+  private final AtomicLong invalidations = new AtomicLong();
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter evictions;
+
+
+  public ClientCache(ClientRepository repo, ClientCacheConfigurationData config, MeterRegistry meterRegistry) {
+    this.repo = repo;
+    this.config = config;
+    this.clients = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, CachedClient> eldest) {
+        if (size() > config.getMaxSize()) {
+          evictions.increment();
+          return true;
+        }
+
+        return false;
+      }
+    };
+
+    this.hits = Counter.builder("bank.client-cache.requests").tag("result", "hit").register(meterRegistry);
+    this.misses = Counter.builder("bank.client-cache.requests").tag("result", "miss").register(meterRegistry);
+    this.evictions = Counter.builder("bank.client-cache.evictions").register(meterRegistry);
+    Gauge.builder("bank.client-cache.size", this, ClientCache::size).register(meterRegistry);
+  }
+
+
+  /**
+   * Returns the cached client or loads it. Returns {@code null} if the loader
+   * does not find the client.
+   */
+  public Client get(int id, Function<Integer, Loaded> loader) {
+    Loaded loaded = lookUpOrLoad(id, loader);
+
+    return loaded != null ? new Client(loaded.client()) : null;
+  }
+
+
+  /**
+   * Returns the version of the cached client or loads the client. It is the
+   * version of the client {@link #get} returns. Returns {@code null} if the
+   * loader does not find the client.
+   */
+  public Long getVersion(int id, Function<Integer, Loaded> loader) {
+    Loaded loaded = lookUpOrLoad(id, loader);
+
+    return loaded != null ? loaded.version() : null;
+  }
+
+
+  public void invalidate(int id) {
+    lock.lock();
+
+    try {
+      invalidations.incrementAndGet();
+      clients.remove(id);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+
+  public int size() {
+    lock.lock();
+
+    try {
+      return clients.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+
+  /**
+   * Drops all cached clients whose version in the database differs from the
+   * cached one or that no longer exist.
+   */
+  @Scheduled(fixedDelayString = "${bank.client-cache.poll-interval:5s}")
+  public void pollVersions() {
+    if (!config.isVersionPolling()) {
+      return;
+    }
+
+    Map<Integer, Long> cachedVersions = new HashMap<>();
+
+    lock.lock();
+
+    try {
+      clients.forEach((id, cached) -> cachedVersions.put(id, cached.version()));
+    } finally {
+      lock.unlock();
+    }
+
+    List<Integer> ids = new ArrayList<>(cachedVersions.keySet());
+    int outdated = 0;
+
+    for (int from = 0; from < ids.size(); from += IDS_PER_POLL_QUERY) {
+      List<Integer> slice = ids.subList(from, Math.min(from + IDS_PER_POLL_QUERY, ids.size()));
+      Map<Integer, Long> currentVersions = new HashMap<>();
+
+      for (ClientVersion version : repo.findVersions(slice)) {
+        currentVersions.put(version.id(), version.version());
+      }
+
+      for (Integer id : slice) {
+        if (!Objects.equals(cachedVersions.get(id), currentVersions.get(id))) {
+          invalidate(id);
+          outdated++;
+        }
+      }
+    }
+
+    if (outdated > 0) {
+      log.debug("Dropped {} outdated clients from the cache", outdated);
+    }
+  }
+
+
+  /**
+   * The returned client may be the cached instance and must not be changed.
+   */
+  private Loaded lookUpOrLoad(int id, Function<Integer, Loaded> loader) {
+    final long now = System.nanoTime();
+    CachedClient cached = lookUp(id, now);
+
+    if (cached != null) {
+      hits.increment();
+      return new Loaded(cached.client(), cached.version());
+    }
+
+    misses.increment();
+
+    final long invalidationsBefore = invalidations.get();
+    Loaded loaded = loader.apply(id);
+
+    if (loaded == null) {
+      return null;
+    }
+
+    store(id, new CachedClient(new Client(loaded.client()), loaded.version(), now), invalidationsBefore);
+
+    return loaded;
+  }
+
+
+  private CachedClient lookUp(int id, long now) {
+    lock.lock();
+
+    try {
+      CachedClient cached = clients.get(id);
+
+      if (cached != null && now - cached.loadedAt() > config.getTimeToLive().toNanos()) {
+        clients.remove(id);
+        evictions.increment();
+        return null;
+      }
+
+      return cached;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+
+  private void store(int id, CachedClient cached, long invalidationsBefore) {
+    lock.lock();
+
+    try {
+      if (invalidations.get() == invalidationsBefore) {
+        clients.put(id, cached);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+
+  /**
+   * A client as loaded from the database, together with its version.
+   */
+  public record Loaded(Client client, Long version) {
+  }
+
+
+  private record CachedClient(Client client, Long version, long loadedAt) {
+  }
+
+}
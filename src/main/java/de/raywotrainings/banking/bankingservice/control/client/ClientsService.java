@@ -1,13 +1,15 @@
 package de.raywotrainings.banking.bankingservice.control.client;
 
+import de.raywotrainings.banking.bankingservice.control.change.ChangeFeed;
 import de.raywotrainings.banking.bankingservice.control.mapper.AccountMapper;
 import de.raywotrainings.banking.bankingservice.control.mapper.ClientMapper;
 import de.raywotrainings.banking.bankingservice.control.shared.NotFoundException;
-import de.raywotrainings.banking.bankingservice.entity.account.AccountEntity;
 import de.raywotrainings.banking.bankingservice.entity.account.AccountRepository;
+import de.raywotrainings.banking.bankingservice.entity.client.ClientEntity;
 import de.raywotrainings.banking.bankingservice.entity.client.ClientRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Collection;
 
@@ -19,6 +21,9 @@ public class ClientsService {
   private final AccountRepository accountRepo;
   private final ClientMapper mapper;
   private final AccountMapper accountMapper;
+  private final ClientCache cache;
+  private final ChangeFeed changeFeed;
+  private final TransactionTemplate transactionTemplate;
 
 
   public Collection<Client> getAllClients() {
@@ -30,11 +35,29 @@ public class ClientsService {
 
 
   public Client getClientById(int id) {
-    validateClientExists(id);
+    Client client = cache.get(id, this::load);
 
-    return repo.findById(id)
-        .map(mapper::map)
-        .get();
+    if (client == null) {
+      throw clientNotFound(id);
+    }
+
+    return client;
+  }
+
+
+  /**
+   * Returns the version of the client, which changes with every change of
+   * the client. Served from the cache like {@link #getClientById}, so both
+   * agree while the client is cached.
+   */
+  public long getClientVersion(int id) {
+    Long version = cache.getVersion(id, this::load);
+
+    if (version == null) {
+      throw clientNotFound(id);
+    }
+
+    return version;
   }
 
 
@@ -43,39 +66,70 @@ public class ClientsService {
       throw new IllegalArgumentException("Beim Anlegen eines Kunden darf keine ID übergeben werden.");
     }
 
-    return mapper.map(repo.save(mapper.map(client)));
+    return transactionTemplate.execute(status -> {
+      Client created = mapper.map(repo.save(mapper.map(client)));
+      changeFeed.clientCreated(created);
+
+      return created;
+    });
   }
 
 
   public void deleteClientById(Integer id) {
     validateClientExists(id);
     validateNoAccountsExists(id);
-    repo.deleteById(id);
+    transactionTemplate.executeWithoutResult(status -> {
+      repo.deleteById(id);
+      changeFeed.clientDeleted(id);
+    });
+    cache.invalidate(id);
   }
 
 
+  /**
+   * The cache is invalidated after the transaction, so it cannot pick up the
+   * old client again before the change is committed.
+   */
   public Client updateClientById(int id, Client client) {
-    validateClientExists(id);
+    try {
+      return transactionTemplate.execute(status -> {
+        ClientEntity entity = repo.findById(id).orElseThrow(() -> clientNotFound(id));
+        entity.setFirstname(client.getFirstname());
+        entity.setLastname(client.getLastname());
+
+        Client updated = mapper.map(repo.save(entity));
+        changeFeed.clientUpdated(updated);
+
+        return updated;
+      });
+    } finally {
+      cache.invalidate(id);
+    }
+  }
 
-    client.setId(id);
 
-    return mapper.map(repo.save(mapper.map(client)));
+  private ClientCache.Loaded load(int id) {
+    return repo.findById(id)
+        .map(entity -> new ClientCache.Loaded(mapper.map(entity), entity.getVersion()))
+        .orElse(null);
   }
 
 
   private void validateClientExists(Integer id) {
     if (!repo.existsById(id)) {
-      throw new NotFoundException("Der Kunde mit der ID " + id
-          + " wurde nicht gefunden.");
+      throw clientNotFound(id);
     }
   }
 
 
-  private void validateNoAccountsExists(Integer id) {
-    Client client = getClientById(id);
-    Collection<AccountEntity> accounts = accountRepo.findAllByOwner(mapper.map(client));
+  private NotFoundException clientNotFound(Integer id) {
+    return new NotFoundException("Der Kunde mit der ID " + id
+        + " wurde nicht gefunden.");
+  }
 
-    if (!accounts.isEmpty()) {
+
+  private void validateNoAccountsExists(Integer id) {
+    if (accountRepo.existsByOwnerId(id)) {
       throw new IllegalStateException("Der Kunde mit der ID " + id
           + " hat bereits Konten und kann deshalb nicht gelöscht werden.");
     }
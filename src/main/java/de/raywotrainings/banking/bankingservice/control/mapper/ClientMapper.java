@@ -2,11 +2,17 @@ package de.raywotrainings.banking.bankingservice.control.mapper;
 
 import de.raywotrainings.banking.bankingservice.control.client.Client;
 import de.raywotrainings.banking.bankingservice.entity.client.ClientEntity;
+import de.raywotrainings.banking.bankingservice.entity.client.ClientRepository;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+@RequiredArgsConstructor
 @Component
 public class ClientMapper {
 
+  private final ClientRepository repo;
+
+
   public Client map(ClientEntity clientEntity) {
     if (clientEntity == null) return null;
 
@@ -29,4 +35,16 @@ public class ClientMapper {
     return entity;
   }
 
+
+  /**
+   * Returns a reference to the stored client, for use as owner of an
+   * account. A client entity built by {@link #map(Client)} carries no
+   * version and would be taken for a new, unsaved client.
+   */
+  public ClientEntity reference(Client client) {
+    if (client == null) return null;
+
+    return repo.getReferenceById(client.getId());
+  }
+
 }
@@ -1,6 +1,7 @@
 package de.raywotrainings.banking.bankingservice.control.mapper;
 
 import de.raywotrainings.banking.bankingservice.control.account.CurrentAccount;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import de.raywotrainings.banking.bankingservice.entity.account.CurrentAccountEntity;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -15,26 +16,34 @@ public class CurrentAccountMapper {
   public CurrentAccount map(CurrentAccountEntity currentAccountEntity) {
     if (currentAccountEntity == null) return null;
 
-    return new CurrentAccount(
+    CurrentAccount currentAccount = new CurrentAccount(
         currentAccountEntity.getIban(),
         clientMapper.map(currentAccountEntity.getOwner()),
-        currentAccountEntity.getBalance(),
-        currentAccountEntity.getOverdraftLimit(),
+        Money.of(currentAccountEntity.getBalance()),
+        Money.of(currentAccountEntity.getOverdraftLimit()),
         currentAccountEntity.getOverdraftInterestRate()
     );
+    currentAccount.setVersion(currentAccountEntity.getVersion());
+    currentAccount.setOverdraftInterestChargedUntil(currentAccountEntity.getOverdraftInterestChargedUntil());
+
+    return currentAccount;
   }
 
 
   public CurrentAccountEntity map(CurrentAccount currentAccount) {
     if (currentAccount == null) return null;
 
-    return new CurrentAccountEntity(
+    CurrentAccountEntity currentAccountEntity = new CurrentAccountEntity(
         currentAccount.getIban(),
-        currentAccount.getBalance(),
-        clientMapper.map(currentAccount.getOwner()),
-        currentAccount.getOverdraftLimit(),
+        currentAccount.getBalance().toBigDecimal(),
+        clientMapper.reference(currentAccount.getOwner()),
+        currentAccount.getOverdraftLimit().toBigDecimal(),
         currentAccount.getOverdraftInterestRate()
     );
+    currentAccountEntity.setVersion(currentAccount.getVersion());
+    currentAccountEntity.setOverdraftInterestChargedUntil(currentAccount.getOverdraftInterestChargedUntil());
+
+    return currentAccountEntity;
   }
 
 }
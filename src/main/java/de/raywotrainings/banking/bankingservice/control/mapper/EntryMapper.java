@@ -1,6 +1,7 @@
 package de.raywotrainings.banking.bankingservice.control.mapper;
 
 import de.raywotrainings.banking.bankingservice.control.account.Entry;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import de.raywotrainings.banking.bankingservice.entity.account.EntryEntity;
 import org.springframework.stereotype.Component;
 
@@ -15,7 +16,7 @@ public class EntryMapper {
         entryEntity.getIban(),
         entryEntity.getDescription(),
         entryEntity.getEntryDate(),
-        entryEntity.getAmount(),
+        Money.of(entryEntity.getAmount()),
         mapType(entryEntity.getType())
     );
   }
@@ -29,7 +30,7 @@ public class EntryMapper {
         entry.getIban(),
         entry.getDescription(),
         entry.getEntryDate(),
-        entry.getAmount(),
+        entry.getAmount().toBigDecimal(),
         mapType(entry.getType())
     );
   }
@@ -1,6 +1,7 @@
 package de.raywotrainings.banking.bankingservice.control.mapper;
 
 import de.raywotrainings.banking.bankingservice.control.account.SavingsAccount;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import de.raywotrainings.banking.bankingservice.entity.account.SavingsAccountEntity;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -15,24 +16,32 @@ public class SavingsAccountMapper {
   public SavingsAccount map(SavingsAccountEntity entity) {
     if (entity == null) return null;
 
-    return new SavingsAccount(
+    SavingsAccount account = new SavingsAccount(
         entity.getIban(),
         clientMapper.map(entity.getOwner()),
-        entity.getBalance(),
+        Money.of(entity.getBalance()),
         entity.getInterestRate()
     );
+    account.setVersion(entity.getVersion());
+    account.setInterestPaidUntil(entity.getInterestPaidUntil());
+
+    return account;
   }
 
 
   public SavingsAccountEntity map(SavingsAccount account) {
     if (account == null) return null;
 
-    return new SavingsAccountEntity(
+    SavingsAccountEntity entity = new SavingsAccountEntity(
         account.getIban(),
-        account.getBalance(),
-        clientMapper.map(account.getOwner()),
+        account.getBalance().toBigDecimal(),
+        clientMapper.reference(account.getOwner()),
         account.getInterestRate()
     );
+    entity.setVersion(account.getVersion());
+    entity.setInterestPaidUntil(account.getInterestPaidUntil());
+
+    return entity;
   }
 
 }
@@ -0,0 +1,116 @@
+package de.raywotrainings.banking.bankingservice.control.shared;
+
+import java.math.BigDecimal;
+
+/**
+ * An amount of money in cents.
+ * <p>
+ * Comparisons and checks work on the {@code long} directly and do not
+ * allocate. Arithmetic throws an {@link ArithmeticException} instead of
+ * silently overflowing.
+ */
+public final class Money implements Comparable<Money> {
+
+  public static final int SCALE = 2;
+  public static final Money ZERO = new Money(0);
+
+  private final long cents;
+
+
+  private Money(long cents) {
+    this.cents = cents;
+  }
+
+
+  public static Money ofCents(long cents) {
+    return cents == 0 ? ZERO : new Money(cents);
+  }
+
+
+  /**
+   * @throws IllegalArgumentException if the amount has more than two decimal
+   *                                  places or does not fit into a long of
+   *                                  cents
+   */
+  public static Money of(BigDecimal amount) {
+    try {
+      return ofCents(amount.movePointRight(SCALE).longValueExact());
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("amount must be a whole number of cents: " + amount.toPlainString());
+    }
+  }
+
+
+  public static Money of(String amount) {
+    return of(new BigDecimal(amount));
+  }
+
+
+  public long cents() {
+    return cents;
+  }
+
+
+  public Money plus(Money other) {
+    return other.cents == 0 ? this : ofCents(Math.addExact(cents, other.cents));
+  }
+
+
+  public Money minus(Money other) {
+    return other.cents == 0 ? this : ofCents(Math.subtractExact(cents, other.cents));
+  }
+
+
+  public Money negate() {
+    return ofCents(Math.negateExact(cents));
+  }
+
+
+  public int signum() {
+    return Long.signum(cents);
+  }
+
+
+  public boolean isNegative() {
+    return cents < 0;
+  }
+
+
+  public boolean isLessThan(Money other) {
+    return cents < other.cents;
+  }
+
+
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(cents, SCALE);
+  }
+
+
+  @Override
+  public int compareTo(Money other) {
+    return Long.compare(cents, other.cents);
+  }
+
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof Money other && cents == other.cents;
+  }
+
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(cents);
+  }
+
+
+  /**
+   * The amount as plain decimal number with two decimal places, e.g.
+   * {@code 1234.50}.
+   */
+  @Override
+  public String toString() {
+    return toBigDecimal().toPlainString();
+  }
+
+}
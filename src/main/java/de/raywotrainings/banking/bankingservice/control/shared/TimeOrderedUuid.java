@@ -0,0 +1,36 @@
+package de.raywotrainings.banking.bankingservice.control.shared;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Creates version 7 UUIDs (RFC 9562). The first 48 bits are the creation
+ * time in milliseconds since the epoch, so ids created one after another are
+ * close to each other in an index instead of being scattered across it.
+ */
+public final class TimeOrderedUuid {
+
+  private static final Random RANDOM = new SecureRandom();
+
+
+  private TimeOrderedUuid() {
+  }
+
+
+  public static UUID next() {
+    return of(System.currentTimeMillis(), RANDOM);
+  }
+
+
+  public static UUID of(long epochMillis, Random random) {
+    long mostSigBits = (epochMillis << 16)
+        | 0x7000L                          // version 7
+        | (random.nextInt() & 0x0FFFL);    // 12 random bits
+    long leastSigBits = (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL)
+        | 0x8000_0000_0000_0000L;          // IETF variant
+
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+}
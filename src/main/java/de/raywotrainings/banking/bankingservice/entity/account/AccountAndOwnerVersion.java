@@ -0,0 +1,4 @@
+package de.raywotrainings.banking.bankingservice.entity.account;
+
+public record AccountAndOwnerVersion(Long version, Long ownerVersion) {
+}
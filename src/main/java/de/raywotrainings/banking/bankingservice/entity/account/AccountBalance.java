@@ -0,0 +1,6 @@
+package de.raywotrainings.banking.bankingservice.entity.account;
+
+import java.math.BigDecimal;
+
+public record AccountBalance(String iban, BigDecimal balance, Integer ownerId) {
+}
@@ -2,19 +2,25 @@ package de.raywotrainings.banking.bankingservice.entity.account;
 
 import de.raywotrainings.banking.bankingservice.entity.client.ClientEntity;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
+/**
+ * Current and savings accounts share one table, so looking up an account by
+ * IBAN is a single primary key access. Mapping
+ * {@code META-INF/account-table-per-class.xml} switches back to one table per
+ * account type.
+ */
 @NoArgsConstructor
-@AllArgsConstructor
 @Setter
 @Getter
 @Entity
-@Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorColumn(name = "account_type")
 public abstract class AccountEntity {
 
   @Id
@@ -25,4 +31,20 @@ public abstract class AccountEntity {
   @ManyToOne
   private ClientEntity owner;
 
+  /**
+   * Incremented by every write to the account, including the balance updates
+   * of postings. The default covers rows created before the column existed.
+   */
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
+
+
+  public AccountEntity(String iban, BigDecimal balance, ClientEntity owner) {
+    this.iban = iban;
+    this.balance = balance;
+    this.owner = owner;
+  }
+
 }
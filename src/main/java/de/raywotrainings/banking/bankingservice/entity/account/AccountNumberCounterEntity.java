@@ -0,0 +1,31 @@
+package de.raywotrainings.banking.bankingservice.entity.account;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Persistent counter from which account numbers are leased in blocks. There
+ * is one row per bank code (BIC), holding the first account number which has
+ * not been handed out to any service instance yet.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+public class AccountNumberCounterEntity {
+
+  @Id
+  private String bic;
+
+  @NotNull
+  @Min(1)
+  private Long nextAccountNumber;
+
+}
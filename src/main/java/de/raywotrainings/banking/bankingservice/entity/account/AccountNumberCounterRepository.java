@@ -0,0 +1,18 @@
+package de.raywotrainings.banking.bankingservice.entity.account;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AccountNumberCounterRepository extends JpaRepository<AccountNumberCounterEntity, String> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT c FROM AccountNumberCounterEntity c WHERE c.bic = :bic")
+  Optional<AccountNumberCounterEntity> findForUpdate(String bic);
+
+}
@@ -1,21 +1,76 @@
 package de.raywotrainings.banking.bankingservice.entity.account;
 
-import de.raywotrainings.banking.bankingservice.entity.client.ClientEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
-import java.util.Set;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<AccountEntity, String> {
 
-  Collection<AccountEntity> findAllByOwner(ClientEntity client);
+  boolean existsByOwnerId(Integer clientId);
 
-  Collection<AccountEntity> findAllByOwnerId(Integer clientId);
+  /**
+   * Loads the account for a batch of postings. Its version is incremented on
+   * commit even if the balance ends up unchanged, so every booking changes
+   * the version.
+   */
+  @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+  @Query("SELECT a FROM AccountEntity a WHERE a.iban = :iban")
+  Optional<AccountEntity> findForBooking(String iban);
 
-  @Query("SELECT iban FROM AccountEntity")
-  Set<String> getAllIbans();
+  /**
+   * Returns all accounts together with their owners in a single statement.
+   */
+  @Query("SELECT a FROM AccountEntity a LEFT JOIN FETCH a.owner")
+  List<AccountEntity> findAllWithOwner();
+
+  /**
+   * Returns the accounts of the given client together with the owner in a
+   * single statement.
+   */
+  @Query("SELECT a FROM AccountEntity a JOIN FETCH a.owner o WHERE o.id = :clientId")
+  List<AccountEntity> findAllWithOwnerByOwnerId(Integer clientId);
+
+  /**
+   * Reads only balance and owner of the given accounts in a single statement,
+   * without loading them.
+   */
+  @Query("SELECT new de.raywotrainings.banking.bankingservice.entity.account.AccountBalance(a.iban, a.balance, a.owner.id) "
+      + "FROM AccountEntity a WHERE a.iban IN :ibans")
+  List<AccountBalance> findBalances(Collection<String> ibans);
+
+  @Query("SELECT a.iban FROM AccountEntity a WHERE a.owner.id = :clientId")
+  List<String> findIbansByOwnerId(Integer clientId);
+
+  /**
+   * Reads only the versions of the account and its owner, without loading
+   * either.
+   */
+  @Query("SELECT new de.raywotrainings.banking.bankingservice.entity.account.AccountAndOwnerVersion(a.version, o.version) "
+      + "FROM AccountEntity a LEFT JOIN a.owner o WHERE a.iban = :iban")
+  Optional<AccountAndOwnerVersion> findVersion(String iban);
+
+
+  /**
+   * Returns the highest account number in use. The account number is the
+   * trailing part of the IBAN, directly after country code, check digits and
+   * bank code.
+   */
+  @Query("SELECT MAX(CAST(SUBSTRING(a.iban, 13) AS Long)) FROM AccountEntity a")
+  Optional<Long> findHighestAccountNumber();
+
+  /**
+   * Returns IBANs in ascending order, starting after the given one. Used to
+   * walk over all accounts in slices.
+   */
+  @Query("SELECT a.iban FROM AccountEntity a WHERE a.iban > :after ORDER BY a.iban")
+  List<String> findIbansAfter(String after, Limit limit);
 
 }
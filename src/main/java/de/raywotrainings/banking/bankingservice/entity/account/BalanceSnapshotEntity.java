@@ -0,0 +1,49 @@
+package de.raywotrainings.banking.bankingservice.entity.account;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+/**
+ * Balance of an account as of a point in time: the sum of all entries with
+ * an entry date up to and including {@code takenAt}.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+    name = "uk_balance_snapshot_iban_taken_at",
+    columnNames = {"iban", "taken_at"}
+))
+public class BalanceSnapshotEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE)
+  private Long id;
+
+  @NotNull
+  @Size(min = 22, max = 22)
+  private String iban;
+
+  @NotNull
+  @Column(name = "taken_at")
+  private ZonedDateTime takenAt;
+
+  @NotNull
+  private BigDecimal balance;
+
+
+  public BalanceSnapshotEntity(String iban, ZonedDateTime takenAt, BigDecimal balance) {
+    this.iban = iban;
+    this.takenAt = takenAt;
+    this.balance = balance;
+  }
+
+}
@@ -0,0 +1,36 @@
+package de.raywotrainings.banking.bankingservice.entity.account;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshotEntity, Long> {
+
+  Optional<BalanceSnapshotEntity> findFirstByIbanAndTakenAtLessThanEqualOrderByTakenAtDesc(
+      @NotNull @Size(min = 22, max = 22) String iban,
+      @NotNull ZonedDateTime at);
+
+  boolean existsByIbanAndTakenAt(@NotNull @Size(min = 22, max = 22) String iban,
+                                 @NotNull ZonedDateTime takenAt);
+
+  /**
+   * Adds the amount of a back-dated entry to all snapshots taken at or after
+   * its entry date.
+   */
+  @Modifying
+  @Query("""
+      UPDATE BalanceSnapshotEntity s SET s.balance = s.balance + :amount
+      WHERE s.iban = :iban AND s.takenAt >= :entryDate""")
+  int shift(String iban, ZonedDateTime entryDate, BigDecimal amount);
+
+  void deleteByIban(@NotNull @Size(min = 22, max = 22) String iban);
+
+}
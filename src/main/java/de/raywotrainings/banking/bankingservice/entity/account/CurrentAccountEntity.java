@@ -1,6 +1,7 @@
 package de.raywotrainings.banking.bankingservice.entity.account;
 
 import de.raywotrainings.banking.bankingservice.entity.client.ClientEntity;
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -9,11 +10,13 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @NoArgsConstructor
 @Getter
 @Setter
 @Entity
+@DiscriminatorValue("CURRENT")
 public class CurrentAccountEntity extends AccountEntity {
 
   public CurrentAccountEntity(String iban,
@@ -36,4 +39,9 @@ public class CurrentAccountEntity extends AccountEntity {
   @Min(0)
   private BigDecimal overdraftLimit;
 
+  /**
+   * Last day for which overdraft interest has been charged.
+   */
+  private LocalDate overdraftInterestChargedUntil;
+
 }
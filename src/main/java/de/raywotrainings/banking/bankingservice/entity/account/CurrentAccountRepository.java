@@ -1,8 +1,72 @@
 package de.raywotrainings.banking.bankingservice.entity.account;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface CurrentAccountRepository extends JpaRepository<CurrentAccountEntity, String> {
+
+  @Modifying
+  @Query("UPDATE VERSIONED CurrentAccountEntity a SET a.balance = a.balance + :amount WHERE a.iban = :iban")
+  int deposit(String iban, BigDecimal amount);
+
+  /**
+   * Withdraws the amount only if it is covered by balance and overdraft limit.
+   *
+   * @return the number of updated rows, 0 if the account does not exist or
+   * the funds are insufficient
+   */
+  @Modifying
+  @Query("""
+      UPDATE VERSIONED CurrentAccountEntity a SET a.balance = a.balance - :amount
+      WHERE a.iban = :iban AND a.balance + a.overdraftLimit >= :amount""")
+  int withdraw(String iban, BigDecimal amount);
+
+  /**
+   * Streams the IBANs of accounts that have not been charged overdraft
+   * interest for the given day and may have been overdrawn at the end of a
+   * day since {@code since}: accounts overdrawn now, and accounts with
+   * entries since then. Rows are fetched from a cursor in portions of the
+   * fetch size. Must be consumed within a transaction and closed afterwards.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("""
+      SELECT a.iban FROM CurrentAccountEntity a
+      WHERE (a.overdraftInterestChargedUntil IS NULL OR a.overdraftInterestChargedUntil < :day)
+        AND (a.balance < 0
+          OR EXISTS (SELECT e.id FROM EntryEntity e WHERE e.iban = a.iban AND e.entryDate >= :since))""")
+  Stream<String> streamIbansDueForOverdraftInterest(LocalDate day, ZonedDateTime since);
+
+  /**
+   * Returns all current accounts together with their owners in a single
+   * statement.
+   */
+  @Query("SELECT a FROM CurrentAccountEntity a LEFT JOIN FETCH a.owner")
+  List<CurrentAccountEntity> findAllWithOwner();
+
+  /**
+   * Returns the accounts with an optimistic lock: their versions are checked
+   * again when the transaction commits, also for accounts it did not change.
+   */
+  @Lock(LockModeType.OPTIMISTIC)
+  @Query("SELECT a FROM CurrentAccountEntity a WHERE a.iban IN :ibans")
+  List<CurrentAccountEntity> findAllForOverdraftInterest(Collection<String> ibans);
+
 }
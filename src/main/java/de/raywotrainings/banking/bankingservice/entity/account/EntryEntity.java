@@ -1,28 +1,33 @@
 package de.raywotrainings.banking.bankingservice.entity.account;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.Id;
+import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Size;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.UUID;
 
-@AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 @Entity
-public class EntryEntity {
+@Table(indexes = @Index(name = "idx_entry_iban_entry_date", columnList = "iban, entry_date, id"))
+public class EntryEntity implements Persistable<UUID> {
 
+  /**
+   * Time-ordered and stored as 16 bytes, so new entries are appended at the
+   * end of the primary key index.
+   */
   @Id
-  private String id;
+  private UUID id;
 
   @NotNull
   @Size(min = 22, max = 22)
@@ -33,6 +38,7 @@ public class EntryEntity {
 
   @NotNull
   @PastOrPresent
+  @Column(name = "entry_date")
   private ZonedDateTime entryDate;
 
   @NotNull
@@ -42,6 +48,50 @@ public class EntryEntity {
   @NotNull
   private EntryEntity.Type type;
 
+  /**
+   * Links the two entries of a transfer. {@code null} for single deposits
+   * and withdrawals.
+   */
+  private UUID transferId;
+
+  /**
+   * Entries get their id assigned before they are saved. Without this flag
+   * Spring Data would take them for existing rows and select them before
+   * every insert.
+   */
+  @Transient
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private boolean persisted;
+
+
+  public EntryEntity(UUID id,
+                     String iban,
+                     String description,
+                     ZonedDateTime entryDate,
+                     BigDecimal amount,
+                     Type type) {
+    this.id = id;
+    this.iban = iban;
+    this.description = description;
+    this.entryDate = entryDate;
+    this.amount = amount;
+    this.type = type;
+  }
+
+
+  @Override
+  public boolean isNew() {
+    return !persisted;
+  }
+
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    persisted = true;
+  }
+
 
   public enum Type {
     DEPOSIT, WITHDRAW
@@ -2,26 +2,57 @@ package de.raywotrainings.banking.bankingservice.entity.account;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Repository
-public interface EntryRepository extends JpaRepository<EntryEntity, String> {
-
-  List<EntryEntity> findByIban(@NotNull @Size(min = 22, max = 22) String iban);
-
-  List<EntryEntity> findByIbanAndEntryDateBetween(@NotNull @Size(min = 22, max = 22) String iban,
-                                                  @NotNull ZonedDateTime from,
-                                                  @NotNull ZonedDateTime to);
-
-  List<EntryEntity> findByIbanAndEntryDateAfter(@NotNull @Size(min = 22, max = 22) String iban,
-                                                @NotNull ZonedDateTime from);
-
-  List<EntryEntity> findByIbanAndEntryDateBefore(@NotNull @Size(min = 22, max = 22) String iban,
-                                                 @NotNull ZonedDateTime to);
+public interface EntryRepository extends JpaRepository<EntryEntity, UUID> {
+
+  /**
+   * Returns the entries of an account up to {@code to}, ordered by entry date
+   * and id, that come after the given position in this order. Pages are read
+   * by passing the date and id of the last entry of the previous page.
+   */
+  @Query("""
+      SELECT e FROM EntryEntity e
+      WHERE e.iban = :iban
+        AND e.entryDate <= :to
+        AND (e.entryDate > :afterDate OR (e.entryDate = :afterDate AND e.id > :afterId))
+      ORDER BY e.entryDate, e.id""")
+  List<EntryEntity> findPage(@NotNull @Size(min = 22, max = 22) String iban,
+                             @NotNull ZonedDateTime to,
+                             @NotNull ZonedDateTime afterDate,
+                             @NotNull UUID afterId,
+                             Limit limit);
+
+  /**
+   * Sums up the entries of an account with an entry date after {@code after}
+   * and up to and including {@code until}. Withdrawals count negative.
+   *
+   * @return the sum, or {@code null} if there are no such entries
+   */
+  @Query("""
+      SELECT SUM(CASE WHEN e.type = de.raywotrainings.banking.bankingservice.entity.account.EntryEntity.Type.DEPOSIT
+                      THEN e.amount ELSE -e.amount END)
+      FROM EntryEntity e
+      WHERE e.iban = :iban AND e.entryDate > :after AND e.entryDate <= :until""")
+  BigDecimal sumBetween(@NotNull @Size(min = 22, max = 22) String iban,
+                        @NotNull ZonedDateTime after,
+                        @NotNull ZonedDateTime until);
+
+  @Query("""
+      SELECT e FROM EntryEntity e
+      WHERE e.iban IN :ibans AND e.entryDate >= :from
+      ORDER BY e.iban, e.entryDate""")
+  List<EntryEntity> findAllSince(Collection<String> ibans, ZonedDateTime from);
 
   void deleteByIban(@NotNull @Size(min = 22, max = 22) String iban);
 }
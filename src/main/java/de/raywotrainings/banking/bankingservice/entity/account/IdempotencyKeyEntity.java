@@ -0,0 +1,78 @@
+package de.raywotrainings.banking.bankingservice.entity.account;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * An {@code Idempotency-Key} sent with a posting, and the entry that was
+ * booked for it. The primary key makes sure a key is booked only once, even
+ * if the same request reaches several instances at the same time.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(indexes = @Index(name = "idx_idempotency_key_created_at", columnList = "created_at"))
+public class IdempotencyKeyEntity implements Persistable<String> {
+
+  @Id
+  @Size(min = 1, max = 255)
+  private String idempotencyKey;
+
+  @NotNull
+  @Size(min = 22, max = 22)
+  private String iban;
+
+  @NotNull
+  private UUID entryId;
+
+  @NotNull
+  @Column(name = "created_at")
+  private ZonedDateTime createdAt;
+
+  /**
+   * Keys are always new when saved; without this flag Spring Data would
+   * select the key before inserting it.
+   */
+  @Transient
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private boolean persisted;
+
+
+  public IdempotencyKeyEntity(String idempotencyKey, String iban, UUID entryId, ZonedDateTime createdAt) {
+    this.idempotencyKey = idempotencyKey;
+    this.iban = iban;
+    this.entryId = entryId;
+    this.createdAt = createdAt;
+  }
+
+
+  @Override
+  public String getId() {
+    return idempotencyKey;
+  }
+
+
+  @Override
+  public boolean isNew() {
+    return !persisted;
+  }
+
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    persisted = true;
+  }
+
+}
@@ -0,0 +1,21 @@
+package de.raywotrainings.banking.bankingservice.entity.account;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+
+  @Modifying
+  @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.createdAt < :before")
+  int deleteCreatedBefore(@NotNull ZonedDateTime before);
+
+  void deleteByIban(@NotNull @Size(min = 22, max = 22) String iban);
+
+}
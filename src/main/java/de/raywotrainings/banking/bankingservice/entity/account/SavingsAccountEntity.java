@@ -1,6 +1,7 @@
 package de.raywotrainings.banking.bankingservice.entity.account;
 
 import de.raywotrainings.banking.bankingservice.entity.client.ClientEntity;
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -9,12 +10,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 
 @NoArgsConstructor
 @Getter
 @Setter
 @Entity
+@DiscriminatorValue("SAVINGS")
 public class SavingsAccountEntity extends AccountEntity {
 
   public SavingsAccountEntity(String iban,
@@ -30,4 +33,10 @@ public class SavingsAccountEntity extends AccountEntity {
   @Min(0)
   private BigDecimal interestRate;
 
+  /**
+   * Last day up to which interest has been credited. Lets an interrupted
+   * interest run continue without crediting any account twice.
+   */
+  private LocalDate interestPaidUntil;
+
 }
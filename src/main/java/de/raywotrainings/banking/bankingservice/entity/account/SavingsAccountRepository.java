@@ -1,8 +1,55 @@
 package de.raywotrainings.banking.bankingservice.entity.account;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
 public interface SavingsAccountRepository extends JpaRepository<SavingsAccountEntity, String> {
+
+  @Modifying
+  @Query("UPDATE VERSIONED SavingsAccountEntity a SET a.balance = a.balance + :amount WHERE a.iban = :iban")
+  int deposit(String iban, BigDecimal amount);
+
+  /**
+   * Withdraws the amount only if it is covered by the balance.
+   *
+   * @return the number of updated rows, 0 if the account does not exist or
+   * the funds are insufficient
+   */
+  @Modifying
+  @Query("""
+      UPDATE VERSIONED SavingsAccountEntity a SET a.balance = a.balance - :amount
+      WHERE a.iban = :iban AND a.balance >= :amount""")
+  int withdraw(String iban, BigDecimal amount);
+
+  /**
+   * Returns the IBANs of accounts that have not been credited interest up to
+   * the given day, in ascending order and starting after the given IBAN.
+   */
+  @Query("""
+      SELECT a.iban FROM SavingsAccountEntity a
+      WHERE a.iban > :after AND (a.interestPaidUntil IS NULL OR a.interestPaidUntil < :until)
+      ORDER BY a.iban""")
+  List<String> findIbansDueForInterest(String after, LocalDate until, Limit limit);
+
+  /**
+   * Returns all savings accounts together with their owners in a single
+   * statement.
+   */
+  @Query("SELECT a FROM SavingsAccountEntity a LEFT JOIN FETCH a.owner")
+  List<SavingsAccountEntity> findAllWithOwner();
+
+  @Query("""
+      SELECT a FROM SavingsAccountEntity a LEFT JOIN FETCH a.owner
+      WHERE a.iban BETWEEN :firstIban AND :lastIban
+        AND (a.interestPaidUntil IS NULL OR a.interestPaidUntil < :until)""")
+  List<SavingsAccountEntity> findDueForInterest(String firstIban, String lastIban, LocalDate until);
+
 }
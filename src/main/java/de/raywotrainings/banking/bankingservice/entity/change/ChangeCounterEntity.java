@@ -0,0 +1,33 @@
+package de.raywotrainings.banking.bankingservice.entity.change;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Persistent counter from which committed changes are numbered. There is a
+ * single row, holding the next sequence number of the feed. Locking it
+ * makes sure only one service instance numbers changes at a time.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+public class ChangeCounterEntity {
+
+  public static final String FEED = "changes";
+
+  @Id
+  private String feed;
+
+  @NotNull
+  @Min(1)
+  private Long nextSequenceNumber;
+
+}
@@ -0,0 +1,18 @@
+package de.raywotrainings.banking.bankingservice.entity.change;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ChangeCounterRepository extends JpaRepository<ChangeCounterEntity, String> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT c FROM ChangeCounterEntity c WHERE c.feed = :feed")
+  Optional<ChangeCounterEntity> findForUpdate(String feed);
+
+}
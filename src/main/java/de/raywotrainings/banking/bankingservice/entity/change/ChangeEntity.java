@@ -0,0 +1,75 @@
+package de.raywotrainings.banking.bankingservice.entity.change;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A change of an account, an entry or a client, written in the transaction
+ * that made the change.
+ * <p>
+ * The id is taken from a database sequence in the order the changes are
+ * written. The sequence number, which orders the feed, is assigned after
+ * the change is committed, so it follows the order of the commits.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(indexes = @Index(name = "idx_change_sequence_number", columnList = "sequence_number", unique = true))
+public class ChangeEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_sequence")
+  @SequenceGenerator(name = "change_sequence", sequenceName = "CHANGE_ENTITY_SEQ", allocationSize = 1)
+  private Long id;
+
+  /**
+   * Position in the feed, {@code null} until the change is numbered.
+   */
+  @Column(name = "sequence_number")
+  private Long sequenceNumber;
+
+  @NotNull
+  @Enumerated(EnumType.STRING)
+  private ChangeEntity.Type type;
+
+  /**
+   * IBAN of the account or id of the client that changed.
+   */
+  @NotNull
+  @Size(min = 1, max = 34)
+  private String subject;
+
+  /**
+   * The changed state as JSON.
+   */
+  @NotNull
+  @Column(length = 4000)
+  private String payload;
+
+  @NotNull
+  @Column(name = "recorded_at")
+  private ZonedDateTime recordedAt;
+
+
+  public ChangeEntity(Type type, String subject, String payload, ZonedDateTime recordedAt) {
+    this.type = type;
+    this.subject = subject;
+    this.payload = payload;
+    this.recordedAt = recordedAt;
+  }
+
+
+  public enum Type {
+    ENTRY_BOOKED,
+    ACCOUNT_OPENED, ACCOUNT_UPDATED, ACCOUNT_CLOSED,
+    CLIENT_CREATED, CLIENT_UPDATED, CLIENT_DELETED
+  }
+
+}
@@ -0,0 +1,22 @@
+package de.raywotrainings.banking.bankingservice.entity.change;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChangeRepository extends JpaRepository<ChangeEntity, Long> {
+
+  List<ChangeEntity> findBySequenceNumberGreaterThanOrderBySequenceNumber(long after, Limit limit);
+
+  /**
+   * Returns committed changes that have not been numbered yet, in the order
+   * they were written.
+   */
+  @Query("SELECT c FROM ChangeEntity c WHERE c.sequenceNumber IS NULL ORDER BY c.id")
+  List<ChangeEntity> findUnnumbered(Limit limit);
+
+}
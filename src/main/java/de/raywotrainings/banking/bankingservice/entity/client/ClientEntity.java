@@ -8,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Set;
 
@@ -33,4 +34,13 @@ public class ClientEntity {
   @OneToMany(mappedBy = "owner")
   private Set<AccountEntity> accounts;
 
+  /**
+   * Incremented by every change of the client. Other instances compare it to
+   * the version of their cached copy.
+   */
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
+
 }
@@ -1,8 +1,17 @@
 package de.raywotrainings.banking.bankingservice.entity.client;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ClientRepository extends JpaRepository<ClientEntity, Integer> {
+
+  @Query("SELECT new de.raywotrainings.banking.bankingservice.entity.client.ClientVersion(c.id, c.version) "
+      + "FROM ClientEntity c WHERE c.id IN :ids")
+  List<ClientVersion> findVersions(Collection<Integer> ids);
+
 }
@@ -0,0 +1,4 @@
+package de.raywotrainings.banking.bankingservice.entity.client;
+
+public record ClientVersion(Integer id, Long version) {
+}
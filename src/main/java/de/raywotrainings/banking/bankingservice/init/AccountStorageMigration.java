@@ -0,0 +1,101 @@
+package de.raywotrainings.banking.bankingservice.init;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves accounts of databases created with one table per account type into
+ * the shared account table.
+ * <p>
+ * Hibernate's schema update creates the shared table with its discriminator
+ * column but leaves the old tables in place. This migration copies current
+ * and savings accounts over and drops the old tables. It runs once, after the
+ * schema update and before the web server accepts requests. Accounts that
+ * were already copied are skipped, so an interrupted run can simply be
+ * repeated. On new or already converted databases, and when the table per
+ * class mapping is active, it does nothing.
+ * <p>
+ * Once the old tables are no longer mapped, the schema update does not add
+ * new columns to them. Columns that did not exist yet when the database was
+ * last used are therefore copied as their initial values: version 0 and no
+ * interest charged or paid.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@DependsOn("entityManagerFactory")
+public class AccountStorageMigration implements InitializingBean {
+
+  private final JdbcTemplate jdbcTemplate;
+
+
+  @Override
+  public void afterPropertiesSet() {
+    if (!columnExists("ACCOUNT_ENTITY", "ACCOUNT_TYPE")) {
+      return;
+    }
+
+    if (tableExists("CURRENT_ACCOUNT_ENTITY")) {
+      log.info("Moving current accounts into the shared account table");
+      int moved = jdbcTemplate.update("""
+          INSERT INTO ACCOUNT_ENTITY (ACCOUNT_TYPE, IBAN, BALANCE, OWNER_ID, VERSION,
+                                      OVERDRAFT_INTEREST_RATE, OVERDRAFT_LIMIT,
+                                      OVERDRAFT_INTEREST_CHARGED_UNTIL)
+          SELECT 'CURRENT', IBAN, BALANCE, OWNER_ID, %s,
+                 OVERDRAFT_INTEREST_RATE, OVERDRAFT_LIMIT, %s
+          FROM CURRENT_ACCOUNT_ENTITY
+          WHERE IBAN NOT IN (SELECT IBAN FROM ACCOUNT_ENTITY)""".formatted(
+          columnOr("CURRENT_ACCOUNT_ENTITY", "VERSION", "0"),
+          columnOr("CURRENT_ACCOUNT_ENTITY", "OVERDRAFT_INTEREST_CHARGED_UNTIL", "NULL")));
+      jdbcTemplate.execute("DROP TABLE CURRENT_ACCOUNT_ENTITY");
+      log.info("{} current accounts moved", moved);
+    }
+
+    if (tableExists("SAVINGS_ACCOUNT_ENTITY")) {
+      log.info("Moving savings accounts into the shared account table");
+      int moved = jdbcTemplate.update("""
+          INSERT INTO ACCOUNT_ENTITY (ACCOUNT_TYPE, IBAN, BALANCE, OWNER_ID, VERSION,
+                                      INTEREST_RATE, INTEREST_PAID_UNTIL)
+          SELECT 'SAVINGS', IBAN, BALANCE, OWNER_ID, %s,
+                 INTEREST_RATE, %s
+          FROM SAVINGS_ACCOUNT_ENTITY
+          WHERE IBAN NOT IN (SELECT IBAN FROM ACCOUNT_ENTITY)""".formatted(
+          columnOr("SAVINGS_ACCOUNT_ENTITY", "VERSION", "0"),
+          columnOr("SAVINGS_ACCOUNT_ENTITY", "INTEREST_PAID_UNTIL", "NULL")));
+      jdbcTemplate.execute("DROP TABLE SAVINGS_ACCOUNT_ENTITY");
+      log.info("{} savings accounts moved", moved);
+    }
+  }
+
+
+  private boolean tableExists(String table) {
+    Integer count = jdbcTemplate.queryForObject("""
+        SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES
+        WHERE TABLE_NAME = ?""", Integer.class, table);
+
+    return count != null && count > 0;
+  }
+
+
+  /**
+   * Returns the column to select, or the given value if the table was created
+   * before the column existed.
+   */
+  private String columnOr(String table, String column, String missingValue) {
+    return columnExists(table, column) ? column : missingValue;
+  }
+
+
+  private boolean columnExists(String table, String column) {
+    Integer count = jdbcTemplate.queryForObject("""
+        SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+        WHERE TABLE_NAME = ? AND COLUMN_NAME = ?""", Integer.class, table, column);
+
+    return count != null && count > 0;
+  }
+
+}
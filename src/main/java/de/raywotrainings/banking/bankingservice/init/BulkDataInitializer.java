@@ -0,0 +1,273 @@
+package de.raywotrainings.banking.bankingservice.init;
+
+import de.raywotrainings.banking.bankingservice.configuration.BankConfigurationData;
+import de.raywotrainings.banking.bankingservice.configuration.SeedConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.account.IbanCodec;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import de.raywotrainings.banking.bankingservice.control.shared.TimeOrderedUuid;
+import de.raywotrainings.banking.bankingservice.entity.account.AccountNumberCounterEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.AccountNumberCounterRepository;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.ToLongFunction;
+
+/**
+ * Fills an empty database with a large amount of generated data for capacity
+ * tests, see {@link SeedConfigurationData}.
+ * <p>
+ * Clients, accounts and entries are written with JDBC batch inserts instead
+ * of going through the services. The entries of an account are generated
+ * first, so its balance is known when the account row is written. Work is
+ * split into ranges of clients and accounts, each with its own random
+ * generator derived from the seed, so the data does not depend on how the
+ * ranges are spread over the threads. Expects the default layout with all
+ * accounts in one table.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class BulkDataInitializer {
+
+  private static final int CLIENTS_PER_TASK = 10_000;
+  private static final int ACCOUNTS_PER_TASK = 1_000;
+  private static final double CURRENT_ACCOUNTS_PERCENTAGE = 0.5;
+
+  // allocation size of Hibernate's default sequence for client ids
+  private static final int CLIENT_ID_ALLOCATION_SIZE = 50;
+
+  private static final String INSERT_CLIENT = """
+      INSERT INTO CLIENT_ENTITY (ID, FIRSTNAME, LASTNAME, VERSION) VALUES (?, ?, ?, 0)""";
+  private static final String INSERT_ACCOUNT = """
+      INSERT INTO ACCOUNT_ENTITY (ACCOUNT_TYPE, IBAN, BALANCE, OWNER_ID, VERSION,
+                                  OVERDRAFT_INTEREST_RATE, OVERDRAFT_LIMIT, INTEREST_RATE)
+      VALUES (?, ?, ?, ?, 0, ?, ?, ?)""";
+  private static final String INSERT_ENTRY = """
+      INSERT INTO ENTRY_ENTITY (ID, IBAN, DESCRIPTION, ENTRY_DATE, AMOUNT, TYPE)
+      VALUES (?, ?, ?, ?, ?, ?)""";
+
+  private static final String[] FIRST_NAMES = {
+      "Anna", "Ben", "Clara", "David", "Emma", "Felix", "Greta", "Hannah", "Jonas", "Lea",
+      "Leon", "Lina", "Lukas", "Marie", "Max", "Mia", "Noah", "Paul", "Sophie", "Tim"
+  };
+  private static final String[] LAST_NAMES = {
+      "Bauer", "Becker", "Fischer", "Hoffmann", "Koch", "Meyer", "Müller", "Richter", "Schäfer",
+      "Schmidt", "Schneider", "Schulz", "Wagner", "Weber", "Wolf", "Zimmermann"
+  };
+  private static final String INITIAL_DEPOSIT_DESCRIPTION = "Ersteinzahlung";
+  private static final String[] TRANSACTION_DESCRIPTIONS = {
+      "Gehalt", "Miete", "Einkauf", "Versicherung", "Strom", "Internet",
+      "Telefon", "Restaurant", "Kino", "Tanken", "Kleidung", "Geschenk"
+  };
+
+  private final JdbcTemplate jdbcTemplate;
+  private final AccountNumberCounterRepository counterRepo;
+  private final BankConfigurationData bankConfig;
+  private final SeedConfigurationData config;
+
+
+  public void initialize() {
+    final long started = System.nanoTime();
+    final ZoneId zone = bankConfig.getTimeZone();
+    final LocalDate endDate = config.getEndDate() != null ? config.getEndDate() : LocalDate.now(zone);
+    final long historyEnd = endDate.atStartOfDay(zone).toInstant().toEpochMilli();
+
+    log.info("Seeding {} clients, {} accounts and {} entries with seed {} on {} threads",
+        config.getClients(), config.getAccounts(), config.getEntries(), config.getSeed(),
+        config.getParallelism());
+
+    ForkJoinPool pool = new ForkJoinPool(config.getParallelism());
+    long rows;
+
+    try {
+      rows = run(pool, "client", ranges(config.getClients(), CLIENTS_PER_TASK), this::insertClients);
+      rows += run(pool, "account and entry", ranges(config.getAccounts(), ACCOUNTS_PER_TASK),
+          range -> insertAccounts(range, historyEnd));
+    } finally {
+      pool.shutdown();
+    }
+
+    // Let the services continue after the generated ids and account numbers.
+    jdbcTemplate.execute("ALTER SEQUENCE CLIENT_ENTITY_SEQ RESTART WITH "
+        + (config.getClients() + CLIENT_ID_ALLOCATION_SIZE + 1));
+    counterRepo.save(new AccountNumberCounterEntity(bankConfig.getBic(), config.getAccounts() + 1L));
+
+    double seconds = (System.nanoTime() - started) / 1e9;
+    log.info("Seeding completed: {} rows in {} s, {} rows/s",
+        rows, Math.round(seconds), Math.round(rows / seconds));
+  }
+
+
+  private long run(ForkJoinPool pool, String kind, List<Range> ranges, ToLongFunction<Range> work) {
+    final long started = System.nanoTime();
+    List<Callable<Long>> tasks = ranges.stream()
+        .map(range -> (Callable<Long>) () -> work.applyAsLong(range))
+        .toList();
+    long rows = 0;
+
+    try {
+      for (Future<Long> result : pool.invokeAll(tasks)) {
+        rows += result.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Unterbrochen beim Erzeugen der Testdaten.", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Die Testdaten konnten nicht erzeugt werden.", e.getCause());
+    }
+
+    double seconds = (System.nanoTime() - started) / 1e9;
+    log.info("Seeded {} {} rows in {} s, {} rows/s",
+        rows, kind, Math.round(seconds), Math.round(rows / seconds));
+
+    return rows;
+  }
+
+
+  private long insertClients(Range range) {
+    Random random = random(1, range);
+    List<Object[]> clients = new ArrayList<>(config.getBatchSize());
+    long rows = 0;
+
+    for (int id = range.from() + 1; id <= range.to(); id++) {
+      clients.add(new Object[]{
+          id,
+          FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+          LAST_NAMES[random.nextInt(LAST_NAMES.length)]
+      });
+      rows += flushIfFull(INSERT_CLIENT, clients);
+    }
+
+    return rows + flush(INSERT_CLIENT, clients);
+  }
+
+
+  /**
+   * Generates the accounts of the range together with their entries. A
+   * withdrawal the account could not cover becomes a deposit, so the
+   * precomputed balances obey the same rules as booked ones.
+   */
+  private long insertAccounts(Range range, long historyEnd) {
+    Random random = random(2, range);
+    List<Object[]> accounts = new ArrayList<>(config.getBatchSize());
+    List<Object[]> entries = new ArrayList<>(config.getBatchSize());
+    long rows = 0;
+
+    for (int account = range.from(); account < range.to(); account++) {
+      String iban = IbanCodec.generate(bankConfig.getCountryCode(), bankConfig.getBic(), account + 1L);
+      boolean current = random.nextDouble() < CURRENT_ACCOUNTS_PERCENTAGE;
+      long overdraftLimit = current ? 100_00L * (5 + random.nextInt(16)) : 0;
+      long balance = 0;
+
+      long[] entryDates = entryDates(random, entriesOf(account), historyEnd);
+
+      for (int i = 0; i < entryDates.length; i++) {
+        long entryDate = entryDates[i];
+        long amount = 1_00 + random.nextInt(999_00);
+        boolean first = i == 0;
+        boolean deposit = first || random.nextBoolean() || balance + overdraftLimit < amount;
+        balance += deposit ? amount : -amount;
+
+        entries.add(new Object[]{
+            TimeOrderedUuid.of(entryDate, random),
+            iban,
+            first ? INITIAL_DEPOSIT_DESCRIPTION
+                : TRANSACTION_DESCRIPTIONS[random.nextInt(TRANSACTION_DESCRIPTIONS.length)],
+            OffsetDateTime.ofInstant(Instant.ofEpochMilli(entryDate), bankConfig.getTimeZone()),
+            Money.ofCents(amount).toBigDecimal(),
+            (deposit ? EntryEntity.Type.DEPOSIT : EntryEntity.Type.WITHDRAW).ordinal()
+        });
+        rows += flushIfFull(INSERT_ENTRY, entries);
+      }
+
+      int ownerId = 1 + random.nextInt(config.getClients());
+
+      accounts.add(current
+          ? new Object[]{"CURRENT", iban, Money.ofCents(balance).toBigDecimal(), ownerId,
+              BigDecimal.valueOf(700 + 5 * random.nextInt(136), 2),
+              Money.ofCents(overdraftLimit).toBigDecimal(), null}
+          : new Object[]{"SAVINGS", iban, Money.ofCents(balance).toBigDecimal(), ownerId,
+              null, null, BigDecimal.valueOf(50 + 5 * random.nextInt(51), 2)});
+      rows += flushIfFull(INSERT_ACCOUNT, accounts);
+    }
+
+    return rows + flush(INSERT_ENTRY, entries) + flush(INSERT_ACCOUNT, accounts);
+  }
+
+
+  /**
+   * Spreads the entries evenly over the accounts.
+   */
+  private int entriesOf(int account) {
+    long perAccount = config.getEntries() / config.getAccounts();
+    long remainder = config.getEntries() % config.getAccounts();
+
+    return (int) (perAccount + (account < remainder ? 1 : 0));
+  }
+
+
+  private long[] entryDates(Random random, int count, long historyEnd) {
+    final long history = config.getHistoryDays() * 86_400_000L;
+    long[] dates = new long[count];
+
+    for (int i = 0; i < count; i++) {
+      dates[i] = historyEnd - 1 - random.nextLong(history);
+    }
+
+    Arrays.sort(dates);
+
+    return dates;
+  }
+
+
+  private Random random(int phase, Range range) {
+    return new Random(config.getSeed() * 1_000_003L + phase * 1_000_000_007L + range.index());
+  }
+
+
+  private long flushIfFull(String sql, List<Object[]> rows) {
+    return rows.size() >= config.getBatchSize() ? flush(sql, rows) : 0;
+  }
+
+
+  private long flush(String sql, List<Object[]> rows) {
+    if (rows.isEmpty()) {
+      return 0;
+    }
+
+    jdbcTemplate.batchUpdate(sql, rows);
+    int count = rows.size();
+    rows.clear();
+
+    return count;
+  }
+
+
+  private static List<Range> ranges(int total, int perTask) {
+    List<Range> ranges = new ArrayList<>();
+
+    for (int from = 0, index = 0; from < total; from += perTask, index++) {
+      ranges.add(new Range(index, from, Math.min(total, from + perTask)));
+    }
+
+    return ranges;
+  }
+
+
+  private record Range(int index, int from, int to) {
+  }
+
+}
@@ -2,6 +2,7 @@ package de.raywotrainings.banking.bankingservice.init;
 
 import de.raywotrainings.banking.bankingservice.control.account.*;
 import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -72,14 +73,14 @@ public class CurrentAccountInitializer implements AccountInitializer<List<String
       CurrentAccount account = (CurrentAccount) accountsService.getAccountByIban(iban);
 
       // Skip accounts that already have negative balances
-      if (account.getBalance().compareTo(BigDecimal.ZERO) < 0) {
+      if (account.getBalance().isNegative()) {
         continue;
       }
 
       // Calculate a withdrawal amount that will result in a negative balance
       // but still within the overdraft limit
-      BigDecimal balance = account.getBalance();
-      BigDecimal overdraftLimit = account.getOverdraftLimit();
+      BigDecimal balance = account.getBalance().toBigDecimal();
+      BigDecimal overdraftLimit = account.getOverdraftLimit().toBigDecimal();
 
       // If balance is zero or account has no overdraft limit, skip it
       if (balance.compareTo(BigDecimal.ZERO) <= 0 || overdraftLimit.compareTo(BigDecimal.ZERO) <= 0) {
@@ -113,7 +114,7 @@ public class CurrentAccountInitializer implements AccountInitializer<List<String
           iban,
           "Negative balance transaction",
           ZonedDateTime.now().minusDays(random.nextInt(30)),
-          withdrawalAmount,
+          Money.of(withdrawalAmount),
           Entry.Type.WITHDRAW
       );
 
@@ -136,14 +137,14 @@ public class CurrentAccountInitializer implements AccountInitializer<List<String
    * @return The IBAN of the created account
    */
   private String createCurrentAccount(Client client) {
-    BigDecimal overdraftLimit = generateOverdraftLimit();
+    Money overdraftLimit = generateOverdraftLimit();
     BigDecimal overdraftInterestRate = generateInterestRate(
     );
 
     CurrentAccount account = new CurrentAccount(
         null,
         null,
-        BigDecimal.ZERO,
+        Money.ZERO,
         overdraftLimit,
         overdraftInterestRate
     );
@@ -172,13 +173,13 @@ public class CurrentAccountInitializer implements AccountInitializer<List<String
   /**
    * Generates a random overdraft limit rounded to the nearest 100.
    *
-   * @return The generated overdraft limit as BigDecimal
+   * @return The generated overdraft limit
    */
-  private BigDecimal generateOverdraftLimit() {
+  private Money generateOverdraftLimit() {
     int rawOverdraftLimit = MIN_OVERDRAFT_LIMIT + random.nextInt(MAX_ADDITIONAL_OVERDRAFT + 1);
     int roundedOverdraftLimit = Math.round(rawOverdraftLimit / (float) OVERDRAFT_ROUNDING_FACTOR)
         * OVERDRAFT_ROUNDING_FACTOR;
-    return new BigDecimal(roundedOverdraftLimit);
+    return Money.ofCents(roundedOverdraftLimit * 100L);
   }
 
 
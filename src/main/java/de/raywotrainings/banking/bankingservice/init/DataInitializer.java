@@ -1,5 +1,6 @@
 package de.raywotrainings.banking.bankingservice.init;
 
+import de.raywotrainings.banking.bankingservice.configuration.SeedConfigurationData;
 import de.raywotrainings.banking.bankingservice.control.client.Client;
 import de.raywotrainings.banking.bankingservice.entity.client.ClientRepository;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +32,8 @@ public class DataInitializer {
   private final CurrentAccountInitializer currentAccountInitializer;
   private final SavingsAccountInitializer savingsAccountInitializer;
   private final TransactionInitializer transactionInitializer;
+  private final BulkDataInitializer bulkDataInitializer;
+  private final SeedConfigurationData seedConfig;
 
   private final Random random = new Random();
 
@@ -40,6 +43,8 @@ public class DataInitializer {
    * Only runs if the database is empty.
    * First creates clients and accounts (without transactions),
    * then generates transactions for the accounts.
+   * In bulk mode the configured amount of data is written by the
+   * {@link BulkDataInitializer} instead.
    */
   @EventListener(ApplicationReadyEvent.class)
   public void initData() {
@@ -48,6 +53,11 @@ public class DataInitializer {
       return;
     }
 
+    if (seedConfig.getMode() == SeedConfigurationData.Mode.BULK) {
+      bulkDataInitializer.initialize();
+      return;
+    }
+
     log.info("Initializing database with sample data");
 
     // First create clients and accounts (without transactions)
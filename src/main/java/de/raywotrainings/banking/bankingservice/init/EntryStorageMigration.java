@@ -0,0 +1,46 @@
+package de.raywotrainings.banking.bankingservice.init;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Converts the entry table of databases created before entry ids were stored
+ * as binary UUIDs.
+ * <p>
+ * Hibernate's schema update adds the index on iban and entry date but does
+ * not change the type of existing columns. This migration turns the textual
+ * ids into the 16 byte UUID type. It runs once, after the schema update and
+ * before the web server accepts requests; on new or already converted
+ * databases it does nothing.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@DependsOn("entityManagerFactory")
+public class EntryStorageMigration implements InitializingBean {
+
+  private final JdbcTemplate jdbcTemplate;
+
+
+  @Override
+  public void afterPropertiesSet() {
+    List<String> idTypes = jdbcTemplate.queryForList("""
+        SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS
+        WHERE TABLE_NAME = 'ENTRY_ENTITY' AND COLUMN_NAME = 'ID'""", String.class);
+
+    if (idTypes.isEmpty() || "UUID".equals(idTypes.getFirst())) {
+      return;
+    }
+
+    log.info("Converting entry ids from {} to UUID", idTypes.getFirst());
+    jdbcTemplate.execute("ALTER TABLE ENTRY_ENTITY ALTER COLUMN ID SET DATA TYPE UUID");
+    log.info("Entry ids converted");
+  }
+
+}
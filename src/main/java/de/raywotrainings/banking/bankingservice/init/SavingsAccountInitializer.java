@@ -3,6 +3,7 @@ package de.raywotrainings.banking.bankingservice.init;
 import de.raywotrainings.banking.bankingservice.control.account.AccountsService;
 import de.raywotrainings.banking.bankingservice.control.account.SavingsAccount;
 import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -62,7 +63,7 @@ public class SavingsAccountInitializer implements AccountInitializer<List<String
     SavingsAccount account = new SavingsAccount(
         null,
         null,
-        BigDecimal.ZERO,
+        Money.ZERO,
         interestRate
     );
 
@@ -4,11 +4,11 @@ import de.raywotrainings.banking.bankingservice.control.account.Account;
 import de.raywotrainings.banking.bankingservice.control.account.AccountsService;
 import de.raywotrainings.banking.bankingservice.control.account.EntriesService;
 import de.raywotrainings.banking.bankingservice.control.account.Entry;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.time.DayOfWeek;
 import java.time.ZonedDateTime;
 import java.util.*;
@@ -85,7 +85,7 @@ public class TransactionInitializer {
 
 
   private void createInitialTransactionsForSavingsAccounts(List<String> accounts) {
-    BigDecimal amount = generateRandomAmount(BigDecimal.valueOf(MAX_ADDITIONAL_TRANSACTION_AMOUNT));
+    Money amount = generateRandomAmount(MAX_ADDITIONAL_TRANSACTION_AMOUNT);
     ZonedDateTime transactionDate = generateRandomPastDate(
     );
 
@@ -113,7 +113,7 @@ public class TransactionInitializer {
       createEntry(
           ibans.get(i),
           INITIAL_DEPOSIT_DESCRIPTION,
-          generateRandomAmount(BigDecimal.valueOf(MAX_ADDITIONAL_TRANSACTION_AMOUNT)),
+          generateRandomAmount(MAX_ADDITIONAL_TRANSACTION_AMOUNT),
           Entry.Type.DEPOSIT,
           transactionDate
       );
@@ -123,8 +123,8 @@ public class TransactionInitializer {
     for (int i = sixtyPercentAccounts; i < ibans.size(); i++) {
       String iban = ibans.get(i);
       Account account = accountsService.getAccountByIban(iban);
-      BigDecimal availableAmount = account.availableAmount();
-      BigDecimal amount = generateRandomAmount(availableAmount);
+      Money availableAmount = account.availableAmount();
+      Money amount = generateRandomAmount(availableAmount);
 
       // Ensure withdrawal amount is within available amount
 //      BigDecimal withdrawalAmount = availableAmount.min(amount.multiply(BigDecimal.valueOf(0.95)));
@@ -148,7 +148,7 @@ public class TransactionInitializer {
       int transactionCount = minTransactions + random.nextInt(maxAdditionalTransactions + 1);
 
       for (int i = 0; i < transactionCount; i++) {
-        BigDecimal amount = generateRandomAmount(BigDecimal.valueOf(MAX_ADDITIONAL_TRANSACTION_AMOUNT));
+        Money amount = generateRandomAmount(MAX_ADDITIONAL_TRANSACTION_AMOUNT);
         ZonedDateTime transactionDate = generateRandomRecentDate(weeksSpan);
         String description = getRandomTransactionDescription();
 
@@ -166,11 +166,11 @@ public class TransactionInitializer {
           );
         } else {
           // Create withdrawal if possible
-          BigDecimal availableAmount = account.availableAmount();
+          Money availableAmount = account.availableAmount();
 
           // Ensure withdrawal amount is within available amount
-          BigDecimal withdrawalAmount = amount.min(availableAmount);
-          if (withdrawalAmount.compareTo(BigDecimal.ZERO) >= 0) {
+          Money withdrawalAmount = amount.isLessThan(availableAmount) ? amount : availableAmount;
+          if (!withdrawalAmount.isNegative()) {
             createEntry(
                 iban,
                 description,
@@ -196,7 +196,7 @@ public class TransactionInitializer {
 
   private void createEntry(String iban,
                            String description,
-                           BigDecimal amount,
+                           Money amount,
                            Entry.Type type,
                            ZonedDateTime date) {
     Entry entry = new Entry(iban, description, date, amount, type);
@@ -205,9 +205,14 @@ public class TransactionInitializer {
   }
 
 
-  private BigDecimal generateRandomAmount(BigDecimal maxAmount) {
-    int amount = MIN_TRANSACTION_AMOUNT + random.nextInt(maxAmount.intValue() + 1);
-    return BigDecimal.valueOf(amount);
+  private Money generateRandomAmount(Money maxAmount) {
+    return generateRandomAmount((int) (maxAmount.cents() / 100));
+  }
+
+
+  private Money generateRandomAmount(int maxAmount) {
+    int amount = MIN_TRANSACTION_AMOUNT + random.nextInt(maxAmount + 1);
+    return Money.ofCents(amount * 100L);
   }
 
 
@@ -0,0 +1,89 @@
+package de.raywotrainings.banking.bankingservice.boundary.account;
+
+import de.raywotrainings.banking.bankingservice.control.account.AccountsService;
+import de.raywotrainings.banking.bankingservice.control.account.SavingsAccount;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:async-bookings;DB_CLOSE_DELAY=-1",
+    "bank.async-booking.enabled=true"
+})
+class AsyncBookingsControllerTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  private String iban;
+
+
+  @BeforeEach
+  void openAccount() {
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    iban = accountsService.addSavingsAccount(
+        new SavingsAccount(null, null, Money.ZERO, BigDecimal.ZERO), owner.getId()).getIban();
+  }
+
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "respond-async",
+      "respond-async, wait=5",
+      "wait=5, respond-async",
+      "wait=5,respond-async;foo=bar",
+      "RESPOND-ASYNC"
+  })
+  void postingsPreferringAnAsyncResponseAreQueued(String prefer) throws Exception {
+    mockMvc.perform(deposit().header("Prefer", prefer))
+        .andExpect(status().isAccepted())
+        .andExpect(header().exists("Location"));
+  }
+
+
+  @ParameterizedTest
+  @ValueSource(strings = {"wait=5", "return=minimal", "respond-asynchronously", "handling=respond-async"})
+  void otherPreferencesAreBookedRightAway(String prefer) throws Exception {
+    mockMvc.perform(deposit().header("Prefer", prefer))
+        .andExpect(status().isOk());
+  }
+
+
+  @Test
+  void postingsWithoutPreferencesAreBookedRightAway() throws Exception {
+    mockMvc.perform(deposit())
+        .andExpect(status().isOk());
+  }
+
+
+  private MockHttpServletRequestBuilder deposit() {
+    return post("/api/v2/accounts/" + iban + "/deposits")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("""
+            {"description": "Einzahlung", "entryDate": "2024-01-01T10:00:00Z", "amount": 10, "entryType": "deposit"}""");
+  }
+
+}
@@ -0,0 +1,275 @@
+package de.raywotrainings.banking.bankingservice.boundary.account;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.raywotrainings.banking.bankingservice.boundary.mapper.EntryDTOMapper;
+import de.raywotrainings.banking.bankingservice.configuration.BalanceEventsConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.account.AccountsService;
+import de.raywotrainings.banking.bankingservice.control.account.BalanceUpdate;
+import de.raywotrainings.banking.bankingservice.control.account.BalanceUpdates;
+import de.raywotrainings.banking.bankingservice.control.account.EntriesService;
+import de.raywotrainings.banking.bankingservice.control.account.Entry;
+import de.raywotrainings.banking.bankingservice.control.account.SavingsAccount;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Opens balance event streams through the controllers and reads the events
+ * as the clients receive them.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:balance-event-streams;DB_CLOSE_DELAY=-1")
+class BalanceEventStreamsTests {
+
+  private static final int STREAMS = 300;
+  private static final int ACCOUNTS = 10;
+  private static final int POSTINGS_PER_ACCOUNT = 20;
+  private static final int THREADS = 8;
+
+  /**
+   * Sending waits for this gate, so closing it makes every client slow.
+   */
+  private static volatile CountDownLatch gate = new CountDownLatch(0);
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private EntriesService entriesService;
+
+  @Autowired
+  private BalanceUpdates balanceUpdates;
+
+  @Autowired
+  private BalanceEventsConfigurationData config;
+
+  private final List<MvcResult> streams = new ArrayList<>();
+
+
+  @AfterEach
+  void closeStreams() {
+    gate.countDown();
+    streams.forEach(stream -> stream.getRequest().getAsyncContext().complete());
+  }
+
+
+  /**
+   * Holds a few hundred streams on several accounts and one on the client
+   * while bookings run on many threads. Every stream receives every entry,
+   * and the last event carries the final balance.
+   */
+  @Test
+  void everyStreamReceivesEveryBooking() throws Exception {
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    List<String> ibans = new ArrayList<>();
+
+    for (int i = 0; i < ACCOUNTS; i++) {
+      ibans.add(addAccount(owner));
+    }
+
+    List<MvcResult> accountStreams = new ArrayList<>();
+
+    for (int i = 0; i < STREAMS; i++) {
+      accountStreams.add(open("/api/v2/accounts/" + ibans.get(i % ACCOUNTS) + "/events"));
+    }
+
+    MvcResult clientStream = open("/api/v2/clients/" + owner.getId() + "/events");
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+      List<Future<?>> postings = new ArrayList<>();
+
+      for (String iban : ibans) {
+        for (int i = 0; i < POSTINGS_PER_ACCOUNT; i++) {
+          postings.add(executor.submit(() -> deposit(iban)));
+        }
+      }
+
+      for (Future<?> posting : postings) {
+        posting.get();
+      }
+    }
+
+    for (MvcResult stream : accountStreams) {
+      await(() -> events(stream).size() == POSTINGS_PER_ACCOUNT);
+      assertBalance(POSTINGS_PER_ACCOUNT, events(stream).getLast());
+    }
+
+    await(() -> events(clientStream).size() == ACCOUNTS * POSTINGS_PER_ACCOUNT);
+  }
+
+
+  /**
+   * While the client does not read, only the newest events up to the buffer
+   * size are kept. The last one still carries the final balance.
+   */
+  @Test
+  void slowStreamDropsTheOldestEvents() throws Exception {
+    final int bufferSize = config.getSubscriberBufferSize();
+    final int postings = bufferSize + 10;
+    Client owner = clientsService.addClient(new Client(null, "Max", "Mustermann"));
+    String iban = addAccount(owner);
+
+    gate = new CountDownLatch(1);
+    MvcResult stream = open("/api/v2/accounts/" + iban + "/events");
+
+    // account subscribers are served before client subscribers of the same
+    // update, so this counts the updates the stream has been handed
+    AtomicInteger handedOver = new AtomicInteger();
+    BalanceUpdates.Subscription counter = balanceUpdates.subscribeToClient(owner.getId(),
+        new BalanceUpdates.Subscriber() {
+
+          @Override
+          public void accept(BalanceUpdate update) {
+            handedOver.incrementAndGet();
+          }
+
+
+          @Override
+          public void missed(String iban) {
+          }
+        });
+
+    for (int i = 0; i < postings; i++) {
+      deposit(iban);
+    }
+
+    await(() -> handedOver.get() == postings);
+    counter.cancel();
+    gate.countDown();
+
+    await(() -> events(stream).size() == bufferSize);
+    Thread.sleep(100);
+
+    List<JsonNode> events = events(stream);
+
+    assertEquals(bufferSize, events.size());
+    // entries dispatched together carry the same, newest balance
+    assertTrue(BigDecimal.valueOf(postings - bufferSize + 1)
+            .compareTo(events.getFirst().get("balance").decimalValue()) <= 0,
+        "balance of " + events.getFirst());
+    assertBalance(postings, events.getLast());
+  }
+
+
+  private String addAccount(Client owner) {
+    return accountsService.addSavingsAccount(
+        new SavingsAccount(null, null, Money.ZERO, BigDecimal.ZERO),
+        owner.getId()).getIban();
+  }
+
+
+  private void deposit(String iban) {
+    entriesService.makeEntry(iban, new Entry(iban, "Live", ZonedDateTime.now(), Money.of("1"), Entry.Type.DEPOSIT));
+  }
+
+
+  private MvcResult open(String path) throws Exception {
+    MvcResult stream = mockMvc.perform(get(path).accept(MediaType.TEXT_EVENT_STREAM))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    streams.add(stream);
+
+    return stream;
+  }
+
+
+  /**
+   * The data of the balance events received so far.
+   */
+  private List<JsonNode> events(MvcResult stream) {
+    try {
+      List<JsonNode> events = new ArrayList<>();
+      String name = null;
+
+      for (String line : stream.getResponse().getContentAsString().split("\n")) {
+        if (line.startsWith("event:")) {
+          name = line.substring("event:".length());
+        } else if (line.startsWith("data:") && "balance".equals(name)) {
+          events.add(objectMapper.readTree(line.substring("data:".length())));
+        }
+      }
+
+      return events;
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+
+  private static void assertBalance(long expected, JsonNode event) {
+    assertEquals(0, BigDecimal.valueOf(expected).compareTo(event.get("balance").decimalValue()),
+        "balance of " + event);
+  }
+
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    final long deadline = System.nanoTime() + 30_000_000_000L;
+
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.nanoTime() < deadline, "events were not sent in time");
+      Thread.sleep(10);
+    }
+  }
+
+
+  @TestConfiguration
+  static class GatedSending {
+
+    @Bean
+    @Primary
+    BalanceEventStreams gatedBalanceEventStreams(BalanceUpdates balanceUpdates,
+                                                 EntryDTOMapper entryMapper,
+                                                 BalanceEventsConfigurationData config) {
+      ExecutorService senders = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+          new SynchronousQueue<>()) {
+
+        @Override
+        protected void beforeExecute(Thread thread, Runnable task) {
+          try {
+            gate.await();
+          } catch (InterruptedException e) {
+            thread.interrupt();
+          }
+        }
+      };
+
+      return new BalanceEventStreams(balanceUpdates, entryMapper, config, senders);
+    }
+  }
+
+}
@@ -0,0 +1,81 @@
+package de.raywotrainings.banking.bankingservice.boundary.account;
+
+import de.raywotrainings.banking.bankingservice.control.account.AccountsService;
+import de.raywotrainings.banking.bankingservice.control.account.SavingsAccount;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:batch-bookings;DB_CLOSE_DELAY=-1",
+    "bank.booking.max-batch-size=2"
+})
+class BatchBookingsTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  private String deposit;
+
+
+  @BeforeEach
+  void openAccount() {
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    String iban = accountsService.addSavingsAccount(
+        new SavingsAccount(null, null, Money.ZERO, BigDecimal.ZERO), owner.getId()).getIban();
+    deposit = """
+        {"iban": "%s", "description": "Einzahlung", "entryDate": "2024-01-01T10:00:00Z", "amount": 10, "entryType": "deposit"}"""
+        .formatted(iban);
+  }
+
+
+  @Test
+  void batchesUpToTheMaximumSizeAreBooked() throws Exception {
+    bookBatch("[" + deposit + ", " + deposit + "]")
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2));
+  }
+
+
+  @Test
+  void largerBatchesAreRejected() throws Exception {
+    bookBatch("[" + deposit + ", " + deposit + ", " + deposit + "]")
+        .andExpect(status().isBadRequest());
+  }
+
+
+  @Test
+  void batchesWithNullAreRejected() throws Exception {
+    bookBatch("[" + deposit + ", null]")
+        .andExpect(status().isBadRequest());
+  }
+
+
+  private ResultActions bookBatch(String body) throws Exception {
+    return mockMvc.perform(post("/api/v2/accounts/entries:batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(body));
+  }
+
+}
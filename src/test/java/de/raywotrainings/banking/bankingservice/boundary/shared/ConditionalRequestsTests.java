@@ -0,0 +1,171 @@
+package de.raywotrainings.banking.bankingservice.boundary.shared;
+
+import de.raywotrainings.banking.bankingservice.control.account.AccountsService;
+import de.raywotrainings.banking.bankingservice.control.account.CurrentAccount;
+import de.raywotrainings.banking.bankingservice.control.account.EntriesService;
+import de.raywotrainings.banking.bankingservice.control.account.Entry;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:conditional-requests;DB_CLOSE_DELAY=-1")
+class ConditionalRequestsTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private EntriesService entriesService;
+
+  private Client owner;
+  private String iban;
+
+
+  @BeforeEach
+  void openAccount() {
+    owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    iban = accountsService.addCurrentAccount(
+        new CurrentAccount(null, null, Money.ZERO, Money.ZERO, BigDecimal.ZERO),
+        owner.getId()).getIban();
+  }
+
+
+  @Test
+  void accountIsNotModifiedUntilBooking() throws Exception {
+    String path = "/api/v2/accounts/" + iban;
+    String eTag = eTag(path);
+
+    notModified(path, eTag);
+
+    deposit();
+
+    assertNotEquals(eTag, modified(path, eTag));
+  }
+
+
+  @Test
+  void accountIsModifiedWithOwner() throws Exception {
+    String path = "/api/v2/accounts/" + iban;
+    String eTag = eTag(path);
+
+    clientsService.updateClientById(owner.getId(), new Client(null, "Erika", "Musterfrau"));
+
+    assertNotEquals(eTag, modified(path, eTag));
+  }
+
+
+  @Test
+  void clientIsNotModifiedUntilUpdate() throws Exception {
+    String path = "/api/v2/clients/" + owner.getId();
+    String eTag = eTag(path);
+
+    notModified(path, eTag);
+
+    clientsService.updateClientById(owner.getId(), new Client(null, "Erika", "Musterfrau"));
+
+    assertNotEquals(eTag, modified(path, eTag));
+  }
+
+
+  @Test
+  void entriesAreNotModifiedUntilBooking() throws Exception {
+    deposit();
+    String path = "/api/v2/accounts/" + iban + "/entries";
+    String eTag = eTag(path);
+
+    notModified(path, eTag);
+    notModified(path, "W/" + eTag + ", \"0\"");
+
+    deposit();
+
+    assertNotEquals(eTag, modified(path, eTag));
+  }
+
+
+  @Test
+  void entriesAreModifiedByBatchesThatKeepTheBalance() throws Exception {
+    deposit();
+    String path = "/api/v2/accounts/" + iban + "/entries";
+    String eTag = eTag(path);
+
+    entriesService.makeEntries(List.of(
+        new Entry(iban, "Einzahlung", ZonedDateTime.now(), Money.of("5"), Entry.Type.DEPOSIT),
+        new Entry(iban, "Auszahlung", ZonedDateTime.now(), Money.of("5"), Entry.Type.WITHDRAW)));
+
+    assertNotEquals(eTag, modified(path, eTag));
+  }
+
+
+  @Test
+  void closedAccountIsNotFound() throws Exception {
+    String path = "/api/v2/accounts/" + iban;
+    String eTag = eTag(path);
+
+    accountsService.deleteAccountByIban(iban);
+
+    mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotFound());
+  }
+
+
+  private String eTag(String path) throws Exception {
+    String eTag = mockMvc.perform(get(path))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse()
+        .getHeader(HttpHeaders.ETAG);
+
+    assertNotNull(eTag);
+
+    return eTag;
+  }
+
+
+  private void notModified(String path, String ifNoneMatch) throws Exception {
+    mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+        .andExpect(status().isNotModified())
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andExpect(content().string(""));
+  }
+
+
+  private String modified(String path, String ifNoneMatch) throws Exception {
+    return mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse()
+        .getHeader(HttpHeaders.ETAG);
+  }
+
+
+  private void deposit() {
+    entriesService.makeEntry(iban, new Entry(iban, "Einzahlung", ZonedDateTime.now(), Money.of("10"),
+        Entry.Type.DEPOSIT));
+  }
+
+}
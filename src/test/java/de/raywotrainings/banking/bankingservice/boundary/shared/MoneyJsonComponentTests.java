@@ -0,0 +1,111 @@
+package de.raywotrainings.banking.bankingservice.boundary.shared;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.raywotrainings.banking.bankingservice.control.account.AccountsService;
+import de.raywotrainings.banking.bankingservice.control.account.SavingsAccount;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:money-json;DB_CLOSE_DELAY=-1")
+class MoneyJsonComponentTests {
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+
+  @Test
+  void amountsAreWrittenAsNumbersWithTwoDecimalPlaces() throws Exception {
+    assertEquals("1234.50", objectMapper.writeValueAsString(Money.of("1234.5")));
+    assertEquals("-0.05", objectMapper.writeValueAsString(Money.ofCents(-5)));
+    assertEquals("{\"amount\":0.00}", objectMapper.writeValueAsString(new Amount(Money.ZERO)));
+  }
+
+
+  @Test
+  void amountsAreReadFromNumbersAndStrings() throws Exception {
+    assertEquals(Money.of("12.34"), read("12.34"));
+    assertEquals(Money.of("12.30"), read("12.3"));
+    assertEquals(Money.of("12"), read("12"));
+    assertEquals(Money.of("12.34"), read("\" 12.34 \""));
+  }
+
+
+  @Test
+  void amountsSurviveARoundTrip() throws Exception {
+    for (String amount : new String[]{"0.01", "1234.50", "-99.99", "92233720368547758.07"}) {
+      Money money = Money.of(amount);
+
+      assertEquals(money, read(objectMapper.writeValueAsString(money)));
+    }
+  }
+
+
+  @Test
+  void amountsWithMoreThanTwoDecimalPlacesAreRejected() {
+    assertThrows(JsonProcessingException.class, () -> read("1.234"));
+    assertThrows(JsonProcessingException.class, () -> read("\"1.234\""));
+    assertThrows(JsonProcessingException.class, () -> read("\"abc\""));
+  }
+
+
+  @Test
+  void bookingAnAmountWithMoreThanTwoDecimalPlacesIsABadRequest() throws Exception {
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    String iban = accountsService.addSavingsAccount(
+        new SavingsAccount(null, null, Money.ZERO, BigDecimal.ZERO), owner.getId()).getIban();
+
+    mockMvc.perform(post("/api/v2/accounts/" + iban + "/deposits")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(deposit("10.005")))
+        .andExpect(status().isBadRequest());
+
+    mockMvc.perform(post("/api/v2/accounts/" + iban + "/deposits")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(deposit("10.50")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.amount").value(10.50));
+  }
+
+
+  private Money read(String json) throws JsonProcessingException {
+    return objectMapper.readValue("{\"amount\":" + json + "}", Amount.class).amount();
+  }
+
+
+  private static String deposit(String amount) {
+    return """
+        {"description": "Einzahlung", "entryDate": "2024-01-01T10:00:00Z", "amount": %s, "entryType": "deposit"}"""
+        .formatted(amount);
+  }
+
+
+  private record Amount(Money amount) {
+  }
+
+}
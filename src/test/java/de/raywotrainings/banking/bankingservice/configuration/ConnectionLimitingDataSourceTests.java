@@ -0,0 +1,106 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionLimitingDataSourceTests {
+
+  private static final int POOL_SIZE = 3;
+  private static final Duration TIMEOUT = Duration.ofMillis(500);
+
+  private HikariDataSource pool;
+
+
+  @BeforeEach
+  void createPool() {
+    pool = new HikariDataSource();
+    pool.setJdbcUrl("jdbc:h2:mem:connection-limiting;DB_CLOSE_DELAY=-1");
+    pool.setMaximumPoolSize(POOL_SIZE);
+  }
+
+
+  @AfterEach
+  void closePool() {
+    pool.close();
+  }
+
+
+  @Test
+  void threadsWaitForAPermit() throws Exception {
+    ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, 1, TIMEOUT);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+         Connection held = dataSource.getConnection()) {
+      assertNotNull(held);
+
+      Future<?> other = executor.submit(() -> dataSource.getConnection().close());
+      Exception e = assertThrows(Exception.class, () -> other.get(5, TimeUnit.SECONDS));
+
+      assertInstanceOf(SQLTransientConnectionException.class, e.getCause());
+    }
+
+    // the permit is back after the connection was closed
+    dataSource.getConnection().close();
+  }
+
+
+  /**
+   * Every thread holds a permit and then opens a connection for a nested
+   * transaction, like opening a current account does. The nested
+   * connections come from the connections without permits.
+   */
+  @Test
+  void nestedConnectionsDoNotWaitForPermits() throws Exception {
+    final int permits = POOL_SIZE - 1;
+    ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, permits, TIMEOUT);
+    CyclicBarrier allHoldPermits = new CyclicBarrier(permits);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<?>> threads = new ArrayList<>();
+
+      for (int i = 0; i < permits; i++) {
+        threads.add(executor.submit(() -> {
+          try (Connection outer = dataSource.getConnection()) {
+            allHoldPermits.await(5, TimeUnit.SECONDS);
+
+            try (Connection nested = dataSource.getConnection()) {
+              assertNotSame(outer, nested);
+            }
+          }
+
+          return null;
+        }));
+      }
+
+      for (Future<?> thread : threads) {
+        thread.get(10, TimeUnit.SECONDS);
+      }
+    }
+
+    // both permits are back, nested connections did not take any
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+         Connection held = dataSource.getConnection()) {
+      assertNotNull(held);
+      executor.submit(() -> {
+        dataSource.getConnection().close();
+        return null;
+      }).get(5, TimeUnit.SECONDS);
+    }
+  }
+
+}
@@ -0,0 +1,116 @@
+package de.raywotrainings.banking.bankingservice.configuration;
+
+import de.raywotrainings.banking.bankingservice.control.account.AccountsService;
+import de.raywotrainings.banking.bankingservice.control.account.CurrentAccount;
+import de.raywotrainings.banking.bankingservice.control.account.EntriesService;
+import de.raywotrainings.banking.bankingservice.control.account.Entry;
+import de.raywotrainings.banking.bankingservice.control.account.OverdraftInterestService;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the paths that open a nested {@code REQUIRES_NEW} transaction while
+ * holding a connection, with far more threads than connections. Without
+ * connections reserved for them, the threads would hold all permits and
+ * wait for each other until the permit timeout.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:nested-transactions;DB_CLOSE_DELAY=-1",
+    "spring.threads.virtual.enabled=true",
+    "spring.datasource.hikari.maximum-pool-size=3",
+    "bank.virtual-threads.jdbc-reserved-connections=1",
+    "bank.virtual-threads.jdbc-permit-timeout=5s",
+    // every account opened leases a new block of account numbers
+    "bank.account-number-block-size=1"
+})
+class NestedTransactionsTests {
+
+  private static final int THREADS = 64;
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private EntriesService entriesService;
+
+  @Autowired
+  private OverdraftInterestService overdraftInterestService;
+
+
+  @Test
+  void currentAccountsAreOpenedConcurrently() throws Exception {
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    List<Future<String>> openings = new ArrayList<>();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < THREADS; i++) {
+        openings.add(executor.submit(() -> addCurrentAccount(owner)));
+      }
+
+      HashSet<String> ibans = new HashSet<>();
+
+      for (Future<String> opening : openings) {
+        ibans.add(opening.get(30, TimeUnit.SECONDS));
+      }
+
+      assertEquals(THREADS, ibans.size());
+    }
+  }
+
+
+  @Test
+  void overdraftInterestIsChargedWhileBooking() throws Exception {
+    Client owner = clientsService.addClient(new Client(null, "Max", "Mustermann"));
+    List<String> ibans = new ArrayList<>();
+
+    for (int i = 0; i < THREADS; i++) {
+      String iban = addCurrentAccount(owner);
+      entriesService.makeEntry(iban, new Entry(iban, "Auszahlung", ZonedDateTime.now().minusDays(1),
+          Money.of("100"), Entry.Type.WITHDRAW));
+      ibans.add(iban);
+    }
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<?>> work = new ArrayList<>();
+
+      work.add(executor.submit(() -> overdraftInterestService.chargeInterest(LocalDate.now().minusDays(1))));
+
+      for (String iban : ibans) {
+        work.add(executor.submit(() -> entriesService.makeEntry(iban,
+            new Entry(iban, "Einzahlung", ZonedDateTime.now(), Money.of("1"), Entry.Type.DEPOSIT))));
+      }
+
+      for (Future<?> task : work) {
+        task.get(30, TimeUnit.SECONDS);
+      }
+    }
+  }
+
+
+  private String addCurrentAccount(Client owner) {
+    return accountsService.addCurrentAccount(
+        new CurrentAccount(null, null, Money.ZERO, Money.of("1000"), new BigDecimal("10.00")),
+        owner.getId()).getIban();
+  }
+
+}
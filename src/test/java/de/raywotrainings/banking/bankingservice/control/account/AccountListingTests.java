@@ -0,0 +1,98 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the statements prepared on the test thread only. The change feed and
+ * the client cache run scheduled statements on other threads at any time.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:account-listing;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "de.raywotrainings.banking.bankingservice.control.account.AccountListingTests$StatementCounter"
+})
+class AccountListingTests {
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+
+  @Test
+  void listingAccountsTakesConstantNumberOfStatements() {
+    addAccountsWithDistinctOwners(2);
+    long allBefore = statementsFor(() -> accountsService.getAllAccounts(null));
+    long currentBefore = statementsFor(accountsService::getCurrentAccounts);
+    long savingsBefore = statementsFor(accountsService::getSavingsAccounts);
+
+    Client owner = addAccountsWithDistinctOwners(20);
+    long allAfter = statementsFor(() -> accountsService.getAllAccounts(null));
+    long currentAfter = statementsFor(accountsService::getCurrentAccounts);
+    long savingsAfter = statementsFor(accountsService::getSavingsAccounts);
+    long byOwner = statementsFor(() -> accountsService.getAllAccounts(owner.getId()));
+
+    assertEquals(allBefore, allAfter, "statements for all accounts");
+    assertEquals(currentBefore, currentAfter, "statements for current accounts");
+    assertEquals(savingsBefore, savingsAfter, "statements for savings accounts");
+    assertEquals(1, allAfter, "statements for all accounts");
+    assertEquals(1, byOwner, "statements for accounts of one owner");
+  }
+
+
+  /**
+   * Adds a current and a savings account for each of the given number of new
+   * clients. Returns the last client.
+   */
+  private Client addAccountsWithDistinctOwners(int count) {
+    Client owner = null;
+
+    for (int i = 0; i < count; i++) {
+      owner = clientsService.addClient(new Client(null, "Erika", "Mustermann " + i));
+      accountsService.addCurrentAccount(
+          new CurrentAccount(null, null, Money.ZERO, Money.ZERO, BigDecimal.ZERO),
+          owner.getId());
+      accountsService.addSavingsAccount(
+          new SavingsAccount(null, null, Money.ZERO, BigDecimal.ZERO),
+          owner.getId());
+    }
+
+    return owner;
+  }
+
+
+  private long statementsFor(Supplier<?> listing) {
+    StatementCounter.COUNT.get()[0] = 0;
+    listing.get();
+
+    return StatementCounter.COUNT.get()[0];
+  }
+
+
+  public static class StatementCounter implements StatementInspector {
+
+    static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+
+    @Override
+    public String inspect(String sql) {
+      COUNT.get()[0]++;
+
+      return sql;
+    }
+
+  }
+
+}
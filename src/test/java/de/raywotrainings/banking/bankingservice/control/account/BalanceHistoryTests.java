@@ -0,0 +1,120 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.configuration.BankConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import de.raywotrainings.banking.bankingservice.entity.account.BalanceSnapshotEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.BalanceSnapshotRepository;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares point-in-time balances from snapshots with a replay of all
+ * entries, for entries booked before, between, exactly at and after
+ * snapshot times.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:balance-history;DB_CLOSE_DELAY=-1")
+class BalanceHistoryTests {
+
+  private static final ZonedDateTime EARLIEST = ZonedDateTime.of(1900, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private BookingService bookingService;
+
+  @Autowired
+  private BalanceHistoryService balanceHistoryService;
+
+  @Autowired
+  private BalanceSnapshotRepository snapshotRepo;
+
+  @Autowired
+  private EntryRepository entryRepo;
+
+  @Autowired
+  private BankConfigurationData bankConfig;
+
+  private String iban;
+  private ZonedDateTime today;
+
+
+  @BeforeEach
+  void openAccount() {
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    iban = accountsService.addCurrentAccount(
+        new CurrentAccount(null, null, Money.ZERO, Money.of("1000"), BigDecimal.ZERO),
+        owner.getId()).getIban();
+    today = LocalDate.now(bankConfig.getTimeZone()).atStartOfDay(bankConfig.getTimeZone());
+  }
+
+
+  @Test
+  void snapshotsMatchReplayWithBackDatedEntries() {
+    book(today.minusDays(5), "100", Entry.Type.DEPOSIT);
+    book(today.minusDays(2).plusHours(3), "30", Entry.Type.WITHDRAW);
+
+    snapshot(today.minusDays(2));
+    snapshot(today.minusDays(1));
+    balanceHistoryService.takeSnapshots();
+
+    // back-dated: before all snapshots, between two, exactly at one
+    book(today.minusDays(4), "7", Entry.Type.DEPOSIT);
+    book(today.minusDays(1).minusHours(6), "12", Entry.Type.WITHDRAW);
+    book(today.minusDays(1), "5", Entry.Type.DEPOSIT);
+    book(today, "3", Entry.Type.DEPOSIT);
+    // in the current business day
+    book(ZonedDateTime.now(bankConfig.getTimeZone()), "1", Entry.Type.WITHDRAW);
+
+    List<ZonedDateTime> pointsInTime = List.of(
+        today.minusDays(6),
+        today.minusDays(4),
+        today.minusDays(2).minusNanos(1),
+        today.minusDays(2),
+        today.minusDays(2).plusHours(3),
+        today.minusDays(1).minusNanos(1),
+        today.minusDays(1),
+        today.minusNanos(1),
+        today,
+        today.plusNanos(1),
+        ZonedDateTime.now(bankConfig.getTimeZone())
+    );
+
+    for (ZonedDateTime at : pointsInTime) {
+      assertEquals(replayed(at), balanceHistoryService.getBalanceAt(iban, at), "balance at " + at);
+    }
+  }
+
+
+  private void book(ZonedDateTime entryDate, String amount, Entry.Type type) {
+    bookingService.book(iban, new Entry(iban, "Buchung", entryDate, Money.of(amount), type));
+  }
+
+
+  private void snapshot(ZonedDateTime takenAt) {
+    snapshotRepo.save(new BalanceSnapshotEntity(iban, takenAt, replayed(takenAt).toBigDecimal()));
+  }
+
+
+  private Money replayed(ZonedDateTime at) {
+    return Money.of(Objects.requireNonNullElse(entryRepo.sumBetween(iban, EARLIEST, at), BigDecimal.ZERO));
+  }
+
+}
@@ -0,0 +1,243 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.configuration.BalanceEventsConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import de.raywotrainings.banking.bankingservice.entity.account.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:balance-updates;DB_CLOSE_DELAY=-1")
+class BalanceUpdatesTests {
+
+  private static final int SUBSCRIPTIONS = 50_000;
+  private static final int ACCOUNTS = 100;
+  private static final int POSTINGS_PER_ACCOUNT = 20;
+  private static final int THREADS = 16;
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private EntriesService entriesService;
+
+  @Autowired
+  private BalanceUpdates balanceUpdates;
+
+  @Autowired
+  private AccountRepository accountRepo;
+
+
+  /**
+   * Holds 50k subscriptions, most of them on accounts that are not booked,
+   * while bookings run on many threads. Every subscriber of a booked account
+   * receives every entry, and the last update carries the final balance.
+   */
+  @Test
+  void manySubscribersReceiveAllUpdates() throws Exception {
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    List<String> ibans = new ArrayList<>();
+
+    for (int i = 0; i < ACCOUNTS; i++) {
+      ibans.add(accountsService.addSavingsAccount(
+          new SavingsAccount(null, null, Money.ZERO, BigDecimal.ZERO),
+          owner.getId()).getIban());
+    }
+
+    List<Subscriber> booked = new ArrayList<>();
+    List<BalanceUpdates.Subscription> subscriptions = new ArrayList<>();
+
+    for (int i = 0; i < SUBSCRIPTIONS; i++) {
+      Subscriber subscriber = new Subscriber();
+
+      if (i < ACCOUNTS) {
+        booked.add(subscriber);
+        subscriptions.add(balanceUpdates.subscribeToAccount(ibans.get(i), subscriber));
+      } else {
+        // idle subscribers of accounts without postings
+        subscriptions.add(balanceUpdates.subscribeToAccount("DE00" + String.format("%018d", i), subscriber));
+      }
+    }
+
+    Subscriber client = new Subscriber();
+    subscriptions.add(balanceUpdates.subscribeToClient(owner.getId(), client));
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+      List<Future<?>> postings = new ArrayList<>();
+
+      for (String iban : ibans) {
+        for (int i = 0; i < POSTINGS_PER_ACCOUNT; i++) {
+          postings.add(executor.submit(() -> entriesService.makeEntry(iban,
+              new Entry(iban, "Live", ZonedDateTime.now(), Money.of("1"), Entry.Type.DEPOSIT))));
+        }
+      }
+
+      for (Future<?> posting : postings) {
+        posting.get();
+      }
+    }
+
+    final int total = ACCOUNTS * POSTINGS_PER_ACCOUNT;
+
+    await(() -> client.received.get() == total);
+
+    for (Subscriber subscriber : booked) {
+      await(() -> subscriber.received.get() == POSTINGS_PER_ACCOUNT);
+      assertEquals(Money.of(String.valueOf(POSTINGS_PER_ACCOUNT)), subscriber.lastBalance);
+    }
+
+    subscriptions.forEach(BalanceUpdates.Subscription::cancel);
+    assertEquals(0, balanceUpdates.subscribers());
+  }
+
+
+  @Test
+  void clientSubscribersReceiveUpdatesOfAccountsOpenedLater() throws Exception {
+    Client owner = clientsService.addClient(new Client(null, "Max", "Mustermann"));
+    Subscriber client = new Subscriber();
+    BalanceUpdates.Subscription subscription = balanceUpdates.subscribeToClient(owner.getId(), client);
+
+    try {
+      String iban = addSavingsAccount(owner);
+      deposit(iban);
+
+      await(() -> client.received.get() == 1);
+      assertEquals(Money.of("1"), client.lastBalance);
+    } finally {
+      subscription.cancel();
+    }
+  }
+
+
+  /**
+   * Blocks the dispatcher of a separate instance with a queue of one entry.
+   * Entries of accounts nobody subscribed to are not queued at all; of the
+   * others, those that do not fit are dropped and their subscribers are told.
+   */
+  @Test
+  void subscribersLearnAboutDroppedUpdates() throws Exception {
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Musterfrau"));
+    String iban = addSavingsAccount(owner);
+    String unwatched = addSavingsAccount(clientsService.addClient(new Client(null, "Max", "Musterfrau")));
+
+    BalanceEventsConfigurationData config = new BalanceEventsConfigurationData();
+    config.setDispatchQueueSize(1);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    BalanceUpdates updates = new BalanceUpdates(accountRepo, config, meterRegistry);
+
+    Subscriber account = new Subscriber();
+    Subscriber client = new Subscriber();
+    account.gate = new CountDownLatch(1);
+
+    try {
+      updates.subscribeToAccount(iban, account);
+      updates.subscribeToClient(owner.getId(), client);
+
+      updates.entryBooked(booked(iban));
+      await(() -> account.received.get() == 1);
+
+      for (int i = 0; i < 5; i++) {
+        updates.entryBooked(booked(unwatched));
+      }
+
+      assertEquals(0, meterRegistry.counter("bank.events.dropped").count());
+      assertTrue(account.missed.isEmpty());
+
+      // the first one is queued, the second one dropped
+      updates.entryBooked(booked(iban));
+      updates.entryBooked(booked(iban));
+
+      assertEquals(1, meterRegistry.counter("bank.events.dropped").count());
+      assertEquals(Set.of(iban), account.missed);
+      assertEquals(Set.of(iban), client.missed);
+
+      account.gate.countDown();
+      await(() -> account.received.get() == 2 && client.received.get() == 2);
+    } finally {
+      account.gate.countDown();
+      updates.shutdown();
+    }
+  }
+
+
+  private String addSavingsAccount(Client owner) {
+    return accountsService.addSavingsAccount(
+        new SavingsAccount(null, null, Money.ZERO, BigDecimal.ZERO),
+        owner.getId()).getIban();
+  }
+
+
+  private void deposit(String iban) {
+    entriesService.makeEntry(iban, new Entry(iban, "Live", ZonedDateTime.now(), Money.of("1"), Entry.Type.DEPOSIT));
+  }
+
+
+  private static EntryBookedEvent booked(String iban) {
+    return new EntryBookedEvent(new Entry(iban, "Live", ZonedDateTime.now(), Money.of("1"), Entry.Type.DEPOSIT));
+  }
+
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    final long deadline = System.nanoTime() + 30_000_000_000L;
+
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.nanoTime() < deadline, "updates were not delivered in time");
+      Thread.sleep(10);
+    }
+  }
+
+
+  private static final class Subscriber implements BalanceUpdates.Subscriber {
+
+    final AtomicInteger received = new AtomicInteger();
+    final Set<String> missed = ConcurrentHashMap.newKeySet();
+    volatile Money lastBalance;
+
+    /**
+     * Holds up the dispatcher after an update was received.
+     */
+    volatile CountDownLatch gate = new CountDownLatch(0);
+
+
+    @Override
+    public void accept(BalanceUpdate update) {
+      lastBalance = update.balance();
+      received.incrementAndGet();
+
+      try {
+        gate.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+
+    @Override
+    public void missed(String iban) {
+      missed.add(iban);
+    }
+  }
+
+}
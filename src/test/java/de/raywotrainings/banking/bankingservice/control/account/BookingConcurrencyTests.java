@@ -0,0 +1,101 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:booking-concurrency;DB_CLOSE_DELAY=-1")
+class BookingConcurrencyTests {
+
+  private static final int THREADS = 32;
+  private static final int POSTINGS = 4000;
+  private static final Money OVERDRAFT_LIMIT = Money.of("500");
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private EntriesService entriesService;
+
+  @Autowired
+  private EntryRepository entryRepo;
+
+
+  @Test
+  void parallelPostingsMatchPersistedEntries() throws Exception {
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    List<String> ibans = List.of(
+        accountsService.addCurrentAccount(
+            new CurrentAccount(null, null, Money.ZERO, OVERDRAFT_LIMIT, BigDecimal.ZERO),
+            owner.getId()).getIban(),
+        accountsService.addSavingsAccount(
+            new SavingsAccount(null, null, Money.ZERO, BigDecimal.ZERO),
+            owner.getId()).getIban()
+    );
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+      List<Future<?>> postings = new ArrayList<>();
+
+      for (int i = 0; i < POSTINGS; i++) {
+        postings.add(executor.submit(() -> post(ibans)));
+      }
+
+      for (Future<?> posting : postings) {
+        posting.get();
+      }
+    }
+
+    for (String iban : ibans) {
+      Account account = accountsService.getAccountByIban(iban);
+
+      assertEquals(0, sumOfEntries(iban).compareTo(account.getBalance().toBigDecimal()),
+          "balance of " + iban + " differs from its entries");
+      assertTrue(!account.availableAmount().isNegative(),
+          "funds rule violated for " + iban);
+    }
+  }
+
+
+  private void post(List<String> ibans) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String iban = ibans.get(random.nextInt(ibans.size()));
+    Entry.Type type = random.nextBoolean() ? Entry.Type.DEPOSIT : Entry.Type.WITHDRAW;
+    Money amount = Money.ofCents(100L * (1 + random.nextInt(200)));
+
+    try {
+      entriesService.makeEntry(iban, new Entry(iban, "Stresstest", ZonedDateTime.now(), amount, type));
+    } catch (InsufficientFundsException e) {
+      // expected whenever a withdrawal is not covered
+    }
+  }
+
+
+  private BigDecimal sumOfEntries(String iban) {
+    return entryRepo.findAll()
+        .stream()
+        .filter(e -> e.getIban().equals(iban))
+        .map(e -> e.getType() == EntryEntity.Type.DEPOSIT ? e.getAmount() : e.getAmount().negate())
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+  }
+
+}
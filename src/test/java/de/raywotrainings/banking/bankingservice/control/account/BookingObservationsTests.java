@@ -0,0 +1,67 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:booking-observations;DB_CLOSE_DELAY=-1")
+class BookingObservationsTests {
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private EntriesService entriesService;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+
+  @Test
+  void rejectedWithdrawalsAreTaggedWithTheAccountType() {
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    String savings = accountsService.addSavingsAccount(
+        new SavingsAccount(null, null, Money.ZERO, BigDecimal.ZERO), owner.getId()).getIban();
+    String current = accountsService.addCurrentAccount(
+        new CurrentAccount(null, null, Money.ZERO, Money.ZERO, BigDecimal.ZERO), owner.getId()).getIban();
+
+    final long savingsBefore = rejected("savings");
+    final long currentBefore = rejected("current");
+
+    assertThrows(InsufficientFundsException.class, () -> withdraw(savings));
+    assertThrows(InsufficientFundsException.class, () -> withdraw(current));
+
+    assertEquals(savingsBefore + 1, rejected("savings"));
+    assertEquals(currentBefore + 1, rejected("current"));
+  }
+
+
+  private void withdraw(String iban) {
+    entriesService.makeEntry(iban,
+        new Entry(iban, "Auszahlung", ZonedDateTime.now(), Money.of("100"), Entry.Type.WITHDRAW));
+  }
+
+
+  private long rejected(String accountType) {
+    Timer timer = meterRegistry.find(AccountObservations.BOOKING)
+        .tags("account.type", accountType, "outcome", "insufficient_funds")
+        .timer();
+
+    return timer != null ? timer.count() : 0;
+  }
+
+}
@@ -0,0 +1,133 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:booking-queue;DB_CLOSE_DELAY=-1",
+    "bank.async-booking.enabled=true",
+    "bank.async-booking.partitions=4",
+    "bank.async-booking.batch-size=50"
+})
+class BookingQueueTests {
+
+  private static final int ACCOUNTS = 8;
+  private static final int ROUNDS = 250;
+  private static final Money AMOUNT = Money.of("10");
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private BookingQueue bookingQueue;
+
+
+  /**
+   * Every withdrawal is only covered by the deposit queued right before it,
+   * so all of them are booked only if each account's postings keep their
+   * order.
+   */
+  @Test
+  void postingsOfAnAccountAreBookedInOrder() throws Exception {
+    List<String> ibans = savingsAccounts();
+    List<UUID> ids = new ArrayList<>();
+
+    for (int round = 0; round < ROUNDS; round++) {
+      for (String iban : ibans) {
+        ids.add(submit(iban, Entry.Type.DEPOSIT));
+        ids.add(submit(iban, Entry.Type.WITHDRAW));
+      }
+    }
+
+    awaitBooked(ids);
+
+    for (UUID id : ids) {
+      assertEquals(BookingResult.Status.BOOKED, bookingQueue.result(id).orElseThrow().status());
+    }
+
+    for (String iban : ibans) {
+      assertEquals(Money.ZERO, accountsService.getAccountByIban(iban).getBalance());
+    }
+  }
+
+
+  @Test
+  @DirtiesContext
+  void shutdownBooksQueuedPostings() {
+    List<String> ibans = savingsAccounts();
+    List<UUID> ids = new ArrayList<>();
+
+    for (int round = 0; round < ROUNDS; round++) {
+      for (String iban : ibans) {
+        ids.add(submit(iban, Entry.Type.DEPOSIT));
+      }
+    }
+
+    bookingQueue.stop();
+
+    for (UUID id : ids) {
+      assertEquals(BookingResult.Status.BOOKED, bookingQueue.result(id).orElseThrow().status());
+    }
+
+    Money expected = Money.ZERO;
+
+    for (int round = 0; round < ROUNDS; round++) {
+      expected = expected.plus(AMOUNT);
+    }
+
+    for (String iban : ibans) {
+      assertEquals(expected, accountsService.getAccountByIban(iban).getBalance());
+    }
+  }
+
+
+  private List<String> savingsAccounts() {
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    List<String> ibans = new ArrayList<>();
+
+    for (int i = 0; i < ACCOUNTS; i++) {
+      ibans.add(accountsService.addSavingsAccount(
+          new SavingsAccount(null, null, Money.ZERO, BigDecimal.ZERO),
+          owner.getId()).getIban());
+    }
+
+    return ibans;
+  }
+
+
+  private UUID submit(String iban, Entry.Type type) {
+    Entry entry = new Entry(iban, "Warteschlange", ZonedDateTime.now(), AMOUNT, type);
+
+    return bookingQueue.submit(iban, entry).entry().getId();
+  }
+
+
+  private void awaitBooked(List<UUID> ids) throws InterruptedException {
+    final long deadline = System.nanoTime() + 30_000_000_000L;
+
+    for (UUID id : ids) {
+      while (bookingQueue.result(id).orElseThrow().status() == BookingResult.Status.QUEUED) {
+        assertTrue(System.nanoTime() < deadline, "postings were not booked in time");
+        Thread.sleep(10);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,96 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IbanCodecTests {
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "DE89370400440532013000",
+      "DE02120300000000202051",
+      "DE02500105170137075030",
+      "DE44500105175407324931",
+      "DE94860301200000000001",
+      "GB82WEST12345698765432",
+      "MT84MALT011000012345MTLCAST001S"
+  })
+  void knownIbansAreValid(String iban) {
+    assertTrue(IbanCodec.isValid(iban));
+  }
+
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "DE88370400440532013000",
+      "DE90370400440532013000",
+      "DE00370400440532013000",
+      "DE99370400440532013000",
+      // two digits swapped
+      "DE89370400440532031000"
+  })
+  void wrongCheckDigitsAreInvalid(String iban) {
+    assertFalse(IbanCodec.isValid(iban));
+  }
+
+
+  @Test
+  void lengthsFrom15To34AreAccepted() {
+    assertTrue(IbanCodec.isValid("NO9386011117947"));
+    assertTrue(IbanCodec.isValid("DE87123456789012345678901234567890"));
+
+    assertFalse(IbanCodec.isValid("NO938601111794"));
+    assertFalse(IbanCodec.isValid("DE871234567890123456789012345678901"));
+  }
+
+
+  @ParameterizedTest
+  @NullAndEmptySource
+  @ValueSource(strings = {
+      // lower case
+      "de89370400440532013000",
+      "DE89x70400440532013000",
+      // blanks as in the printed form
+      "DE89 3704 0044 0532 0130 00",
+      // digits where the country code belongs, letters where check digits belong
+      "1289370400440532013000",
+      "DEAB370400440532013000",
+      "DE89370400440532013-00",
+      "DE8937040044053201300Ä"
+  })
+  void malformedIbansAreInvalid(String iban) {
+    assertFalse(IbanCodec.isValid(iban));
+  }
+
+
+  @Test
+  void generatedIbansAreValid() {
+    assertEquals("DE94860301200000000001", IbanCodec.generate("DE", "86030120", 1));
+    assertEquals("DE86860301209999999999", IbanCodec.generate("DE", "86030120", 9_999_999_999L));
+    assertEquals("DE89370400440532013000", IbanCodec.generate("DE", "37040044", 532013000));
+
+    for (long accountNumber = 0; accountNumber < 10_000; accountNumber++) {
+      assertTrue(IbanCodec.isValid(IbanCodec.generate("DE", "86030120", accountNumber)));
+    }
+  }
+
+
+  @Test
+  void accountNumbersHaveAtMostTenDigits() {
+    assertThrows(IllegalArgumentException.class, () -> IbanCodec.generate("DE", "86030120", -1));
+    assertThrows(IllegalArgumentException.class, () -> IbanCodec.generate("DE", "86030120", 10_000_000_000L));
+  }
+
+
+  @Test
+  void checkDigitsOfABban() {
+    assertEquals(89, IbanCodec.checkDigits("DE", "370400440532013000"));
+    assertEquals(82, IbanCodec.checkDigits("GB", "WEST12345698765432"));
+    assertThrows(IllegalArgumentException.class, () -> IbanCodec.checkDigits("DE", "3704 0044"));
+  }
+
+}
@@ -0,0 +1,90 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1")
+class IdempotencyTests {
+
+  private static final Money AMOUNT = Money.of("100");
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private EntriesService entriesService;
+
+  @Autowired
+  private IdempotencyKeys idempotencyKeys;
+
+  private String iban;
+
+
+  @BeforeEach
+  void openAccount() {
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    iban = accountsService.addCurrentAccount(
+        new CurrentAccount(null, null, Money.ZERO, Money.ZERO, BigDecimal.ZERO),
+        owner.getId()).getIban();
+  }
+
+
+  @Test
+  void repeatedKeyReturnsFirstEntry() {
+    String key = UUID.randomUUID().toString();
+
+    Entry first = entriesService.makeEntry(iban, deposit(), key);
+    Entry second = entriesService.makeEntry(iban, deposit(), key);
+
+    assertEquals(first.getId(), second.getId());
+    assertEquals(AMOUNT, accountsService.getAccountByIban(iban).getBalance());
+  }
+
+
+  @Test
+  void repeatedKeyIsRecognizedWithoutMemory() {
+    String key = UUID.randomUUID().toString();
+
+    Entry first = entriesService.makeEntry(iban, deposit(), key);
+    // as after a restart or on another instance
+    idempotencyKeys.clearRecent();
+    Entry second = entriesService.makeEntry(iban, deposit(), key);
+
+    assertEquals(first.getId(), second.getId());
+    assertEquals(AMOUNT, accountsService.getAccountByIban(iban).getBalance());
+  }
+
+
+  @Test
+  void keyCannotBeReusedForOtherPosting() {
+    String key = UUID.randomUUID().toString();
+    entriesService.makeEntry(iban, deposit(), key);
+
+    Entry withdrawal = new Entry(iban, "Auszahlung", ZonedDateTime.now(), AMOUNT, Entry.Type.WITHDRAW);
+
+    assertThrows(IdempotencyKeyReusedException.class,
+        () -> entriesService.makeEntry(iban, withdrawal, key));
+    assertEquals(AMOUNT, accountsService.getAccountByIban(iban).getBalance());
+  }
+
+
+  private Entry deposit() {
+    return new Entry(iban, "Einzahlung", ZonedDateTime.now(), AMOUNT, Entry.Type.DEPOSIT);
+  }
+
+}
@@ -0,0 +1,145 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.configuration.BankConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryRepository;
+import de.raywotrainings.banking.bankingservice.entity.account.SavingsAccountEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.SavingsAccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:interest;DB_CLOSE_DELAY=-1")
+class InterestServiceTests {
+
+  private static final String IBAN = "DE94860301200000000001";
+  private static final YearMonth JUNE_2023 = YearMonth.of(2023, 6);
+  private static final BigDecimal RATE = new BigDecimal("3.65");
+
+  @Autowired
+  private InterestService interestService;
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private BookingService bookingService;
+
+  @Autowired
+  private SavingsAccountRepository savingsAccountRepo;
+
+  @Autowired
+  private EntryRepository entryRepo;
+
+  @Autowired
+  private BankConfigurationData bankConfig;
+
+
+  @Test
+  void constantBalanceEarnsDailyRateForEveryDay() {
+    // 30 days * 1000 * 3.65 % / 365
+    assertEquals(new BigDecimal("3.00"),
+        interestService.calculateInterest(JUNE_2023, new BigDecimal("1000.00"), RATE, List.of()));
+  }
+
+
+  @Test
+  void depositCountsFromItsEntryDate() {
+    List<EntryEntity> entries = List.of(entry(berlin(2023, 6, 16, 10), "1000.00", EntryEntity.Type.DEPOSIT));
+
+    // 15 days * 1000 * 3.65 % / 365
+    assertEquals(new BigDecimal("1.50"),
+        interestService.calculateInterest(JUNE_2023, new BigDecimal("1000.00"), RATE, entries));
+  }
+
+
+  @Test
+  void entriesAfterTheMonthDoNotCount() {
+    List<EntryEntity> entries = List.of(
+        entry(berlin(2023, 6, 16, 10), "1000.00", EntryEntity.Type.WITHDRAW),
+        entry(berlin(2023, 7, 5, 10), "500.00", EntryEntity.Type.DEPOSIT)
+    );
+
+    // 2000 for 15 days, then 1000 for 15 days
+    assertEquals(new BigDecimal("4.50"),
+        interestService.calculateInterest(JUNE_2023, new BigDecimal("1500.00"), RATE, entries));
+  }
+
+
+  @Test
+  void daysFollowTheBankTimeZone() {
+    List<EntryEntity> entries = List.of(
+        entry(berlin(2023, 6, 1, 0).plusMinutes(30), "1000.00", EntryEntity.Type.DEPOSIT),
+        // still 30 June in UTC, but 1 July in Berlin
+        entry(berlin(2023, 7, 1, 0).plusMinutes(30), "7300.00", EntryEntity.Type.DEPOSIT)
+    );
+
+    // 30 days of 1000
+    assertEquals(new BigDecimal("3.00"),
+        interestService.calculateInterest(JUNE_2023, new BigDecimal("8300.00"), RATE, entries));
+  }
+
+
+  @Test
+  void leapYearsHave366Days() {
+    // 29 days * 36600 * 3.65 % / 366
+    assertEquals(new BigDecimal("105.85"),
+        interestService.calculateInterest(YearMonth.of(2024, 2), new BigDecimal("36600.00"), RATE, List.of()));
+  }
+
+
+  @Test
+  void missedMonthsAreCreditedByTheNextRun() {
+    final YearMonth period = YearMonth.now(bankConfig.getTimeZone()).minusMonths(1);
+    final YearMonth missed = period.minusMonths(1);
+
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    String iban = accountsService.addSavingsAccount(
+        new SavingsAccount(null, null, Money.ZERO, RATE), owner.getId()).getIban();
+    bookingService.book(iban, new Entry(iban, "Einzahlung",
+        missed.minusMonths(1).atDay(1).atStartOfDay(bankConfig.getTimeZone()), Money.of("1000"),
+        Entry.Type.DEPOSIT));
+
+    // the run for the missed month failed for this account
+    SavingsAccountEntity account = savingsAccountRepo.findById(iban).orElseThrow();
+    account.setInterestPaidUntil(missed.minusMonths(1).atEndOfMonth());
+    savingsAccountRepo.save(account);
+
+    interestService.creditInterest(period);
+
+    List<String> credited = entryRepo.findAllSince(List.of(iban), missed.atDay(1).atStartOfDay(bankConfig.getTimeZone()))
+        .stream()
+        .map(EntryEntity::getDescription)
+        .toList();
+
+    assertEquals(List.of("Zinsgutschrift " + missed, "Zinsgutschrift " + period), credited);
+    assertEquals(period.atEndOfMonth(), savingsAccountRepo.findById(iban).orElseThrow().getInterestPaidUntil());
+  }
+
+
+  private ZonedDateTime berlin(int year, int month, int day, int hour) {
+    return ZonedDateTime.of(year, month, day, hour, 0, 0, 0, bankConfig.getTimeZone());
+  }
+
+
+  private static EntryEntity entry(ZonedDateTime entryDate, String amount, EntryEntity.Type type) {
+    return new EntryEntity(UUID.randomUUID(), IBAN, "Buchung", entryDate.withZoneSameInstant(ZoneOffset.UTC),
+        new BigDecimal(amount), type);
+  }
+
+}
@@ -0,0 +1,160 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.configuration.BankConfigurationData;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import de.raywotrainings.banking.bankingservice.entity.account.CurrentAccountEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.CurrentAccountRepository;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:overdraft-interest;DB_CLOSE_DELAY=-1")
+class OverdraftInterestServiceTests {
+
+  private static final BigDecimal RATE = new BigDecimal("10.00");
+
+  @Autowired
+  private OverdraftInterestService overdraftInterestService;
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private BookingService bookingService;
+
+  @Autowired
+  private BalanceHistoryService balanceHistoryService;
+
+  @Autowired
+  private CurrentAccountRepository currentAccountRepo;
+
+  @Autowired
+  private EntryRepository entryRepo;
+
+  @Autowired
+  private BankConfigurationData bankConfig;
+
+
+  @Test
+  void chargesTheBalanceAtTheEndOfTheDay() {
+    final LocalDate day = yesterday();
+    String iban = addOverdraftAccount();
+
+    bookingService.book(iban, new Entry(iban, "Auszahlung", startOf(day).plusHours(10), Money.of("1000"),
+        Entry.Type.WITHDRAW));
+    // back in credit by the time the job runs
+    bookingService.book(iban, new Entry(iban, "Einzahlung", ZonedDateTime.now(), Money.of("2000"),
+        Entry.Type.DEPOSIT));
+
+    BigDecimal balanceAtEndOfDay = balanceHistoryService.getBalanceAt(iban, startOf(day.plusDays(1)).minusNanos(1))
+        .toBigDecimal();
+
+    overdraftInterestService.chargeInterest(day);
+
+    List<EntryEntity> charges = charges(iban, day);
+
+    assertEquals(1, charges.size());
+    assertEquals(dailyInterest(balanceAtEndOfDay, day), charges.getFirst().getAmount());
+    assertEquals(day, currentAccountRepo.findById(iban).orElseThrow().getOverdraftInterestChargedUntil());
+  }
+
+
+  @Test
+  void missedDaysAreChargedByTheNextRun() {
+    final LocalDate day = yesterday();
+    String iban = addOverdraftAccount();
+
+    bookingService.book(iban, new Entry(iban, "Auszahlung", startOf(day.minusDays(3)).plusHours(10),
+        Money.of("1000"), Entry.Type.WITHDRAW));
+
+    // the runs for the two days before failed for this account
+    CurrentAccountEntity account = currentAccountRepo.findById(iban).orElseThrow();
+    account.setOverdraftInterestChargedUntil(day.minusDays(3));
+    currentAccountRepo.save(account);
+
+    overdraftInterestService.chargeInterest(day);
+
+    assertEquals(
+        List.of("Überziehungszinsen " + day.minusDays(2), "Überziehungszinsen " + day.minusDays(1),
+            "Überziehungszinsen " + day),
+        charges(iban, day.minusDays(2)).stream().map(EntryEntity::getDescription).toList());
+    assertEquals(day, currentAccountRepo.findById(iban).orElseThrow().getOverdraftInterestChargedUntil());
+
+    overdraftInterestService.chargeInterest(day);
+
+    assertEquals(3, charges(iban, day.minusDays(2)).size());
+  }
+
+
+  @Test
+  void everyDayIsChargedOnTheBalanceIncludingEarlierCharges() {
+    final LocalDate day = yesterday();
+    String iban = addOverdraftAccount();
+
+    bookingService.book(iban, new Entry(iban, "Auszahlung", startOf(day.minusDays(1)).plusHours(10),
+        Money.of("5000"), Entry.Type.WITHDRAW));
+
+    CurrentAccountEntity account = currentAccountRepo.findById(iban).orElseThrow();
+    account.setOverdraftInterestChargedUntil(day.minusDays(2));
+    currentAccountRepo.save(account);
+
+    overdraftInterestService.chargeInterest(day);
+
+    List<EntryEntity> charges = charges(iban, day.minusDays(1));
+    BigDecimal first = dailyInterest(new BigDecimal("-5000.00"), day.minusDays(1));
+
+    assertEquals(List.of(first, dailyInterest(new BigDecimal("-5000.00").subtract(first), day)),
+        charges.stream().map(EntryEntity::getAmount).toList());
+    assertEquals(new BigDecimal("-5000.00").subtract(first).subtract(charges.getLast().getAmount()),
+        accountsService.getAccountByIban(iban).getBalance().toBigDecimal());
+  }
+
+
+  private String addOverdraftAccount() {
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+
+    return accountsService.addCurrentAccount(
+        new CurrentAccount(null, null, Money.ZERO, Money.of("10000"), RATE), owner.getId()).getIban();
+  }
+
+
+  private List<EntryEntity> charges(String iban, LocalDate from) {
+    return entryRepo.findAllSince(List.of(iban), startOf(from))
+        .stream()
+        .filter(entry -> entry.getDescription().startsWith("Überziehungszinsen"))
+        .toList();
+  }
+
+
+  private LocalDate yesterday() {
+    return LocalDate.now(bankConfig.getTimeZone()).minusDays(1);
+  }
+
+
+  private ZonedDateTime startOf(LocalDate day) {
+    return day.atStartOfDay(bankConfig.getTimeZone());
+  }
+
+
+  private static BigDecimal dailyInterest(BigDecimal balance, LocalDate day) {
+    return balance.negate()
+        .multiply(RATE)
+        .divide(BigDecimal.valueOf(100L * day.lengthOfYear()), 2, RoundingMode.HALF_EVEN);
+  }
+
+}
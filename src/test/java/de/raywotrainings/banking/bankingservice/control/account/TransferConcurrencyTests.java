@@ -0,0 +1,133 @@
+package de.raywotrainings.banking.bankingservice.control.account;
+
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryEntity;
+import de.raywotrainings.banking.bankingservice.entity.account.EntryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:transfer-concurrency;DB_CLOSE_DELAY=-1")
+class TransferConcurrencyTests {
+
+  private static final int THREADS = 32;
+  private static final int TRANSFERS = 4000;
+  private static final Money INITIAL_BALANCE = Money.of("1000");
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private EntriesService entriesService;
+
+  @Autowired
+  private EntryRepository entryRepo;
+
+
+  /**
+   * Few accounts and many threads, so most transfers compete for the same
+   * accounts in both directions. Any deadlock or lost update fails a
+   * transfer with an exception other than {@link InsufficientFundsException}
+   * or changes the money supply.
+   */
+  @Test
+  void parallelTransfersPreserveMoneySupply() throws Exception {
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    List<String> ibans = new ArrayList<>();
+
+    for (int i = 0; i < 2; i++) {
+      ibans.add(accountsService.addCurrentAccount(
+          new CurrentAccount(null, null, Money.ZERO, Money.ZERO, BigDecimal.ZERO),
+          owner.getId()).getIban());
+      ibans.add(accountsService.addSavingsAccount(
+          new SavingsAccount(null, null, Money.ZERO, BigDecimal.ZERO),
+          owner.getId()).getIban());
+    }
+
+    for (String iban : ibans) {
+      entriesService.makeEntry(iban,
+          new Entry(iban, "Startguthaben", ZonedDateTime.now(), INITIAL_BALANCE, Entry.Type.DEPOSIT));
+    }
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+      List<Future<?>> transfers = new ArrayList<>();
+
+      for (int i = 0; i < TRANSFERS; i++) {
+        transfers.add(executor.submit(() -> transfer(ibans)));
+      }
+
+      for (Future<?> transfer : transfers) {
+        transfer.get();
+      }
+    }
+
+    BigDecimal total = BigDecimal.ZERO;
+
+    for (String iban : ibans) {
+      Account account = accountsService.getAccountByIban(iban);
+      total = total.add(account.getBalance().toBigDecimal());
+
+      assertEquals(0, sumOfEntries(iban).compareTo(account.getBalance().toBigDecimal()),
+          "balance of " + iban + " differs from its entries");
+      assertTrue(!account.availableAmount().isNegative(),
+          "funds rule violated for " + iban);
+    }
+
+    BigDecimal expected = INITIAL_BALANCE.toBigDecimal().multiply(BigDecimal.valueOf(ibans.size()));
+    assertEquals(0, expected.compareTo(total), "money supply changed");
+
+    Map<UUID, List<EntryEntity>> legs = entryRepo.findAll()
+        .stream()
+        .filter(e -> e.getTransferId() != null)
+        .collect(Collectors.groupingBy(EntryEntity::getTransferId));
+
+    for (List<EntryEntity> pair : legs.values()) {
+      assertEquals(2, pair.size(), "a transfer must have exactly two entries");
+      assertEquals(0, pair.get(0).getAmount().compareTo(pair.get(1).getAmount()),
+          "both entries of a transfer must have the same amount");
+      assertTrue(pair.get(0).getType() != pair.get(1).getType(),
+          "a transfer must have one deposit and one withdrawal");
+    }
+  }
+
+
+  private void transfer(List<String> ibans) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int from = random.nextInt(ibans.size());
+    int to = (from + 1 + random.nextInt(ibans.size() - 1)) % ibans.size();
+    Money amount = Money.ofCents(100L * (1 + random.nextInt(200)));
+
+    try {
+      entriesService.makeTransfer(ibans.get(from), ibans.get(to), amount, "Umbuchung", ZonedDateTime.now());
+    } catch (InsufficientFundsException e) {
+      // expected whenever the source account does not cover the amount
+    }
+  }
+
+
+  private BigDecimal sumOfEntries(String iban) {
+    return entryRepo.findAll()
+        .stream()
+        .filter(e -> e.getIban().equals(iban))
+        .map(e -> e.getType() == EntryEntity.Type.DEPOSIT ? e.getAmount() : e.getAmount().negate())
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+  }
+
+}
@@ -0,0 +1,139 @@
+package de.raywotrainings.banking.bankingservice.control.change;
+
+import de.raywotrainings.banking.bankingservice.control.account.*;
+import de.raywotrainings.banking.bankingservice.control.client.Client;
+import de.raywotrainings.banking.bankingservice.control.client.ClientsService;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:change-feed;DB_CLOSE_DELAY=-1")
+class ChangeFeedTests {
+
+  @Autowired
+  private ClientsService clientsService;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private EntriesService entriesService;
+
+  @Autowired
+  private ChangeFeed changeFeed;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+
+  @Test
+  void changesAreReadInOrderAfterAGivenNumber() {
+    final long start = latest();
+
+    Client owner = clientsService.addClient(new Client(null, "Erika", "Mustermann"));
+    String iban = accountsService.addSavingsAccount(
+        new SavingsAccount(null, null, Money.ZERO, BigDecimal.ZERO),
+        owner.getId()).getIban();
+    entriesService.makeEntry(iban,
+        new Entry(iban, "Einzahlung", ZonedDateTime.now(), Money.of("100"), Entry.Type.DEPOSIT));
+    changeFeed.numberChanges();
+
+    List<Change> changes = changeFeed.getChanges(start, null);
+
+    assertEquals(List.of(Change.Type.CLIENT_CREATED, Change.Type.ACCOUNT_OPENED, Change.Type.ENTRY_BOOKED),
+        changes.stream().map(Change::type).toList());
+    assertEquals(iban, changes.getLast().subject());
+    assertTrue(changes.get(0).sequenceNumber() < changes.get(1).sequenceNumber());
+    assertTrue(changes.get(1).sequenceNumber() < changes.get(2).sequenceNumber());
+
+    List<Change> afterFirst = changeFeed.getChanges(changes.getFirst().sequenceNumber(), 1);
+
+    assertEquals(1, afterFirst.size());
+    assertEquals(changes.get(1), afterFirst.getFirst());
+  }
+
+
+  @Test
+  void rejectedPostingsAreNotInTheFeed() {
+    Client owner = clientsService.addClient(new Client(null, "Max", "Mustermann"));
+    String iban = accountsService.addSavingsAccount(
+        new SavingsAccount(null, null, Money.ZERO, BigDecimal.ZERO),
+        owner.getId()).getIban();
+    final long start = latest();
+
+    assertThrows(InsufficientFundsException.class, () -> entriesService.makeEntry(iban,
+        new Entry(iban, "Auszahlung", ZonedDateTime.now(), Money.of("100"), Entry.Type.WITHDRAW)));
+    changeFeed.numberChanges();
+
+    assertTrue(changeFeed.getChanges(start, null).isEmpty());
+  }
+
+
+  @Test
+  void changesAreNumberedInCommitOrder() throws Exception {
+    final long start = latest();
+    final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    CountDownLatch written = new CountDownLatch(1);
+    CountDownLatch commit = new CountDownLatch(1);
+
+    // written first, committed last
+    CompletableFuture<Void> longTransaction = CompletableFuture.runAsync(() ->
+        transaction.executeWithoutResult(status -> {
+          changeFeed.clientDeleted(-1);
+          written.countDown();
+          await(commit);
+        }));
+
+    await(written);
+    transaction.executeWithoutResult(status -> changeFeed.clientDeleted(-2));
+    changeFeed.numberChanges();
+
+    List<Change> first = changeFeed.getChanges(start, null);
+
+    assertEquals(List.of("-2"), first.stream().map(Change::subject).toList());
+
+    commit.countDown();
+    longTransaction.get(10, TimeUnit.SECONDS);
+    changeFeed.numberChanges();
+
+    assertEquals(List.of("-1"),
+        changeFeed.getChanges(first.getLast().sequenceNumber(), null).stream().map(Change::subject).toList());
+  }
+
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+
+  private long latest() {
+    changeFeed.numberChanges();
+
+    long latest = 0;
+    List<Change> page;
+
+    while (!(page = changeFeed.getChanges(latest, 1000)).isEmpty()) {
+      latest = page.getLast().sequenceNumber();
+    }
+
+    return latest;
+  }
+
+}
@@ -0,0 +1,75 @@
+package de.raywotrainings.banking.bankingservice.control.shared;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTests {
+
+  @Test
+  void amountsAreKeptInCents() {
+    assertEquals(123_450, Money.of("1234.5").cents());
+    assertEquals(123_450, Money.of("1234.500").cents());
+    assertEquals(-5, Money.of("-0.05").cents());
+    assertEquals(100, Money.of(new BigDecimal("1E+0")).cents());
+    assertSame(Money.ZERO, Money.of("0.00"));
+  }
+
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0.001", "1.234", "1.2345", "-0.005", "99999999999999999999"})
+  void amountsThatAreNoWholeNumberOfCentsAreRejected(String amount) {
+    assertThrows(IllegalArgumentException.class, () -> Money.of(amount));
+  }
+
+
+  @Test
+  void amountsAreNeverRounded() {
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> Money.of("10.005"));
+
+    assertTrue(e.getMessage().contains("10.005"));
+  }
+
+
+  @Test
+  void arithmeticThrowsInsteadOfOverflowing() {
+    Money max = Money.ofCents(Long.MAX_VALUE);
+    Money min = Money.ofCents(Long.MIN_VALUE);
+
+    assertThrows(ArithmeticException.class, () -> max.plus(Money.ofCents(1)));
+    assertThrows(ArithmeticException.class, () -> min.minus(Money.ofCents(1)));
+    assertThrows(ArithmeticException.class, min::negate);
+
+    assertEquals(max, max.plus(Money.ZERO));
+    assertEquals(Money.ofCents(Long.MAX_VALUE - 1), max.minus(Money.ofCents(1)));
+  }
+
+
+  @Test
+  void arithmeticAndComparisons() {
+    Money ten = Money.of("10.00");
+    Money twoFifty = Money.of("2.50");
+
+    assertEquals(Money.of("12.50"), ten.plus(twoFifty));
+    assertEquals(Money.of("-7.50"), twoFifty.minus(ten));
+    assertEquals(Money.of("-10"), ten.negate());
+    assertTrue(twoFifty.isLessThan(ten));
+    assertTrue(ten.negate().isNegative());
+    assertEquals(1, ten.compareTo(twoFifty));
+    assertEquals(0, Money.ZERO.signum());
+  }
+
+
+  @Test
+  void amountsAreWrittenWithTwoDecimalPlaces() {
+    assertEquals("1234.50", Money.of("1234.5").toString());
+    assertEquals("-0.05", Money.ofCents(-5).toString());
+    assertEquals("0.00", Money.ZERO.toString());
+    assertEquals(new BigDecimal("92233720368547758.07"), Money.ofCents(Long.MAX_VALUE).toBigDecimal());
+  }
+
+}
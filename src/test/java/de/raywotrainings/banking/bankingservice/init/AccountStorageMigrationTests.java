@@ -0,0 +1,136 @@
+package de.raywotrainings.banking.bankingservice.init;
+
+import de.raywotrainings.banking.bankingservice.control.account.AccountsService;
+import de.raywotrainings.banking.bankingservice.control.account.CurrentAccount;
+import de.raywotrainings.banking.bankingservice.control.account.EntriesService;
+import de.raywotrainings.banking.bankingservice.control.account.Entry;
+import de.raywotrainings.banking.bankingservice.control.account.SavingsAccount;
+import de.raywotrainings.banking.bankingservice.control.shared.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application on a database with the schema and data the first
+ * version of the service left behind: one table per account type, without
+ * versions or interest dates.
+ */
+@SpringBootTest(properties = "spring.datasource.url=" + AccountStorageMigrationTests.URL)
+@ContextConfiguration(initializers = AccountStorageMigrationTests.BaselineSchema.class)
+class AccountStorageMigrationTests {
+
+  static final String URL = "jdbc:h2:mem:account-storage-migration;DB_CLOSE_DELAY=-1";
+
+  private static final String CURRENT_IBAN = "DE89370400440532013000";
+  private static final String SAVINGS_IBAN = "DE02120300000000202051";
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private AccountsService accountsService;
+
+  @Autowired
+  private EntriesService entriesService;
+
+
+  @Test
+  void accountsAreMovedIntoTheSharedTable() {
+    CurrentAccount current = accountsService.getCurrentAccountByIban(CURRENT_IBAN);
+    assertEquals(Money.of("-25.50"), current.getBalance());
+    assertEquals(Money.of("500"), current.getOverdraftLimit());
+    assertEquals(0L, current.getVersion());
+
+    SavingsAccount savings = accountsService.getSavingsAccountByIban(SAVINGS_IBAN);
+    assertEquals(new BigDecimal("1.50"), savings.getInterestRate());
+
+    assertNull(jdbcTemplate.queryForObject(
+        "SELECT OVERDRAFT_INTEREST_CHARGED_UNTIL FROM ACCOUNT_ENTITY WHERE IBAN = ?", Object.class, CURRENT_IBAN));
+    assertNull(jdbcTemplate.queryForObject(
+        "SELECT INTEREST_PAID_UNTIL FROM ACCOUNT_ENTITY WHERE IBAN = ?", Object.class, SAVINGS_IBAN));
+  }
+
+
+  @Test
+  void oldTablesAreDropped() {
+    assertEquals(0, jdbcTemplate.queryForObject("""
+        SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES
+        WHERE TABLE_NAME IN ('CURRENT_ACCOUNT_ENTITY', 'SAVINGS_ACCOUNT_ENTITY')""", Integer.class));
+  }
+
+
+  @Test
+  void movedAccountsCanBeBooked() {
+    SavingsAccount before = accountsService.getSavingsAccountByIban(SAVINGS_IBAN);
+
+    entriesService.makeEntry(SAVINGS_IBAN,
+        new Entry(SAVINGS_IBAN, "Einzahlung", ZonedDateTime.now(), Money.of("10"), Entry.Type.DEPOSIT));
+
+    SavingsAccount after = accountsService.getSavingsAccountByIban(SAVINGS_IBAN);
+    assertEquals(before.getBalance().plus(Money.of("10")), after.getBalance());
+    assertEquals(before.getVersion() + 1, after.getVersion());
+  }
+
+
+  /**
+   * Creates the tables as Hibernate did for the first version of the
+   * entities, before the application context starts.
+   */
+  static class BaselineSchema implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+      try (Connection connection = DriverManager.getConnection(URL, "user", "");
+           Statement statement = connection.createStatement()) {
+        statement.execute("CREATE SEQUENCE CLIENT_ENTITY_SEQ START WITH 1 INCREMENT BY 50");
+        statement.execute("""
+            CREATE TABLE CLIENT_ENTITY (
+              ID INTEGER NOT NULL PRIMARY KEY,
+              FIRSTNAME VARCHAR(100),
+              LASTNAME VARCHAR(100))""");
+        statement.execute("""
+            CREATE TABLE CURRENT_ACCOUNT_ENTITY (
+              IBAN VARCHAR(255) NOT NULL PRIMARY KEY,
+              BALANCE NUMERIC(38, 2),
+              OWNER_ID INTEGER REFERENCES CLIENT_ENTITY,
+              OVERDRAFT_INTEREST_RATE NUMERIC(38, 2) NOT NULL,
+              OVERDRAFT_LIMIT NUMERIC(38, 2) NOT NULL)""");
+        statement.execute("""
+            CREATE TABLE SAVINGS_ACCOUNT_ENTITY (
+              IBAN VARCHAR(255) NOT NULL PRIMARY KEY,
+              BALANCE NUMERIC(38, 2),
+              OWNER_ID INTEGER REFERENCES CLIENT_ENTITY,
+              INTEREST_RATE NUMERIC(38, 2) NOT NULL)""");
+        statement.execute("""
+            CREATE TABLE ENTRY_ENTITY (
+              ID VARCHAR(255) NOT NULL PRIMARY KEY,
+              IBAN VARCHAR(22) NOT NULL,
+              DESCRIPTION VARCHAR(255),
+              ENTRY_DATE TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+              AMOUNT NUMERIC(38, 2) NOT NULL,
+              TYPE TINYINT NOT NULL CHECK (TYPE BETWEEN 0 AND 1))""");
+
+        statement.execute("INSERT INTO CLIENT_ENTITY VALUES (1, 'Erika', 'Mustermann')");
+        statement.execute("INSERT INTO CURRENT_ACCOUNT_ENTITY VALUES ('" + CURRENT_IBAN + "', -25.50, 1, 10.00, 500.00)");
+        statement.execute("INSERT INTO SAVINGS_ACCOUNT_ENTITY VALUES ('" + SAVINGS_IBAN + "', 1000.00, 1, 1.50)");
+      } catch (SQLException e) {
+        throw new IllegalStateException("Could not create the baseline schema", e);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,129 @@
+package de.raywotrainings.banking.bankingservice.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * One request from the {@code .http} files in {@code requests/}, the format
+ * of the IntelliJ HTTP client. Pre-request scripts are skipped; the
+ * variables they set are filled in by the load test.
+ */
+record HttpScenario(String name,
+                    String method,
+                    String path,
+                    Map<String, String> headers,
+                    String body,
+                    Kind kind) {
+
+  private static final Pattern REQUEST_LINE = Pattern.compile("^(GET|POST|PUT|PATCH|DELETE)\\s+(\\S+).*$");
+  private static final Pattern HEADER = Pattern.compile("^([\\w-]+):\\s*(.*)$");
+  private static final Pattern IBAN = Pattern.compile("DE\\d+");
+  private static final Pattern ID = Pattern.compile("/\\d+(?=/|$)");
+
+
+  enum Kind {
+    READ, LIST, DEPOSIT, WITHDRAWAL, OPEN_ACCOUNT, OTHER;
+
+
+    String label() {
+      return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+
+    static Kind ofLabel(String label) {
+      return valueOf(label.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+  }
+
+
+  /**
+   * The endpoint the request goes to, with IBANs and ids replaced by
+   * placeholders, e.g. {@code GET /api/v2/accounts/{iban}}.
+   */
+  String endpoint() {
+    String withoutQuery = path.replaceFirst("\\?.*", "");
+
+    return method + " " + ID.matcher(IBAN.matcher(withoutQuery).replaceAll("{iban}")).replaceAll("/{id}");
+  }
+
+
+  static List<HttpScenario> load(Path directory) throws IOException {
+    List<HttpScenario> scenarios = new ArrayList<>();
+
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.filter(f -> f.toString().endsWith(".http")).sorted().toList()) {
+        for (String block : Files.readString(file).split("(?m)^###")) {
+          parse(block).ifPresent(scenarios::add);
+        }
+      }
+    }
+
+    return scenarios;
+  }
+
+
+  private static Optional<HttpScenario> parse(String block) {
+    List<String> lines = block.lines().toList();
+    String name = lines.isEmpty() ? "" : lines.getFirst().trim();
+    boolean inScript = false;
+    int i = 1;
+
+    // skip pre-request scripts, comments and blank lines up to the request line
+    for (; i < lines.size(); i++) {
+      String line = lines.get(i).trim();
+
+      if (line.startsWith("< {%")) {
+        inScript = !line.endsWith("%}");
+      } else if (inScript) {
+        inScript = !line.endsWith("%}");
+      } else if (REQUEST_LINE.matcher(line).matches()) {
+        break;
+      }
+    }
+
+    if (i >= lines.size()) {
+      return Optional.empty();
+    }
+
+    var request = REQUEST_LINE.matcher(lines.get(i++).trim());
+    request.matches();
+    String method = request.group(1);
+    String path = request.group(2).replaceFirst("^https?://[^/]+", "");
+    Map<String, String> headers = new LinkedHashMap<>();
+
+    for (; i < lines.size() && !lines.get(i).isBlank(); i++) {
+      var header = HEADER.matcher(lines.get(i).trim());
+
+      if (header.matches()) {
+        headers.put(header.group(1), header.group(2));
+      }
+    }
+
+    String body = String.join("\n", lines.subList(Math.min(i, lines.size()), lines.size())).trim();
+
+    return Optional.of(new HttpScenario(name, method, path, headers, body, classify(method, path)));
+  }
+
+
+  private static Kind classify(String method, String path) {
+    String withoutQuery = path.replaceFirst("\\?.*", "");
+
+    return switch (method) {
+      case "POST" -> {
+        if (withoutQuery.endsWith("/deposits")) yield Kind.DEPOSIT;
+        if (withoutQuery.endsWith("/withdrawals")) yield Kind.WITHDRAWAL;
+        if (withoutQuery.matches(".*/(current|savings)-accounts")) yield Kind.OPEN_ACCOUNT;
+        yield Kind.OTHER;
+      }
+      case "GET" -> IBAN.matcher(withoutQuery).find() || ID.matcher(withoutQuery).find()
+          ? Kind.READ
+          : Kind.LIST;
+      default -> Kind.OTHER;
+    };
+  }
+
+}
@@ -0,0 +1,152 @@
+package de.raywotrainings.banking.bankingservice.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects latencies and outcomes per endpoint and writes them as JSON with a
+ * stable key order, so reports of two commits can be compared with a plain
+ * diff.
+ * <p>
+ * Latencies are measured from the time a request was scheduled to be sent,
+ * not from when it actually was, so a server that falls behind shows up in
+ * the percentiles instead of silently lowering the load.
+ * <p>
+ * The CPU time is that of the whole process while measuring. Divided by the
+ * number of requests, it shows what conditional requests save when two runs
+ * differ only in {@code load.conditional}.
+ */
+class LoadReport {
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+  private long cpuNanos;
+
+
+  /**
+   * @param status the HTTP status, or a negative number if no response was
+   *               received
+   */
+  void record(String endpoint, long latencyNanos, int status) {
+    Endpoint stats = endpoints.computeIfAbsent(endpoint, e -> new Endpoint());
+    stats.latencies.recordValue(Math.max(1, latencyNanos / 1_000));
+
+    if (status == 304) {
+      stats.notModified.increment();
+    } else if (status >= 500 || status < 0) {
+      stats.errors.increment();
+    } else if (status >= 400) {
+      stats.rejected.increment();
+    }
+  }
+
+
+  void cpu(long cpuNanos) {
+    this.cpuNanos = cpuNanos;
+  }
+
+
+  void write(Path file, Map<String, Object> settings, Duration measured) throws IOException {
+    Map<String, Object> report = new LinkedHashMap<>();
+    Map<String, Object> results = new TreeMap<>();
+
+    endpoints.forEach((endpoint, stats) -> results.put(endpoint, stats.summary(measured)));
+    report.put("settings", new TreeMap<>(settings));
+    report.put("endpoints", results);
+    report.put("cpu", cpu(measured));
+
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .writeValue(file.toFile(), report);
+  }
+
+
+  String table(Duration measured) {
+    StringBuilder table = new StringBuilder(String.format("%-55s %9s %8s %8s %6s %9s %9s %9s %9s%n",
+        "endpoint", "req/s", "rejected", "errors", "304 %", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+    new TreeMap<>(endpoints).forEach((endpoint, stats) -> {
+      Histogram h = stats.latencies;
+      table.append(String.format("%-55s %9.1f %8d %8d %6.1f %9.2f %9.2f %9.2f %9.2f%n",
+          endpoint, h.getTotalCount() / (double) measured.toSeconds(),
+          stats.rejected.sum(), stats.errors.sum(), 100 * stats.notModifiedRatio(),
+          millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(99)),
+          millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue())));
+    });
+
+    Map<String, Object> cpu = cpu(measured);
+    table.append(String.format("cpu: %.2f cores, %.1f µs per request%n",
+        cpu.get("cores"), cpu.get("microsPerRequest")));
+
+    return table.toString();
+  }
+
+
+  private Map<String, Object> cpu(Duration measured) {
+    long requests = endpoints.values().stream().mapToLong(stats -> stats.latencies.getTotalCount()).sum();
+    Map<String, Object> cpu = new LinkedHashMap<>();
+    cpu.put("cores", Endpoint.round(cpuNanos / (double) measured.toNanos()));
+    cpu.put("microsPerRequest", Endpoint.round(requests == 0 ? 0 : cpuNanos / 1_000.0 / requests));
+
+    return cpu;
+  }
+
+
+  private static double millis(long micros) {
+    return micros / 1_000.0;
+  }
+
+
+  private static final class Endpoint {
+
+    final Histogram latencies = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    final LongAdder rejected = new LongAdder();
+    final LongAdder errors = new LongAdder();
+    final LongAdder notModified = new LongAdder();
+
+
+    Map<String, Object> summary(Duration measured) {
+      Map<String, Object> summary = new LinkedHashMap<>();
+      summary.put("requests", latencies.getTotalCount());
+      summary.put("throughputPerSecond", round(latencies.getTotalCount() / (double) measured.toSeconds()));
+      summary.put("rejected", rejected.sum());
+      summary.put("errors", errors.sum());
+      summary.put("notModified", notModified.sum());
+      summary.put("notModifiedRatio", round(notModifiedRatio()));
+      summary.put("p50Millis", round(millis(latencies.getValueAtPercentile(50))));
+      summary.put("p90Millis", round(millis(latencies.getValueAtPercentile(90))));
+      summary.put("p99Millis", round(millis(latencies.getValueAtPercentile(99))));
+      summary.put("p999Millis", round(millis(latencies.getValueAtPercentile(99.9))));
+      summary.put("maxMillis", round(millis(latencies.getMaxValue())));
+
+      return summary;
+    }
+
+
+    double notModifiedRatio() {
+      long requests = latencies.getTotalCount();
+
+      return requests == 0 ? 0 : notModified.sum() / (double) requests;
+    }
+
+
+    private static double round(double value) {
+      return Math.round(value * 100) / 100.0;
+    }
+  }
+
+}
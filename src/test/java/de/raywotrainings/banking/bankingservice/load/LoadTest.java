@@ -0,0 +1,309 @@
+package de.raywotrainings.banking.bankingservice.load;
+
+import de.raywotrainings.banking.bankingservice.Application;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Replays the requests from {@code requests/*.http} against the application
+ * at a fixed arrival rate and writes latency percentiles and throughput per
+ * endpoint to a report.
+ * <p>
+ * The load follows an open model: requests are started at exponentially
+ * distributed intervals regardless of how many are still running, like
+ * independent users would. Only reads, deposits, withdrawals and account
+ * openings are replayed; IBANs and client ids in the requests are replaced
+ * by ones from the seeded data.
+ * <p>
+ * With {@code load.conditional=true} reads send the ETag last received for
+ * the same URL as {@code If-None-Match}, like polling clients would. The
+ * report then shows the share of 304 responses per endpoint and the CPU
+ * time of the process per request; {@code load.active} narrows the requests
+ * to fewer accounts and clients, so URLs are polled more often.
+ * <p>
+ * Runs only when asked for, e.g.
+ * {@code mvn test -Dtest=LoadTest -Dload=true -Dload.rate=500 -Dload.mix=read=70,deposit=30}.
+ * All settings and their defaults are listed in {@link #SETTINGS}.
+ */
+@EnabledIfSystemProperty(named = "load", matches = "true")
+class LoadTest {
+
+  static final Map<String, String> SETTINGS = new LinkedHashMap<>();
+
+  static {
+    SETTINGS.put("load.rate", "200");                 // requests per second
+    SETTINGS.put("load.duration", "60s");
+    SETTINGS.put("load.warmup", "10s");
+    SETTINGS.put("load.mix", "read=60,deposit=20,withdrawal=15,open-account=5");
+    SETTINGS.put("load.database", "mem");             // or a file path such as ./.database/load
+    SETTINGS.put("load.clients", "10000");
+    SETTINGS.put("load.accounts", "30000");
+    SETTINGS.put("load.entries", "1000000");
+    SETTINGS.put("load.seed", "42");
+    SETTINGS.put("load.active", "100000");           // accounts per type and clients requests go to
+    SETTINGS.put("load.conditional", "false");       // send If-None-Match on reads
+    SETTINGS.put("load.scenarios", "requests");
+    SETTINGS.put("load.report", "target/load-report.json");
+  }
+
+  private static final Pattern IBAN = Pattern.compile("DE\\d+");
+  private static final Pattern CLIENT_ID = Pattern.compile("(/clients/)\\d+");
+  private static final Pattern OWNER_ID = Pattern.compile("(\"ownerId\"\\s*:\\s*)\\d+");
+  private static final Pattern VARIABLE = Pattern.compile("\\{\\{(\\w+)}}");
+
+
+  @Test
+  void replayScenarios() throws Exception {
+    Duration duration = Duration.parse("PT" + setting("load.duration").toUpperCase(Locale.ROOT));
+    Duration warmup = Duration.parse("PT" + setting("load.warmup").toUpperCase(Locale.ROOT));
+    double rate = Double.parseDouble(setting("load.rate"));
+    boolean conditional = Boolean.parseBoolean(setting("load.conditional"));
+    Random random = new Random(Long.parseLong(setting("load.seed")));
+
+    Map<HttpScenario.Kind, List<HttpScenario>> scenarios = scenariosByKind();
+    Map<HttpScenario.Kind, Integer> mix = mix(setting("load.mix"));
+    mix.keySet().forEach(kind -> assertFalse(scenarios.getOrDefault(kind, List.of()).isEmpty(),
+        "no requests of kind " + kind.label() + " in " + setting("load.scenarios")));
+
+    try (ConfigurableApplicationContext context = start()) {
+      String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+      Data data = Data.sample(context.getBean(JdbcTemplate.class),
+          Integer.parseInt(setting("load.clients")), Integer.parseInt(setting("load.active")));
+      LoadReport report = new LoadReport();
+      Map<URI, String> eTags = new ConcurrentHashMap<>();
+      long cpuFrom = -1;
+
+      try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+           HttpClient http = HttpClient.newBuilder().executor(executor).build()) {
+        final long start = System.nanoTime();
+        final long measureFrom = start + warmup.toNanos();
+        final long end = measureFrom + duration.toNanos();
+        long scheduled = start;
+
+        while (scheduled < end) {
+          HttpScenario scenario = pick(scenarios, mix, random);
+          HttpRequest request = request(baseUrl, scenario, data, random);
+          final boolean poll = conditional && scenario.kind() == HttpScenario.Kind.READ;
+          final long intended = scheduled;
+
+          if (cpuFrom < 0 && scheduled >= measureFrom) {
+            cpuFrom = cpuTime();
+          }
+
+          executor.submit(() -> {
+            int status = send(http, poll ? withIfNoneMatch(request, eTags) : request, poll ? eTags : null);
+
+            if (intended >= measureFrom) {
+              report.record(scenario.endpoint(), System.nanoTime() - intended, status);
+            }
+          });
+
+          scheduled += (long) (-Math.log(1 - random.nextDouble()) / rate * 1e9);
+          LockSupport.parkNanos(scheduled - System.nanoTime());
+        }
+      }
+
+      report.cpu(cpuTime() - cpuFrom);
+
+      Map<String, Object> settings = new LinkedHashMap<>();
+      SETTINGS.keySet().forEach(key -> settings.put(key, setting(key)));
+      report.write(Path.of(setting("load.report")), settings, duration);
+      System.out.print(report.table(duration));
+    }
+  }
+
+
+  private static ConfigurableApplicationContext start() {
+    String database = setting("load.database");
+    String url = database.equals("mem")
+        ? "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1"
+        : "jdbc:h2:file:" + database;
+
+    return new SpringApplicationBuilder(Application.class)
+        .properties(
+            "server.port=0",
+            "spring.datasource.url=" + url,
+            "bank.seed.mode=BULK",
+            "bank.seed.clients=" + setting("load.clients"),
+            "bank.seed.accounts=" + setting("load.accounts"),
+            "bank.seed.entries=" + setting("load.entries"),
+            "bank.seed.seed=" + setting("load.seed"),
+            "logging.level.web=warn"
+        )
+        .run();
+  }
+
+
+  private static Map<HttpScenario.Kind, List<HttpScenario>> scenariosByKind() throws Exception {
+    Map<HttpScenario.Kind, List<HttpScenario>> byKind = new EnumMap<>(HttpScenario.Kind.class);
+
+    for (HttpScenario scenario : HttpScenario.load(Path.of(setting("load.scenarios")))) {
+      byKind.computeIfAbsent(scenario.kind(), kind -> new ArrayList<>()).add(scenario);
+    }
+
+    return byKind;
+  }
+
+
+  private static Map<HttpScenario.Kind, Integer> mix(String mix) {
+    Map<HttpScenario.Kind, Integer> weights = new EnumMap<>(HttpScenario.Kind.class);
+
+    for (String part : mix.split(",")) {
+      String[] kindAndWeight = part.split("=");
+      weights.put(HttpScenario.Kind.ofLabel(kindAndWeight[0]), Integer.parseInt(kindAndWeight[1].trim()));
+    }
+
+    return weights;
+  }
+
+
+  private static HttpScenario pick(Map<HttpScenario.Kind, List<HttpScenario>> scenarios,
+                                   Map<HttpScenario.Kind, Integer> mix,
+                                   Random random) {
+    int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+    int chosen = random.nextInt(total);
+
+    for (Map.Entry<HttpScenario.Kind, Integer> weight : mix.entrySet()) {
+      chosen -= weight.getValue();
+
+      if (chosen < 0) {
+        List<HttpScenario> candidates = scenarios.get(weight.getKey());
+        return candidates.get(random.nextInt(candidates.size()));
+      }
+    }
+
+    throw new IllegalStateException("unreachable");
+  }
+
+
+  /**
+   * Fills in the request template. IBANs are taken from accounts of the type
+   * the endpoint expects, so typed endpoints are not asked for accounts of
+   * the other type.
+   */
+  private static HttpRequest request(String baseUrl, HttpScenario scenario, Data data, Random random) {
+    List<String> ibans = scenario.path().contains("/current-accounts/") ? data.currentIbans()
+        : scenario.path().contains("/savings-accounts/") ? data.savingsIbans()
+        : data.allIbans();
+    String iban = ibans.get(random.nextInt(ibans.size()));
+    String clientId = String.valueOf(1 + random.nextInt(data.clients()));
+
+    String path = CLIENT_ID.matcher(IBAN.matcher(scenario.path()).replaceAll(iban)).replaceAll("$1" + clientId);
+    String body = OWNER_ID.matcher(scenario.body()).replaceAll("$1" + clientId);
+
+    HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + variables(path, true)))
+        .method(scenario.method(), body.isEmpty()
+            ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofString(variables(body, false)));
+    scenario.headers().forEach(builder::header);
+
+    return builder.build();
+  }
+
+
+  /**
+   * Replaces the variables the pre-request scripts of the {@code .http}
+   * files would set.
+   */
+  private static String variables(String template, boolean encode) {
+    ZonedDateTime now = ZonedDateTime.now();
+
+    return VARIABLE.matcher(template).replaceAll(match -> {
+      String value = switch (match.group(1)) {
+        case "entryDate", "to" -> now.toOffsetDateTime().toString();
+        case "from" -> now.minusDays(30).toOffsetDateTime().toString();
+        default -> throw new IllegalArgumentException("Unknown variable " + match.group());
+      };
+
+      return encode ? URLEncoder.encode(value, StandardCharsets.UTF_8) : value;
+    });
+  }
+
+
+  private static HttpRequest withIfNoneMatch(HttpRequest request, Map<URI, String> eTags) {
+    String eTag = eTags.get(request.uri());
+
+    return eTag == null
+        ? request
+        : HttpRequest.newBuilder(request, (name, value) -> true).header("If-None-Match", eTag).build();
+  }
+
+
+  /**
+   * @param eTags where to remember the ETag of the response, or {@code null}
+   */
+  private static int send(HttpClient http, HttpRequest request, Map<URI, String> eTags) {
+    try {
+      HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+
+      if (eTags != null) {
+        response.headers().firstValue("ETag").ifPresent(eTag -> eTags.put(request.uri(), eTag));
+      }
+
+      return response.statusCode();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return -1;
+    } catch (Exception e) {
+      return -1;
+    }
+  }
+
+
+  /**
+   * The CPU time of the whole process, including the load generator, which
+   * costs about the same per request in every run.
+   */
+  private static long cpuTime() {
+    return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+        .getProcessCpuTime();
+  }
+
+
+  private static String setting(String key) {
+    return System.getProperty(key, SETTINGS.get(key));
+  }
+
+
+  private record Data(List<String> currentIbans, List<String> savingsIbans, List<String> allIbans, int clients) {
+
+    static Data sample(JdbcTemplate jdbcTemplate, int clients, int active) {
+      List<String> current = ibans(jdbcTemplate, "CURRENT", active);
+      List<String> savings = ibans(jdbcTemplate, "SAVINGS", active);
+      List<String> all = new ArrayList<>(current);
+      all.addAll(savings);
+
+      return new Data(current, savings, all, Math.min(clients, active));
+    }
+
+
+    private static List<String> ibans(JdbcTemplate jdbcTemplate, String type, int limit) {
+      return jdbcTemplate.queryForList(
+          "SELECT IBAN FROM ACCOUNT_ENTITY WHERE ACCOUNT_TYPE = ? ORDER BY IBAN LIMIT ?",
+          String.class, type, limit);
+    }
+  }
+
+}